@@ -0,0 +1,166 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda;
+import com.github.hervian.lambdas.LambdaBatch;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the cost per element of invoking a Method over an array, via a {@link LambdaBatch} (see {@link LambdaFactory#createBatch(Method, Object...)}),
+ * against a loop in the caller, which invokes a Lambda per element, and against a loop calling the Method directly.
+ * <p>
+ * The caller's loop is measured with a monomorphic call site, and with a megamorphic one, i.e. as in an application, where the same loop invokes the lambdas of several Methods.
+ * The LambdaBatch is measured both as a static final field, which allows the JIT to inline the Method into the loop, and as an instance field.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+	static final int SIZE = 1024;
+
+	public static double scale(double value) { return value * 1.5; }
+	public static double offset(double value) { return value + 1.5; }
+	public static double negate(double value) { return -value; }
+
+	public static class Account {
+		private final double balance;
+		public Account(double balance) { this.balance = balance; }
+		public double getBalance() { return balance; }
+	}
+
+	private static final LambdaBatch CONSTANT_BATCH = createBatch("scale");
+	private static final LambdaBatch CONSTANT_RECEIVER_BATCH = createBatch(Account.class, "getBalance");
+
+	private final double[] inputs = new double[SIZE];
+	private final double[] outputs = new double[SIZE];
+	private final Account[] accounts = new Account[SIZE];
+	private LambdaBatch batch;
+	private Lambda lambda;
+	private Lambda receiverLambda;
+	private Lambda[] lambdas;
+	private int index;
+
+	private static LambdaBatch createBatch(String name) {
+		return createBatch(BatchBenchmark.class, name, double.class);
+	}
+
+	private static LambdaBatch createBatch(Class<?> clazz, String name, Class<?>... parameterTypes) {
+		try {
+			return LambdaFactory.createBatch(clazz.getMethod(name, parameterTypes));
+		} catch (Throwable t) {
+			throw new ExceptionInInitializerError(t);
+		}
+	}
+
+	@Setup
+	public void setup() throws Throwable {
+		for (int i = 0; i < SIZE; i++) {
+			inputs[i] = i;
+			accounts[i] = new Account(i);
+		}
+		batch = createBatch("scale");
+		lambda = LambdaFactory.create(BatchBenchmark.class.getMethod("scale", double.class));
+		receiverLambda = LambdaFactory.create(Account.class.getMethod("getBalance"));
+		lambdas = new Lambda[] {lambda,
+				LambdaFactory.create(BatchBenchmark.class.getMethod("offset", double.class)),
+				LambdaFactory.create(BatchBenchmark.class.getMethod("negate", double.class))};
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] scale_direct() {
+		for (int i = 0; i < SIZE; i++) {
+			outputs[i] = scale(inputs[i]);
+		}
+		return outputs;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] scale_callerLoop() {
+		return callerLoop(lambda);
+	}
+
+	/**
+	 * The same loop invokes the lambdas of 3 Methods in turn, i.e. each call is dispatched via the interface.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] scale_callerLoop_megamorphic() {
+		index = index == lambdas.length-1 ? 0 : index+1;
+		return callerLoop(lambdas[index]);
+	}
+
+	private double[] callerLoop(Lambda lambda) {
+		for (int i = 0; i < SIZE; i++) {
+			outputs[i] = lambda.invoke_for_double(inputs[i]);
+		}
+		return outputs;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] scale_batch_staticFinal() {
+		CONSTANT_BATCH.apply(inputs, outputs);
+		return outputs;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] scale_batch_instanceField() {
+		batch.apply(inputs, outputs);
+		return outputs;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] balance_callerLoop() {
+		for (int i = 0; i < SIZE; i++) {
+			outputs[i] = receiverLambda.invoke_for_double(accounts[i]);
+		}
+		return outputs;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public double[] balance_batch_staticFinal() {
+		CONSTANT_RECEIVER_BATCH.apply(accounts, outputs);
+		return outputs;
+	}
+
+}
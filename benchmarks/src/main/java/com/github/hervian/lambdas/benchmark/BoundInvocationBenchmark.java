@@ -0,0 +1,83 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the invocation of an instance method via a Lambda bound to the receiver ({@link LambdaFactory#bind(Method, Object)}),
+ * against a Lambda taking the receiver as its first argument ({@link LambdaFactory#create(Method)}), and against a direct call.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BoundInvocationBenchmark {
+
+	public static class Handler {
+		private int handled;
+		public int handle(int a, int b) { return handled += a > b ? a : b; }
+	}
+
+	private int intArg = 2147483647;
+	private int secondArg = 1234;
+	private Handler handler;
+	private Lambda unboundLambda;
+	private Lambda boundLambda;
+
+	@Setup
+	public void setup() throws Throwable {
+		handler = new Handler();
+		Method method = Handler.class.getMethod("handle", int.class, int.class);
+		unboundLambda = LambdaFactory.create(method);
+		boundLambda = LambdaFactory.bind(method, handler);
+	}
+
+	@Benchmark
+	public int handle_direct() {
+		return handler.handle(intArg, secondArg);
+	}
+
+	@Benchmark
+	public int handle_unboundLambda() {
+		return unboundLambda.invoke_for_int(handler, intArg, secondArg);
+	}
+
+	@Benchmark
+	public int handle_boundLambda() {
+		return boundLambda.invoke_for_int(intArg, secondArg);
+	}
+
+}
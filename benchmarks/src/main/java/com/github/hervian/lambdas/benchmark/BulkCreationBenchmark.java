@@ -0,0 +1,93 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.LambdaFactory;
+import com.github.hervian.lambdas.LambdaTable;
+import com.github.hervian.lambdas.util.MethodParameter;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the wall clock time of creating {@value #METHODS} lambdas with {@link LambdaFactory#createAll(java.util.Collection, java.util.concurrent.Executor)}
+ * on a ForkJoinPool of 1, 2, 4 and 8 threads, i.e. how the startup cost of an application scales with the number of cores.
+ * Parallelisms beyond the number of cores of the machine are not expected to help.
+ * <p>
+ * Like {@link CreationBenchmark}, the benchmark runs with the lambda cache disabled, such that every lambda is spun anew,
+ * and each measurement is a single shot.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgsAppend = CreationBenchmark.CACHE_DISABLED)
+@State(Scope.Benchmark)
+public class BulkCreationBenchmark {
+
+	static final int METHODS = 1024;
+
+	@Param({"1", "2", "4", "8"})
+	public int parallelism;
+
+	private List<Method> methods;
+	private ForkJoinPool pool;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		List<Method> distinctMethods = new ArrayList<>();
+		for (MethodParameter param : MethodParameter.values()) {
+			distinctMethods.add(CreationBenchmark.class.getDeclaredMethod("staticMethod", param.getType(), int.class));
+		}
+		for (Method method : CreationBenchmark.Bean.class.getDeclaredMethods()) {
+			distinctMethods.add(method);
+		}
+		methods = new ArrayList<>();
+		for (int i = 0; i < METHODS; i++) {
+			methods.add(distinctMethods.get(i % distinctMethods.size()));
+		}
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public LambdaTable createAll_collection() throws Throwable {
+		return LambdaFactory.createAll(methods, pool);
+	}
+
+}
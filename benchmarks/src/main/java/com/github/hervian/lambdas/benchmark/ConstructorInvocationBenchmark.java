@@ -0,0 +1,93 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda;
+import com.github.hervian.lambdas.Lambda2_Object;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the cost of creating an object via a Lambda created from a Constructor, against the new operator and {@link Constructor#newInstance(Object...)}.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ConstructorInvocationBenchmark {
+
+	public static class Dto {
+		private final int id;
+		private final Object name;
+
+		public Dto(int id, Object name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	private int id = 42;
+	private Object name = "name";
+
+	private Constructor<Dto> constructor;
+	private Lambda lambda;
+	private Lambda2_Object subInterfaceLambda;
+
+	@Setup
+	public void setup() throws Throwable {
+		constructor = Dto.class.getConstructor(int.class, Object.class);
+		lambda = LambdaFactory.create(constructor);
+		subInterfaceLambda = LambdaFactory.create(constructor, Lambda2_Object.class);
+	}
+
+	@Benchmark
+	public Object newInstance_lambda() {
+		return lambda.invoke_for_Object(id, name);
+	}
+
+	@Benchmark
+	public Object newInstance_subInterfaceLambda() {
+		return subInterfaceLambda.invoke_for_Object(id, name);
+	}
+
+	@Benchmark
+	public Object newInstance_direct() {
+		return new Dto(id, name);
+	}
+
+	@Benchmark
+	public Object newInstance_reflection() throws Exception {
+		return constructor.newInstance(id, name);
+	}
+
+}
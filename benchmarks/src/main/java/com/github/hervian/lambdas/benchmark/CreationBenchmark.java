@@ -0,0 +1,178 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda;
+import com.github.hervian.lambdas.Lambda2_int;
+import com.github.hervian.lambdas.LambdaFactory;
+import com.github.hervian.lambdas.LambdaInterface;
+import com.github.hervian.lambdas.LambdaTable;
+import com.github.hervian.lambdas.LazyLambda;
+import com.github.hervian.lambdas.MethodFilters;
+import com.github.hervian.lambdas.util.MethodParameter;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the cost of creating a Lambda, single threaded and under contention.
+ * <p>
+ * The benchmarks run with the lambda cache disabled, such that every operation spins a new class.
+ * Since the spun classes cannot be unloaded before their defining ClassLoader, each measurement is a single shot batch
+ * of {@value #BATCH_SIZE} creations, which keeps the metaspace consumption bounded.
+ * The exception is {@link #create_cached()}, which measures the cost of a cache hit.
+ * <p>
+ * Note that the cost of spinning a class, which implements the Lambda interface, is dominated by the size of the interface.
+ * Compare {@link #create_repeatedSignature()} with {@link #create_subInterface()} and {@link #create_prunedInterface()}.
+ * <p>
+ * Run with '-prof gc' to see the allocation per creation.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = CreationBenchmark.BATCH_SIZE)
+@Measurement(iterations = 5, batchSize = CreationBenchmark.BATCH_SIZE)
+@Fork(value = 2, jvmArgsAppend = CreationBenchmark.CACHE_DISABLED)
+@State(Scope.Thread)
+@LambdaInterface(name = "CreationBenchmarkLambda")
+public class CreationBenchmark {
+
+	static final int BATCH_SIZE = 10;
+	static final String CACHE_DISABLED = "-Dlambda.factory.cache.size=0";
+	static final String CACHE_ENABLED = "-Dlambda.factory.cache.size=256";
+
+	static boolean 	staticMethod(boolean a, int b){ return a; }
+	static char 		staticMethod(char a, int b)		{ return a; }
+	static short 		staticMethod(short a, int b)	{ return a; }
+	static byte 		staticMethod(byte a, int b)		{ return a; }
+	static int 			staticMethod(int a, int b)		{ return a; }
+	static float 		staticMethod(float a, int b)	{ return a; }
+	static long 		staticMethod(long a, int b)		{ return a; }
+	static double 	staticMethod(double a, int b)	{ return a; }
+	static Object 	staticMethod(Object a, int b)	{ return a; }
+
+	public static class Bean {
+		private String name;
+		private int age;
+		private double score;
+
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+		public int getAge() { return age; }
+		public void setAge(int age) { this.age = age; }
+		public double getScore() { return score; }
+		public void setScore(double score) { this.score = score; }
+	}
+
+	private Method[] methods;
+	private Method intMethod;
+	private int index;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		MethodParameter[] params = MethodParameter.values();
+		methods = new Method[params.length];
+		for (int i = 0; i < params.length; i++) {
+			methods[i] = CreationBenchmark.class.getDeclaredMethod("staticMethod", params[i].getType(), int.class);
+		}
+		intMethod = CreationBenchmark.class.getDeclaredMethod("staticMethod", int.class, int.class);
+	}
+
+	/**
+	 * Creates Lambdas for the same Method over and over, i.e. the signature is repeated.
+	 */
+	@Benchmark
+	public Lambda create_repeatedSignature() throws Throwable {
+		return LambdaFactory.create(intMethod);
+	}
+
+	/**
+	 * Creates Lambdas for Methods with different signatures.
+	 */
+	@Benchmark
+	public Lambda create_variedSignatures() throws Throwable {
+		index = index == methods.length-1 ? 0 : index+1;
+		return LambdaFactory.create(methods[index]);
+	}
+
+	/**
+	 * Creates implementations of a small sub interface rather than of the Lambda interface.
+	 */
+	@Benchmark
+	public Lambda2_int create_subInterface() throws Throwable {
+		return LambdaFactory.create(intMethod, Lambda2_int.class);
+	}
+
+	/**
+	 * Creates implementations of the interface generated by the {@link LambdaInterface} annotation, which only declares the signatures used by this class.
+	 */
+	@Benchmark
+	public CreationBenchmarkLambda create_prunedInterface() throws Throwable {
+		return LambdaFactory.create(intMethod, CreationBenchmarkLambda.class);
+	}
+
+	/**
+	 * Creates lambdas for the 6 getters and setters of a bean in one pass. Each lambda implements a small sub interface.
+	 */
+	@Benchmark
+	public LambdaTable createAll_beanAccessors() throws Throwable {
+		return LambdaFactory.createAll(Bean.class, MethodFilters.getters().or(MethodFilters.setters()));
+	}
+
+	/**
+	 * Creates LazyLambdas, which do not spin a class until they have been invoked a number of times.
+	 */
+	@Benchmark
+	public LazyLambda createLazy() throws Throwable {
+		return LambdaFactory.createLazy(intMethod);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Lambda create_contended_4Threads() throws Throwable {
+		return LambdaFactory.create(intMethod);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Lambda create_contended_maxThreads() throws Throwable {
+		return LambdaFactory.create(intMethod);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	@Warmup(iterations = 5, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	@Fork(value = 2, jvmArgsAppend = CACHE_ENABLED)
+	public Lambda create_cached() throws Throwable {
+		return LambdaFactory.create(intMethod);
+	}
+
+}
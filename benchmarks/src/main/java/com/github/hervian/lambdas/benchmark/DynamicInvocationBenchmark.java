@@ -0,0 +1,121 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.DynamicInvoker;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the invocation speed of a {@link DynamicInvoker} on receivers of 1 (monomorphic), 4 (polymorphic) and 16 (megamorphic, with the default depth of 8) unrelated classes,
+ * against looking up the Method of the receiver's class in a map and invoking it reflectively.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DynamicInvocationBenchmark {
+
+	private static final int RECEIVERS = 64;
+
+	public static class R0 { public int getPriority() { return 0; } }
+	public static class R1 { public int getPriority() { return 1; } }
+	public static class R2 { public int getPriority() { return 2; } }
+	public static class R3 { public int getPriority() { return 3; } }
+	public static class R4 { public int getPriority() { return 4; } }
+	public static class R5 { public int getPriority() { return 5; } }
+	public static class R6 { public int getPriority() { return 6; } }
+	public static class R7 { public int getPriority() { return 7; } }
+	public static class R8 { public int getPriority() { return 8; } }
+	public static class R9 { public int getPriority() { return 9; } }
+	public static class R10 { public int getPriority() { return 10; } }
+	public static class R11 { public int getPriority() { return 11; } }
+	public static class R12 { public int getPriority() { return 12; } }
+	public static class R13 { public int getPriority() { return 13; } }
+	public static class R14 { public int getPriority() { return 14; } }
+	public static class R15 { public int getPriority() { return 15; } }
+
+	private static final Class<?>[] RECEIVER_CLASSES = {R0.class, R1.class, R2.class, R3.class, R4.class, R5.class, R6.class, R7.class,
+			R8.class, R9.class, R10.class, R11.class, R12.class, R13.class, R14.class, R15.class};
+
+	@Param({"1", "4", "16"})
+	public int receiverClasses;
+
+	private Object[] receivers;
+	private DynamicInvoker invoker;
+	private Map<Class<?>, Method> methods;
+
+	@Setup
+	public void setup() throws Throwable {
+		receivers = new Object[RECEIVERS];
+		for (int i = 0; i < RECEIVERS; i++) {
+			receivers[i] = RECEIVER_CLASSES[i % receiverClasses].getConstructor().newInstance();
+		}
+		invoker = LambdaFactory.createDynamic("getPriority");
+		methods = new ConcurrentHashMap<>();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECEIVERS)
+	public int getPriority_dynamicInvoker() {
+		int sum = 0;
+		for (Object receiver : receivers) {
+			sum += (Integer) invoker.invoke(receiver);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECEIVERS)
+	public int getPriority_reflection() throws Exception {
+		int sum = 0;
+		for (Object receiver : receivers) {
+			Method method = methods.computeIfAbsent(receiver.getClass(), DynamicInvocationBenchmark::getPriorityMethod);
+			sum += (Integer) method.invoke(receiver);
+		}
+		return sum;
+	}
+
+	private static Method getPriorityMethod(Class<?> type) {
+		try {
+			return type.getMethod("getPriority");
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
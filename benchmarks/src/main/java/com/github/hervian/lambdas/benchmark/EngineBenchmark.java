@@ -0,0 +1,98 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda2_int;
+import com.github.hervian.lambdas.Lambda4_int;
+import com.github.hervian.lambdas.LambdaEngine;
+import com.github.hervian.lambdas.LambdaEnginePolicy;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures where each {@link LambdaEngine} wins: the cost of creating a lambda (with the lambda cache disabled, see {@link CreationBenchmark}),
+ * and the cost of invoking a lambda of 2 and of 4 parameters (an instance method of 3).
+ * <p>
+ * Run with '-prof gc' to see the allocation per creation. Note that the {@value LambdaEngine#METAFACTORY} engine also spins a class per Method,
+ * whereas the Proxy based engines share a class per interface.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = CreationBenchmark.CACHE_DISABLED)
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+	static int add(int a, int b) { return a + b; }
+	int add(int a, int b, int c) { return a + b + c; }
+
+	@Param({LambdaEngine.METAFACTORY, LambdaEngine.METHOD_HANDLE, LambdaEngine.REFLECTION})
+	private String engine;
+
+	private int a = 1234;
+	private int b = 5678;
+	private Method method;
+	private Lambda2_int lambda;
+	private Lambda4_int lambda4;
+
+	@Setup
+	public void setup() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(engine));
+		method = EngineBenchmark.class.getDeclaredMethod("add", int.class, int.class);
+		lambda = LambdaFactory.create(method, Lambda2_int.class);
+		lambda4 = LambdaFactory.create(EngineBenchmark.class.getDeclaredMethod("add", int.class, int.class, int.class), Lambda4_int.class);
+	}
+
+	/**
+	 * Each creation spins a class with the {@value LambdaEngine#METAFACTORY} engine, i.e. it is measured in batches like {@link CreationBenchmark}.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@Warmup(iterations = 3, batchSize = CreationBenchmark.BATCH_SIZE)
+	@Measurement(iterations = 5, batchSize = CreationBenchmark.BATCH_SIZE)
+	public Lambda2_int create() throws Throwable {
+		return LambdaFactory.create(method, Lambda2_int.class);
+	}
+
+	@Benchmark
+	public int invoke_2Parameters() {
+		return lambda.invoke_for_int(a, b);
+	}
+
+	@Benchmark
+	public int invoke_4Parameters() {
+		return lambda4.invoke_for_int(this, a, b, a);
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the invocation of lambdas created by {@link LambdaFactory#createExact(java.lang.reflect.Method, Class)},
+ * for each of the parameter types of {@link com.github.hervian.lambdas.util.MethodParameter} plus a boxed Integer argument.
+ * <p>
+ * Run with '-prof gc' to verify that the invocations do not allocate, i.e. that gc.alloc.rate.norm is ~0 B/op:<br>
+ * java -jar target/benchmarks.jar ExactInvocationBenchmark -prof gc
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExactInvocationBenchmark {
+
+	public interface BooleanFunction { boolean apply(boolean a, Integer b); }
+	public interface CharFunction { char apply(char a, Integer b); }
+	public interface ByteFunction { byte apply(byte a, Integer b); }
+	public interface ShortFunction { short apply(short a, Integer b); }
+	public interface IntFunction { int apply(int a, Integer b); }
+	public interface FloatFunction { float apply(float a, Integer b); }
+	public interface LongFunction { long apply(long a, Integer b); }
+	public interface DoubleFunction { double apply(double a, Integer b); }
+	public interface StringFunction { String apply(String a, Integer b); }
+
+	static boolean staticMethod(boolean a, Integer b) { return a; }
+	static char staticMethod(char a, Integer b) { return a; }
+	static byte staticMethod(byte a, Integer b) { return a; }
+	static short staticMethod(short a, Integer b) { return a; }
+	static int staticMethod(int a, Integer b) { return a; }
+	static float staticMethod(float a, Integer b) { return a; }
+	static long staticMethod(long a, Integer b) { return a; }
+	static double staticMethod(double a, Integer b) { return a; }
+	static String staticMethod(String a, Integer b) { return a; }
+
+	private boolean booleanArg = true;
+	private char charArg = 'c';
+	private byte byteArg = (byte) 127;
+	private short shortArg = (short) 32767;
+	private int intArg = 2147483647;
+	private float floatArg = 345.45f;
+	private long longArg = 3147483647L;
+	private double doubleArg = 3147483647d;
+	private String stringArg = "some random String";
+	private Integer integerArg = 1234; //Outside of the Integer cache, i.e. boxing would allocate.
+
+	private BooleanFunction booleanFunction;
+	private CharFunction charFunction;
+	private ByteFunction byteFunction;
+	private ShortFunction shortFunction;
+	private IntFunction intFunction;
+	private FloatFunction floatFunction;
+	private LongFunction longFunction;
+	private DoubleFunction doubleFunction;
+	private StringFunction stringFunction;
+
+	@Setup
+	public void setup() throws Throwable {
+		booleanFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", boolean.class, Integer.class), BooleanFunction.class);
+		charFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", char.class, Integer.class), CharFunction.class);
+		byteFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", byte.class, Integer.class), ByteFunction.class);
+		shortFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", short.class, Integer.class), ShortFunction.class);
+		intFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", int.class, Integer.class), IntFunction.class);
+		floatFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", float.class, Integer.class), FloatFunction.class);
+		longFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", long.class, Integer.class), LongFunction.class);
+		doubleFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", double.class, Integer.class), DoubleFunction.class);
+		stringFunction = LambdaFactory.createExact(ExactInvocationBenchmark.class.getDeclaredMethod("staticMethod", String.class, Integer.class), StringFunction.class);
+	}
+
+	@Benchmark
+	public boolean boolean_exact() {
+		return booleanFunction.apply(booleanArg, integerArg);
+	}
+
+	@Benchmark
+	public char char_exact() {
+		return charFunction.apply(charArg, integerArg);
+	}
+
+	@Benchmark
+	public byte byte_exact() {
+		return byteFunction.apply(byteArg, integerArg);
+	}
+
+	@Benchmark
+	public short short_exact() {
+		return shortFunction.apply(shortArg, integerArg);
+	}
+
+	@Benchmark
+	public int int_exact() {
+		return intFunction.apply(intArg, integerArg);
+	}
+
+	@Benchmark
+	public float float_exact() {
+		return floatFunction.apply(floatArg, integerArg);
+	}
+
+	@Benchmark
+	public long long_exact() {
+		return longFunction.apply(longArg, integerArg);
+	}
+
+	@Benchmark
+	public double double_exact() {
+		return doubleFunction.apply(doubleArg, integerArg);
+	}
+
+	@Benchmark
+	public String string_exact() {
+		return stringFunction.apply(stringArg, integerArg);
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.FieldAccessor;
+import com.github.hervian.lambdas.FieldAccessorFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures reading and writing an int field via a {@link FieldAccessor}, against direct access, {@link Field#getInt(Object)}/{@link Field#setInt(Object, int)}
+ * and the boxing {@link Field#get(Object)}.
+ * <p>
+ * Run with '-prof gc' to verify that the FieldAccessor does not allocate (gc.alloc.rate.norm should be ~0 B/op).
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FieldAccessBenchmark {
+
+	/**
+	 * An accessor held in a static final field, which the JIT trusts as a constant, like a lambda is typically held.
+	 */
+	private static final FieldAccessor CONSTANT_ACCESSOR;
+	static {
+		try {
+			CONSTANT_ACCESSOR = FieldAccessorFactory.create(FieldAccessBenchmark.class.getDeclaredField("intField"));
+		} catch (Exception e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private int intField = 123456; //Outside of the Integer cache, such that Field.get allocates.
+
+	private Field field;
+	private FieldAccessor accessor;
+
+	@Setup
+	public void setup() throws Exception {
+		field = FieldAccessBenchmark.class.getDeclaredField("intField");
+		accessor = FieldAccessorFactory.create(field);
+	}
+
+	@Benchmark
+	public int getInt_accessor() {
+		return accessor.get_for_int(this);
+	}
+
+	@Benchmark
+	public int getInt_constantAccessor() {
+		return CONSTANT_ACCESSOR.get_for_int(this);
+	}
+
+	@Benchmark
+	public int getInt_direct() {
+		return intField;
+	}
+
+	@Benchmark
+	public int getInt_reflection() throws Exception {
+		return field.getInt(this);
+	}
+
+	/**
+	 * Field.get boxes the value, which is how reflective frameworks typically read fields of unknown types.
+	 */
+	@Benchmark
+	public Object getInt_reflectionBoxing() throws Exception {
+		return field.get(this);
+	}
+
+	@Benchmark
+	public void incrementInt_accessor() {
+		accessor.set_for_int(this, accessor.get_for_int(this) + 1);
+	}
+
+	@Benchmark
+	public void incrementInt_constantAccessor() {
+		CONSTANT_ACCESSOR.set_for_int(this, CONSTANT_ACCESSOR.get_for_int(this) + 1);
+	}
+
+	@Benchmark
+	public void incrementInt_direct() {
+		intField++;
+	}
+
+	@Benchmark
+	public void incrementInt_reflection() throws Exception {
+		field.setInt(this, field.getInt(this) + 1);
+	}
+
+}
@@ -0,0 +1,320 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.hervian.lambdas.Lambda;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the invocation speed of a Lambda against a direct invocation, a reflective invocation via {@link Method#invoke(Object, Object...)}
+ * and an invocation via {@link MethodHandle#invokeExact(Object...)} - for each of the parameter types of {@link com.github.hervian.lambdas.util.MethodParameter}.
+ * <p>
+ * The benchmark names follow the pattern &lt;parameter-type&gt;_&lt;invocation-strategy&gt;, such that the results of a given parameter type are listed together.
+ * The arguments are read from fields, such that the JIT cannot constant fold the invocations,
+ * and the MethodHandles are stored in (non static final) fields, just like the Lambdas and Methods.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class InvocationBenchmark {
+
+	/*
+	 * Methods with simple logic designed to highlight differences in invocation speed.
+	 * The methods must contain enough logic for the JIT not to optimize any differences away.
+	 */
+	static boolean staticMethod(boolean a, int b) { return b%2==0 && b%4==1 && a; }
+	static char staticMethod(char a, int b) { return (char) (a > b ? a : b); }
+	static byte staticMethod(byte a, int b) { return (byte) (a > b ? a : b); }
+	static short staticMethod(short a, int b) { return (short) (a > b ? a : b); }
+	static int staticMethod(int a, int b) { return a > b ? a : b; }
+	static float staticMethod(float a, int b) { return a > b ? a : b; }
+	static long staticMethod(long a, int b) { return a > b ? a : b; }
+	static double staticMethod(double a, int b) { return a > b ? a : b; }
+	static String staticMethod(Object a, int b) { return b>((String)a).length() ? "y" : "n"; }
+
+	private boolean booleanArg = true;
+	private char charArg = 'c';
+	private byte byteArg = (byte) 127;
+	private short shortArg = (short) 32767;
+	private int intArg = 2147483647;
+	private float floatArg = 345.45f;
+	private long longArg = 3147483647L;
+	private double doubleArg = 3147483647d;
+	private Object objectArg = "some random String/Object";
+	private int secondArg = 1234;
+
+	private Lambda booleanLambda;
+	private Method booleanMethod;
+	private MethodHandle booleanMethodHandle;
+	private Lambda charLambda;
+	private Method charMethod;
+	private MethodHandle charMethodHandle;
+	private Lambda byteLambda;
+	private Method byteMethod;
+	private MethodHandle byteMethodHandle;
+	private Lambda shortLambda;
+	private Method shortMethod;
+	private MethodHandle shortMethodHandle;
+	private Lambda intLambda;
+	private Method intMethod;
+	private MethodHandle intMethodHandle;
+	private Lambda floatLambda;
+	private Method floatMethod;
+	private MethodHandle floatMethodHandle;
+	private Lambda longLambda;
+	private Method longMethod;
+	private MethodHandle longMethodHandle;
+	private Lambda doubleLambda;
+	private Method doubleMethod;
+	private MethodHandle doubleMethodHandle;
+	private Lambda objectLambda;
+	private Method objectMethod;
+	private MethodHandle objectMethodHandle;
+
+	@Setup
+	public void setup() throws Throwable {
+		booleanMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", boolean.class, int.class);
+		booleanLambda = LambdaFactory.create(booleanMethod);
+		booleanMethodHandle = MethodHandles.lookup().unreflect(booleanMethod);
+		charMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", char.class, int.class);
+		charLambda = LambdaFactory.create(charMethod);
+		charMethodHandle = MethodHandles.lookup().unreflect(charMethod);
+		byteMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", byte.class, int.class);
+		byteLambda = LambdaFactory.create(byteMethod);
+		byteMethodHandle = MethodHandles.lookup().unreflect(byteMethod);
+		shortMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", short.class, int.class);
+		shortLambda = LambdaFactory.create(shortMethod);
+		shortMethodHandle = MethodHandles.lookup().unreflect(shortMethod);
+		intMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", int.class, int.class);
+		intLambda = LambdaFactory.create(intMethod);
+		intMethodHandle = MethodHandles.lookup().unreflect(intMethod);
+		floatMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", float.class, int.class);
+		floatLambda = LambdaFactory.create(floatMethod);
+		floatMethodHandle = MethodHandles.lookup().unreflect(floatMethod);
+		longMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", long.class, int.class);
+		longLambda = LambdaFactory.create(longMethod);
+		longMethodHandle = MethodHandles.lookup().unreflect(longMethod);
+		doubleMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", double.class, int.class);
+		doubleLambda = LambdaFactory.create(doubleMethod);
+		doubleMethodHandle = MethodHandles.lookup().unreflect(doubleMethod);
+		objectMethod = InvocationBenchmark.class.getDeclaredMethod("staticMethod", Object.class, int.class);
+		objectLambda = LambdaFactory.create(objectMethod);
+		objectMethodHandle = MethodHandles.lookup().unreflect(objectMethod);
+	}
+
+	@Benchmark
+	public void boolean_lambda(Blackhole blackhole) {
+		blackhole.consume(booleanLambda.invoke_for_boolean(booleanArg, secondArg));
+	}
+
+	@Benchmark
+	public void boolean_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(booleanArg, secondArg));
+	}
+
+	@Benchmark
+	public void boolean_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((boolean) booleanMethod.invoke(null, booleanArg, secondArg));
+	}
+
+	@Benchmark
+	public void boolean_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((boolean) booleanMethodHandle.invokeExact(booleanArg, secondArg));
+	}
+
+	@Benchmark
+	public void char_lambda(Blackhole blackhole) {
+		blackhole.consume(charLambda.invoke_for_char(charArg, secondArg));
+	}
+
+	@Benchmark
+	public void char_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(charArg, secondArg));
+	}
+
+	@Benchmark
+	public void char_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((char) charMethod.invoke(null, charArg, secondArg));
+	}
+
+	@Benchmark
+	public void char_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((char) charMethodHandle.invokeExact(charArg, secondArg));
+	}
+
+	@Benchmark
+	public void byte_lambda(Blackhole blackhole) {
+		blackhole.consume(byteLambda.invoke_for_byte(byteArg, secondArg));
+	}
+
+	@Benchmark
+	public void byte_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(byteArg, secondArg));
+	}
+
+	@Benchmark
+	public void byte_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((byte) byteMethod.invoke(null, byteArg, secondArg));
+	}
+
+	@Benchmark
+	public void byte_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((byte) byteMethodHandle.invokeExact(byteArg, secondArg));
+	}
+
+	@Benchmark
+	public void short_lambda(Blackhole blackhole) {
+		blackhole.consume(shortLambda.invoke_for_short(shortArg, secondArg));
+	}
+
+	@Benchmark
+	public void short_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(shortArg, secondArg));
+	}
+
+	@Benchmark
+	public void short_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((short) shortMethod.invoke(null, shortArg, secondArg));
+	}
+
+	@Benchmark
+	public void short_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((short) shortMethodHandle.invokeExact(shortArg, secondArg));
+	}
+
+	@Benchmark
+	public void int_lambda(Blackhole blackhole) {
+		blackhole.consume(intLambda.invoke_for_int(intArg, secondArg));
+	}
+
+	@Benchmark
+	public void int_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(intArg, secondArg));
+	}
+
+	@Benchmark
+	public void int_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((int) intMethod.invoke(null, intArg, secondArg));
+	}
+
+	@Benchmark
+	public void int_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((int) intMethodHandle.invokeExact(intArg, secondArg));
+	}
+
+	@Benchmark
+	public void float_lambda(Blackhole blackhole) {
+		blackhole.consume(floatLambda.invoke_for_float(floatArg, secondArg));
+	}
+
+	@Benchmark
+	public void float_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(floatArg, secondArg));
+	}
+
+	@Benchmark
+	public void float_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((float) floatMethod.invoke(null, floatArg, secondArg));
+	}
+
+	@Benchmark
+	public void float_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((float) floatMethodHandle.invokeExact(floatArg, secondArg));
+	}
+
+	@Benchmark
+	public void long_lambda(Blackhole blackhole) {
+		blackhole.consume(longLambda.invoke_for_long(longArg, secondArg));
+	}
+
+	@Benchmark
+	public void long_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(longArg, secondArg));
+	}
+
+	@Benchmark
+	public void long_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((long) longMethod.invoke(null, longArg, secondArg));
+	}
+
+	@Benchmark
+	public void long_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((long) longMethodHandle.invokeExact(longArg, secondArg));
+	}
+
+	@Benchmark
+	public void double_lambda(Blackhole blackhole) {
+		blackhole.consume(doubleLambda.invoke_for_double(doubleArg, secondArg));
+	}
+
+	@Benchmark
+	public void double_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(doubleArg, secondArg));
+	}
+
+	@Benchmark
+	public void double_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((double) doubleMethod.invoke(null, doubleArg, secondArg));
+	}
+
+	@Benchmark
+	public void double_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((double) doubleMethodHandle.invokeExact(doubleArg, secondArg));
+	}
+
+	@Benchmark
+	public void object_lambda(Blackhole blackhole) {
+		blackhole.consume((String) objectLambda.invoke_for_Object(objectArg, secondArg));
+	}
+
+	@Benchmark
+	public void object_direct(Blackhole blackhole) {
+		blackhole.consume(staticMethod(objectArg, secondArg));
+	}
+
+	@Benchmark
+	public void object_reflection(Blackhole blackhole) throws Throwable {
+		blackhole.consume((String) objectMethod.invoke(null, objectArg, secondArg));
+	}
+
+	@Benchmark
+	public void object_methodHandle(Blackhole blackhole) throws Throwable {
+		blackhole.consume((String) objectMethodHandle.invokeExact(objectArg, secondArg));
+	}
+
+}
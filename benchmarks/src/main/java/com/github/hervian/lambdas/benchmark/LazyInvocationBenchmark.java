@@ -0,0 +1,88 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda2_int;
+import com.github.hervian.lambdas.LambdaFactory;
+import com.github.hervian.lambdas.LazyLambda;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the invocation of a lazy lambda held in a static final field, after it has inflated ({@link LambdaFactory#createLazy(Method, Class)}),
+ * against a Lambda, a LazyLambda ({@link LambdaFactory#createLazy(Method)}) and a direct call.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LazyInvocationBenchmark {
+
+	private static final Lambda2_int LAMBDA;
+	private static final Lambda2_int LAZY_LAMBDA;
+	private static final LazyLambda LAZY_SPREADING_LAMBDA;
+	static {
+		try {
+			Method method = LazyInvocationBenchmark.class.getDeclaredMethod("max", int.class, int.class);
+			LAMBDA = LambdaFactory.create(method, Lambda2_int.class);
+			LAZY_LAMBDA = LambdaFactory.createLazy(method, Lambda2_int.class);
+			LAZY_SPREADING_LAMBDA = LambdaFactory.createLazy(method);
+		} catch (Throwable t) {
+			throw new ExceptionInInitializerError(t);
+		}
+	}
+
+	private int intArg = 2147483647;
+	private int secondArg = 1234;
+
+	public static int max(int a, int b) { return a > b ? a : b; }
+
+	@Benchmark
+	public int max_direct() {
+		return max(intArg, secondArg);
+	}
+
+	@Benchmark
+	public int max_lambda() {
+		return LAMBDA.invoke_for_int(intArg, secondArg);
+	}
+
+	@Benchmark
+	public int max_lazyLambda() {
+		return LAZY_LAMBDA.invoke_for_int(intArg, secondArg);
+	}
+
+	@Benchmark
+	public Object max_lazySpreadingLambda() {
+		return LAZY_SPREADING_LAMBDA.invoke(intArg, secondArg);
+	}
+
+}
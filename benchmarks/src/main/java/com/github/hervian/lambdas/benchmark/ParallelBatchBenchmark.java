@@ -0,0 +1,109 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.LambdaBatch;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures how {@link LambdaBatch#applyParallel(Object, Object, java.util.concurrent.Executor)} scales with the number of threads,
+ * for a CPU-bound Method over an array of {@value #SIZE} elements, against the sequential {@link LambdaBatch#apply(Object, Object)}.
+ * <p>
+ * Each thread count is a ForkJoinPool of that parallelism. Thread counts above the number of cores of the machine show the cost of oversubscription.
+ * Run with fx '-p threads=1,2,4,8,16,32,64' to match the cores of the machine.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ParallelBatchBenchmark {
+
+	static final int SIZE = 1 << 20;
+
+	/**
+	 * A CPU-bound transformation, which the JIT cannot vectorize.
+	 */
+	public static double transform(double value) {
+		double result = value;
+		for (int i = 0; i < 8; i++) {
+			result = Math.sqrt(result + i) * 1.5;
+		}
+		return result;
+	}
+
+	private static final LambdaBatch BATCH = createBatch();
+
+	@Param({"1", "2", "4", "8"})
+	private int threads;
+
+	private final double[] inputs = new double[SIZE];
+	private final double[] outputs = new double[SIZE];
+	private ForkJoinPool pool;
+
+	private static LambdaBatch createBatch() {
+		try {
+			return LambdaFactory.createBatch(ParallelBatchBenchmark.class.getMethod("transform", double.class));
+		} catch (Throwable t) {
+			throw new ExceptionInInitializerError(t);
+		}
+	}
+
+	@Setup
+	public void setup() {
+		for (int i = 0; i < SIZE; i++) {
+			inputs[i] = i;
+		}
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public double[] transform_sequential() {
+		BATCH.apply(inputs, outputs);
+		return outputs;
+	}
+
+	@Benchmark
+	public double[] transform_parallel() {
+		BATCH.applyParallel(inputs, outputs, pool);
+		return outputs;
+	}
+
+}
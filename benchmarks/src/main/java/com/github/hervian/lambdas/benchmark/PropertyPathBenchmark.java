@@ -0,0 +1,121 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.Lambda1_Object;
+import com.github.hervian.lambdas.LambdaFactory;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the evaluation of the property path order.customer.address.zip, compiled into a single lambda by {@link LambdaFactory#createPath(Class, String, Class)},
+ * against a chain of lambdas, one per getter, invoked from the same (megamorphic) call site, and against direct calls.
+ * <p>
+ * The compiled path is measured both as a static final field, which allows the JIT to inline the whole path, and as an instance field.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PropertyPathBenchmark {
+
+	public static class Address {
+		private final String zip;
+		public Address(String zip) { this.zip = zip; }
+		public String getZip() { return zip; }
+	}
+
+	public static class Customer {
+		private final Address address;
+		public Customer(Address address) { this.address = address; }
+		public Address getAddress() { return address; }
+	}
+
+	public static class Order {
+		private final Customer customer;
+		public Order(Customer customer) { this.customer = customer; }
+		public Customer getCustomer() { return customer; }
+	}
+
+	private static final Lambda1_Object CONSTANT_PATH = createPath();
+
+	private Order order;
+	private Lambda1_Object path;
+	private Lambda1_Object[] chain;
+
+	private static Lambda1_Object createPath() {
+		try {
+			return LambdaFactory.createPath(Order.class, "customer.address.zip", Lambda1_Object.class);
+		} catch (Throwable t) {
+			throw new ExceptionInInitializerError(t);
+		}
+	}
+
+	@Setup
+	public void setup() throws Throwable {
+		order = new Order(new Customer(new Address("2100")));
+		path = createPath();
+		chain = new Lambda1_Object[] {
+				LambdaFactory.create(Order.class.getMethod("getCustomer"), Lambda1_Object.class),
+				LambdaFactory.create(Customer.class.getMethod("getAddress"), Lambda1_Object.class),
+				LambdaFactory.create(Address.class.getMethod("getZip"), Lambda1_Object.class)};
+	}
+
+	@Benchmark
+	public Object zip_direct() {
+		Customer customer = order.getCustomer();
+		Address address = customer == null ? null : customer.getAddress();
+		return address == null ? null : address.getZip();
+	}
+
+	@Benchmark
+	public Object zip_pathInStaticFinalField() {
+		return CONSTANT_PATH.invoke_for_Object(order);
+	}
+
+	@Benchmark
+	public Object zip_pathInField() {
+		return path.invoke_for_Object(order);
+	}
+
+	@Benchmark
+	public Object zip_chainedLambdas() {
+		Object value = order;
+		for (Lambda1_Object step : chain) {
+			if (value == null) {
+				return null;
+			}
+			value = step.invoke_for_Object(value);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hervian.lambdas.LambdaFactory;
+import com.github.hervian.lambdas.SpreadingLambda;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the invocation speed of a {@link SpreadingLambda} for a Method with more parameters than the Lambda interface supports,
+ * against a direct invocation, a reflective invocation and an invocation via {@link MethodHandle#invokeExact(Object...)}.
+ * <p>
+ * The SpreadingLambda and the reflective invocation are given the same boxed arguments, i.e. the difference is the cost of the invocation itself.
+ *
+ * @author Anders Granau Høfft
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SpreadingInvocationBenchmark {
+
+	static long staticMethod(int a, long b, int c, long d, int e, long f) { return a > b ? c + d : e + f; }
+
+	private int a = 1;
+	private long b = 2;
+	private int c = 3;
+	private long d = 4;
+	private int e = 5;
+	private long f = 6;
+	private Object[] args;
+
+	private SpreadingLambda lambda;
+	private Method method;
+	private MethodHandle methodHandle;
+
+	@Setup
+	public void setup() throws Throwable {
+		args = new Object[]{a, b, c, d, e, f};
+		method = SpreadingInvocationBenchmark.class.getDeclaredMethod("staticMethod", int.class, long.class, int.class, long.class, int.class, long.class);
+		lambda = LambdaFactory.createSpreading(method);
+		methodHandle = MethodHandles.lookup().unreflect(method);
+	}
+
+	@Benchmark
+	public Object sixParams_spreading() {
+		return lambda.invoke(args);
+	}
+
+	@Benchmark
+	public long sixParams_direct() {
+		return staticMethod(a, b, c, d, e, f);
+	}
+
+	@Benchmark
+	public Object sixParams_reflection() throws Exception {
+		return method.invoke(null, args);
+	}
+
+	@Benchmark
+	public long sixParams_methodHandle() throws Throwable {
+		return (long) methodHandle.invokeExact(a, b, c, d, e, f);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.github.hervian.lambdas.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Measures the startup time of {@link StartupWorkload} in new JVMs, i.e. it is not a JMH benchmark. Run it with:
+ * <pre>
+ * java -cp target/benchmarks.jar com.github.hervian.lambdas.benchmark.StartupBenchmark [runs]
+ * </pre>
+ * The benchmark first makes a training run, which records a lambda-factory profile (-Dlambda.factory.profile.record) and a dynamic CDS archive (-XX:ArchiveClassesAtExit).
+ * Then it alternates between the configurations below, and reports the wall clock time of the JVMs (including the JVM's own startup and shutdown):
+ * <ul>
+ * <li>cold: neither a profile nor an archive.
+ * <li>trained: the profile is replayed (-Dlambda.factory.profile.replay), i.e. the lambdas are created by a background thread, started when LambdaFactory is initialized.
+ * <li>archive: the classes are loaded from the archive (-XX:SharedArchiveFile), without the profile, i.e. it isolates the effect of the archive.
+ * <li>archived: the profile is replayed and the classes are loaded from the archive.
+ * </ul>
+ * The workload must be run from a jar, since CDS only archives classes loaded from jars.
+ *
+ * @author Anders Granau Høfft
+ */
+public class StartupBenchmark {
+
+	private static final String[] CONFIGURATIONS = {"cold", "trained", "archive", "archived"};
+
+	public static void main(String[] args) throws Exception {
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		Path directory = Files.createTempDirectory("lambda-factory-startup");
+		String profile = directory.resolve("lambdas.profile").toString();
+		String archive = directory.resolve("app.jsa").toString();
+
+		run("-Dlambda.factory.profile.record=" + profile, "-XX:ArchiveClassesAtExit=" + archive);
+		System.out.println("Trained: " + (Files.readAllLines(directory.resolve("lambdas.profile")).size() - 1) + " lambdas in the profile");
+
+		List<List<String>> jvmArgs = Arrays.asList(
+				Arrays.asList(),
+				Arrays.asList("-Dlambda.factory.profile.replay=" + profile),
+				Arrays.asList("-XX:SharedArchiveFile=" + archive),
+				Arrays.asList("-Dlambda.factory.profile.replay=" + profile, "-XX:SharedArchiveFile=" + archive));
+		long[][] millis = new long[CONFIGURATIONS.length][runs];
+		for (int run = 0; run < runs; run++) {
+			for (int configuration = 0; configuration < CONFIGURATIONS.length; configuration++) {
+				millis[configuration][run] = run(jvmArgs.get(configuration).toArray(new String[0]));
+			}
+		}
+		for (int configuration = 0; configuration < CONFIGURATIONS.length; configuration++) {
+			long[] times = millis[configuration];
+			Arrays.sort(times);
+			System.out.printf("%-10s median %5d ms, min %5d ms, max %5d ms%n", CONFIGURATIONS[configuration], times[runs / 2], times[0], times[runs - 1]);
+		}
+	}
+
+	/**
+	 * @return The wall clock time of the JVM in milliseconds.
+	 */
+	private static long run(String... jvmArgs) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(Arrays.asList(jvmArgs));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(StartupWorkload.class.getName());
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+		int exitCode = process.waitFor();
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		if (exitCode != 0) {
+			throw new IllegalStateException("The workload failed with exit code " + exitCode + ": " + command);
+		}
+		return millis;
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.github.hervian.lambdas.benchmark;
+
+import com.github.hervian.lambdas.Lambda;
+import com.github.hervian.lambdas.LambdaFactory;
+import com.github.hervian.lambdas.LambdaTable;
+import com.github.hervian.lambdas.MethodFilters;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * The application started by {@link StartupBenchmark}: it creates the lambdas for the accessors of a few entity classes, like an object mapper,
+ * and a Lambda for a single Method, and exits.
+ *
+ * @author Anders Granau Høfft
+ */
+public class StartupWorkload {
+
+	public static class Customer {
+		private String name;
+		private String email;
+		private int age;
+
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+		public String getEmail() { return email; }
+		public void setEmail(String email) { this.email = email; }
+		public int getAge() { return age; }
+		public void setAge(int age) { this.age = age; }
+	}
+
+	public static class Order {
+		private long id;
+		private Customer customer;
+		private double total;
+		private boolean paid;
+
+		public long getId() { return id; }
+		public void setId(long id) { this.id = id; }
+		public Customer getCustomer() { return customer; }
+		public void setCustomer(Customer customer) { this.customer = customer; }
+		public double getTotal() { return total; }
+		public void setTotal(double total) { this.total = total; }
+		public boolean isPaid() { return paid; }
+		public void setPaid(boolean paid) { this.paid = paid; }
+	}
+
+	public static class Invoice {
+		private Order order;
+		private String number;
+		private char currency;
+
+		public Order getOrder() { return order; }
+		public void setOrder(Order order) { this.order = order; }
+		public String getNumber() { return number; }
+		public void setNumber(String number) { this.number = number; }
+		public char getCurrency() { return currency; }
+		public void setCurrency(char currency) { this.currency = currency; }
+		public boolean matches(Order order, String number) { return this.order == order && this.number.equals(number); }
+	}
+
+	public static void main(String[] args) throws Throwable {
+		int lambdas = 0;
+		for (Class<?> type : new Class<?>[] {Customer.class, Order.class, Invoice.class}) {
+			LambdaTable table = LambdaFactory.createAll(type, MethodFilters.getters().or(MethodFilters.setters()));
+			lambdas += table.size();
+		}
+		Lambda matches = LambdaFactory.create(Invoice.class.getMethod("matches", Order.class, String.class));
+		System.out.println((lambdas + 1) + " lambdas, e.g. " + matches.getClass().getInterfaces()[0].getSimpleName());
+	}
+
+}
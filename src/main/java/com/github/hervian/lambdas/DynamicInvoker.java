@@ -0,0 +1,207 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Invokes an instance method, identified by name and parameter types, on receivers of any class, fx a getPriority() method
+ * declared by many unrelated classes.
+ * <p>
+ * The Method of a receiver's class is resolved, and a {@link SpreadingLambda} is created for it, the first time the invoker meets the class.
+ * The invoker is an inline cache: a {@link MutableCallSite}, whose target is a chain of class checks (see {@link MethodHandles#guardWithTest(MethodHandle, MethodHandle, MethodHandle)}),
+ * each of which invokes the lambda of one receiver class. The chain starts empty, becomes monomorphic with the first receiver class, and grows
+ * (polymorphic) with each new receiver class, until it reaches the maximum depth. From then on (megamorphic) the lambda is looked up in a {@link ClassValue}
+ * of the receiver's class.
+ * <p>
+ * The classes in the chain are strongly referenced by the invoker. The maximum depth can be configured with the system property {@value #MAX_DEPTH_PROPERTY},
+ * or per invoker via {@link LambdaFactory#createDynamic(int, String, Class...)}. A depth of 0 makes the invoker megamorphic from the start.
+ * <p>
+ * The invoker is thread safe.
+ *
+ * @author Anders Granau Høfft
+ */
+public final class DynamicInvoker implements SpreadingLambda {
+
+	static final String MAX_DEPTH_PROPERTY = "lambda.factory.invoker.depth";
+	static final int DEFAULT_MAX_DEPTH = 8;
+
+	private static final MethodHandle IS_RECEIVER_OF;
+	private static final MethodHandle INVOKE_LAMBDA;
+	private static final MethodHandle RELINK;
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			IS_RECEIVER_OF = lookup.findStatic(DynamicInvoker.class, "isReceiverOf", MethodType.methodType(boolean.class, Class.class, Object[].class));
+			INVOKE_LAMBDA = lookup.findVirtual(SpreadingLambda.class, "invoke", MethodType.methodType(Object.class, Object[].class));
+			RELINK = lookup.findVirtual(DynamicInvoker.class, "relink", MethodType.methodType(Object.class, Object[].class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final String methodName;
+	private final Class<?>[] parameterTypes;
+	private final int maxDepth;
+	private final MutableCallSite callSite;
+	private final MethodHandle invoker;
+	private final ClassValue<SpreadingLambda> megamorphicLambdas = new ClassValue<SpreadingLambda>() {
+		@Override
+		protected SpreadingLambda computeValue(Class<?> receiverClass) {
+			return createLambda(receiverClass);
+		}
+	};
+	private final Map<Class<?>, SpreadingLambda> linkedLambdas = new HashMap<>();
+	private int depth;
+	private volatile boolean megamorphic;
+
+	DynamicInvoker(String methodName, Class<?>[] parameterTypes, int maxDepth) {
+		this.methodName = methodName;
+		this.parameterTypes = parameterTypes.clone();
+		this.maxDepth = maxDepth;
+		MethodType type = MethodType.methodType(Object.class, Object[].class);
+		this.callSite = new MutableCallSite(type);
+		this.callSite.setTarget(RELINK.bindTo(this));
+		this.invoker = callSite.dynamicInvoker();
+		this.megamorphic = maxDepth == 0;
+	}
+
+	static int getMaxDepthFromSystemProperties() {
+		return Integer.getInteger(MAX_DEPTH_PROPERTY, DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * Invokes the Method on the receiver.
+	 * @param args The receiver followed by the arguments of the Method. Primitive arguments must be boxed to their exact type.
+	 * @return The value returned by the Method (boxed if primitive), or null if the Method is void.
+	 * @throws NullPointerException if the receiver is null.
+	 * @throws IllegalArgumentException if the receiver's class has no instance method with the invoker's name and parameter types,
+	 * or if the number of arguments does not match the Method.
+	 */
+	@Override
+	public Object invoke(Object... args) {
+		if (megamorphic) {
+			return megamorphicLambdas.get(args[0].getClass()).invoke(args);
+		}
+		try {
+			return (Object) invoker.invokeExact(args);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	public String getMethodName() {
+		return methodName;
+	}
+
+	public Class<?>[] getParameterTypes() {
+		return parameterTypes.clone();
+	}
+
+	/**
+	 * @return The number of receiver classes in the inline cache.
+	 */
+	synchronized int getDepth() {
+		return depth;
+	}
+
+	boolean isMegamorphic() {
+		return megamorphic;
+	}
+
+	/**
+	 * The fallback of the chain, i.e. invoked the first time a receiver class is met:
+	 * links the receiver class's lambda in front of the chain, or turns the invoker megamorphic, if the chain is full.
+	 * Threads racing to the fallback with the same receiver class link it once, i.e. the later threads invoke the lambda linked by the first.
+	 * A megamorphic invoker bypasses the call site, since the chain would only add a number of failing class checks to the table lookup.
+	 */
+	@SuppressWarnings("unused")
+	private Object relink(Object[] args) {
+		Class<?> receiverClass = args[0].getClass();
+		SpreadingLambda lambda;
+		synchronized (this) {
+			lambda = linkedLambdas.get(receiverClass); //Not null if another thread linked the class, while this thread invoked the previous target.
+			if (lambda == null) {
+				if (depth < maxDepth) {
+					lambda = createLambda(receiverClass);
+					linkedLambdas.put(receiverClass, lambda);
+					MethodHandle test = MethodHandles.insertArguments(IS_RECEIVER_OF, 0, receiverClass);
+					MethodHandle target = INVOKE_LAMBDA.bindTo(lambda);
+					callSite.setTarget(MethodHandles.guardWithTest(test, target, callSite.getTarget()));
+					megamorphic = ++depth == maxDepth;
+					if (megamorphic) {
+						FlightRecorderEvents.fallback(resolve(receiverClass), "The DynamicInvoker became megamorphic after " + depth + " receiver classes");
+					}
+				} else {
+					lambda = megamorphicLambdas.get(receiverClass);
+				}
+			}
+		}
+		return lambda.invoke(args);
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean isReceiverOf(Class<?> receiverClass, Object[] args) {
+		return args[0].getClass() == receiverClass;
+	}
+
+	private SpreadingLambda createLambda(Class<?> receiverClass) {
+		try {
+			return LambdaFactory.createSpreading(resolve(receiverClass));
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	/**
+	 * @return The public Method (possibly inherited), or else the most specific Method declared by the receiver class or one of its super classes.
+	 */
+	private Method resolve(Class<?> receiverClass) {
+		try {
+			Method method = receiverClass.getMethod(methodName, parameterTypes);
+			if (!Modifier.isStatic(method.getModifiers())) {
+				return method;
+			}
+		} catch (NoSuchMethodException e) {
+			//Not public, look for a declared method below.
+		}
+		for (Class<?> type = receiverClass; type != null; type = type.getSuperclass()) {
+			try {
+				Method method = type.getDeclaredMethod(methodName, parameterTypes);
+				if (!Modifier.isStatic(method.getModifiers())) {
+					return method;
+				}
+			} catch (NoSuchMethodException e) {
+				//Look in the super class.
+			}
+		}
+		throw new IllegalArgumentException(receiverClass.getName() + " has no instance method " + methodName + Arrays.toString(parameterTypes));
+	}
+
+	@Override
+	public String toString() {
+		return "DynamicInvoker[" + methodName + Arrays.toString(parameterTypes) + "]";
+	}
+
+}
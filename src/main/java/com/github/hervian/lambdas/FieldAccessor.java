@@ -0,0 +1,55 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Field;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Fast access to a Field, created by {@link FieldAccessorFactory#create(Field)}.
+ * <p>
+ * Like the invocation methods of {@link Lambda}, the accessor methods are specialized per type, such that reading and writing
+ * a primitive field never boxes the value: an int field is read with get_for_int and written with set_for_int.
+ * All reference types (including boxed primitives) are accessed via get_for_Object and set_for_Object.
+ * The instance argument is ignored for static fields, i.e. null can be passed.
+ * <p>
+ * Calling an accessor method, which does not match the type of the Field, throws a {@link ClassCastException}, fx get_for_long for an int field.
+ * Writing a final field throws an {@link UnsupportedOperationException}.
+ *
+ * @author Anders Granau Høfft
+ */
+public interface FieldAccessor {
+
+	boolean get_for_boolean(Object instance);
+	char get_for_char(Object instance);
+	byte get_for_byte(Object instance);
+	short get_for_short(Object instance);
+	int get_for_int(Object instance);
+	float get_for_float(Object instance);
+	long get_for_long(Object instance);
+	double get_for_double(Object instance);
+	Object get_for_Object(Object instance);
+
+	void set_for_boolean(Object instance, boolean value);
+	void set_for_char(Object instance, char value);
+	void set_for_byte(Object instance, byte value);
+	void set_for_short(Object instance, short value);
+	void set_for_int(Object instance, int value);
+	void set_for_float(Object instance, float value);
+	void set_for_long(Object instance, long value);
+	void set_for_double(Object instance, double value);
+	void set_for_Object(Object instance, Object value);
+
+}
@@ -0,0 +1,65 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Creates {@link FieldAccessor}s, the field counterpart of the {@link LambdaFactory}.
+ * <p>Example:<br>
+ * Field field = MyClass.class.getDeclaredField("myIntField");<br>
+ * FieldAccessor accessor = FieldAccessorFactory.create(field);<br>
+ * int value = accessor.get_for_int(myInstance);<br>
+ * accessor.set_for_int(myInstance, value+1);<br>
+ *
+ * @author Anders Granau Høfft
+ */
+public class FieldAccessorFactory {
+
+	/**
+	 * FieldAccessors created via {@link #create(Field)} are cached. See {@link LambdaCache}.
+	 */
+	private static final LambdaCache CACHE = LambdaCache.fromSystemProperties();
+
+	/**
+	 * Creates a FieldAccessor with the same access rights as a Field with setAccessible()==true, i.e. private fields are accessible too.
+	 * <p>The created FieldAccessor is cached, just like the Lambdas created by {@link LambdaFactory#create(java.lang.reflect.Method)}.
+	 * @param field The static or instance field to access.
+	 * @return A FieldAccessor, whose get_for_&lt;type&gt; and set_for_&lt;type&gt; methods matching the field's type, read and write the field.
+	 * @throws IllegalAccessException if the module of the field's class does not open the package to lambda.factory.
+	 */
+	public static FieldAccessor create(Field field) throws IllegalAccessException {
+		LambdaCache.Key key = new LambdaCache.Key(field, false, FieldAccessor.class, field.getName());
+		FieldAccessor accessor = CACHE.get(key);
+		if (accessor == null) {
+			accessor = CACHE.putIfAbsent(key, FieldAccessors.create(field, Lookups.privateLookupIn(field.getDeclaringClass())));
+		}
+		return accessor;
+	}
+
+	/**
+	 * Same as {@link #create(Field)}, except that the FieldAccessor has the access rights of the argument provided Lookup. The FieldAccessor is not cached.
+	 * @param field The static or instance field to access.
+	 * @param lookup A Lookup with access to the field, fx MethodHandles.lookup().
+	 * @return A FieldAccessor.
+	 * @throws IllegalAccessException if the lookup does not have access to the field.
+	 */
+	public static FieldAccessor create(Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+		return FieldAccessors.create(field, lookup);
+	}
+
+}
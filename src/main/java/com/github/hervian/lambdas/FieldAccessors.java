@@ -0,0 +1,332 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Creates {@link FieldAccessor}s backed by the getter and setter MethodHandles of a Field.
+ * <p>
+ * The LambdaMetafactory does not support field MethodHandles (it only spins classes that invoke methods and constructors),
+ * so the MethodHandles are adapted once to the types (Object)T and (Object,T)void, where T is the field's type if it is primitive,
+ * and Object otherwise. Static fields get a leading, ignored Object parameter, and the setter of a final field throws an UnsupportedOperationException.
+ * <p>
+ * The LambdaMetafactory only spins classes implementing a single method, so the accessor is an instance of a class spun once, which captures the two MethodHandles,
+ * and whose single method returns one of them via the static {@link #handle(MethodHandle, MethodHandle, boolean)} method. The accessor methods are default methods of
+ * {@link Handles}, which invoke the returned MethodHandle exactly, i.e. they neither box nor allocate.
+ * The MethodHandles are final fields of the spun class, which the JIT trusts as constants, i.e. an accessor held in a constant (fx a static final field)
+ * compiles down to a plain field access.
+ *
+ * @author Anders Granau Høfft
+ */
+final class FieldAccessors {
+
+	private static final MethodHandle FACTORY;
+	private static final MethodHandle THROW_FINAL;
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodType handleType = MethodType.methodType(MethodHandle.class, boolean.class);
+			MethodHandle implementation = lookup.findStatic(FieldAccessors.class, "handle", handleType.insertParameterTypes(0, MethodHandle.class, MethodHandle.class));
+			CallSite site = LambdaMetafactory.metafactory(lookup, "handle", MethodType.methodType(Handles.class, MethodHandle.class, MethodHandle.class), handleType, implementation, handleType);
+			FACTORY = site.getTarget();
+			THROW_FINAL = lookup.findStatic(FieldAccessors.class, "throwFinal", MethodType.methodType(void.class, String.class));
+		} catch (Throwable t) {
+			throw new ExceptionInInitializerError(t);
+		}
+	}
+
+	private FieldAccessors() {}
+
+	/**
+	 * @see FieldAccessorFactory#create(Field, MethodHandles.Lookup)
+	 */
+	static FieldAccessor create(Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+		Class<?> type = field.getType().isPrimitive() ? field.getType() : Object.class;
+		boolean isStatic = Modifier.isStatic(field.getModifiers());
+		MethodHandle getter = adapt(lookup.unreflectGetter(field), isStatic, MethodType.methodType(type, Object.class));
+		MethodHandle setter = Modifier.isFinal(field.getModifiers())
+				? MethodHandles.dropArguments(THROW_FINAL.bindTo(field.toString()), 0, Object.class, type)
+				: adapt(lookup.unreflectSetter(field), isStatic, MethodType.methodType(void.class, Object.class, type));
+		try {
+			return (Handles) FACTORY.invokeExact(getter, setter);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	private static MethodHandle adapt(MethodHandle methodHandle, boolean isStatic, MethodType type) {
+		if (isStatic) {
+			methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+		}
+		return methodHandle.asType(type);
+	}
+
+	@SuppressWarnings("unused")
+	private static MethodHandle handle(MethodHandle getter, MethodHandle setter, boolean isSetter) {
+		return isSetter ? setter : getter;
+	}
+
+	@SuppressWarnings("unused")
+	private static void throwFinal(String fieldName) {
+		throw new UnsupportedOperationException("The field is final: " + fieldName);
+	}
+
+	/**
+	 * The accessor methods, implemented by invoking the MethodHandle returned by the single abstract method, which the spun class implements.
+	 */
+	interface Handles extends FieldAccessor {
+
+		/**
+		 * @return The setter if true, else the getter.
+		 */
+		MethodHandle handle(boolean setter);
+
+		/**
+		 * Translates the exception thrown by an accessor method, which does not match the type of the Field.
+		 */
+		static ClassCastException wrongType(Class<?> type, String accessorMethod, WrongMethodTypeException cause) {
+			String name = type.getSimpleName();
+			ClassCastException exception = new ClassCastException("The field is accessed via get_for_" + name + " and set_for_" + name + ", not via " + accessorMethod + ".");
+			exception.initCause(cause);
+			return exception;
+		}
+
+		@Override
+		default boolean get_for_boolean(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (boolean) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_boolean", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default char get_for_char(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (char) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_char", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default byte get_for_byte(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (byte) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_byte", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default short get_for_short(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (short) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_short", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default int get_for_int(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (int) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_int", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default float get_for_float(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (float) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_float", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default long get_for_long(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (long) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_long", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default double get_for_double(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (double) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_double", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default Object get_for_Object(Object instance) {
+			MethodHandle getter = handle(false);
+			try {
+				return (Object) getter.invokeExact(instance);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(getter.type().returnType(), "get_for_Object", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_boolean(Object instance, boolean value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_boolean", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_char(Object instance, char value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_char", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_byte(Object instance, byte value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_byte", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_short(Object instance, short value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_short", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_int(Object instance, int value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_int", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_float(Object instance, float value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_float", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_long(Object instance, long value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_long", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_double(Object instance, double value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_double", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+
+		@Override
+		default void set_for_Object(Object instance, Object value) {
+			MethodHandle setter = handle(true);
+			try {
+				setter.invokeExact(instance, value);
+			} catch (WrongMethodTypeException e) {
+				throw wrongType(setter.type().parameterType(1), "set_for_Object", e);
+			} catch (Throwable t) {
+				throw Throwables.sneakyThrow(t);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Emits JDK Flight Recorder events about the creation of lambdas:
+ * <ul>
+ * <li>{@value #LAMBDA_CREATED}: a lambda was created (not found in a cache), with the duration of the creation.
+ * <li>{@value #METHOD_REFERENCE_RESOLVED}: a method reference was resolved to a Method (see {@link MethodReferences}), with the duration of the resolution.
+ * <li>{@value #LAMBDA_FALLBACK}: a slower path was taken, fx a SpreadingLambda backed by a MethodHandle, or a megamorphic {@link DynamicInvoker}.
+ * </ul>
+ * The events are disabled by default, and must be enabled in the recording, fx with
+ * <code>-XX:StartFlightRecording:+com.github.hervian.lambdas.LambdaCreated#enabled=true</code>.
+ * <p>
+ * lambda-factory only requires the jdk.jfr module statically. The event classes are nested classes, which are only loaded if the module is present,
+ * i.e. the outer class can be used without it. When the module is absent, or when the event is not enabled, emitting an event costs a constant check.
+ *
+ * @author Anders Granau Høfft
+ */
+final class FlightRecorderEvents {
+
+	static final String LAMBDA_CREATED = "com.github.hervian.lambdas.LambdaCreated";
+	static final String METHOD_REFERENCE_RESOLVED = "com.github.hervian.lambdas.MethodReferenceResolved";
+	static final String LAMBDA_FALLBACK = "com.github.hervian.lambdas.LambdaFallback";
+
+	private static final boolean AVAILABLE = isAvailable();
+
+	private FlightRecorderEvents() {}
+
+	private static boolean isAvailable() {
+		ModuleLayer layer = FlightRecorderEvents.class.getModule().getLayer();
+		return (layer == null ? ModuleLayer.boot() : layer).findModule("jdk.jfr").isPresent();
+	}
+
+	/**
+	 * @return The started event, to be passed to {@link #commitLambdaCreated(Object, Executable, Class, String, boolean)}, or null if it is not enabled.
+	 */
+	static Object beginLambdaCreated() {
+		return AVAILABLE ? Jfr.beginLambdaCreated() : null;
+	}
+
+	static void commitLambdaCreated(Object event, Executable executable, Class<?> interfaceClass, String signatureName, boolean special) {
+		if (event != null) {
+			Jfr.commitLambdaCreated(event, executable, interfaceClass, signatureName, special);
+		}
+	}
+
+	static Object beginMethodReferenceResolved() {
+		return AVAILABLE ? Jfr.beginMethodReferenceResolved() : null;
+	}
+
+	static void commitMethodReferenceResolved(Object event, Class<?> methodReferenceClass, Method method) {
+		if (event != null) {
+			Jfr.commitMethodReferenceResolved(event, methodReferenceClass, method);
+		}
+	}
+
+	static void fallback(Executable executable, String reason) {
+		if (AVAILABLE) {
+			Jfr.fallback(executable, reason);
+		}
+	}
+
+	private static String getDescriptor(Executable executable) {
+		Class<?> returnType = executable instanceof Method ? ((Method) executable).getReturnType() : void.class;
+		String name = executable instanceof Constructor ? "<init>" : executable.getName();
+		return name + MethodType.methodType(returnType, executable.getParameterTypes()).toMethodDescriptorString();
+	}
+
+	/**
+	 * Refers to the jdk.jfr module, i.e. it must only be loaded if the module is present.
+	 */
+	private static final class Jfr {
+
+		static Object beginLambdaCreated() {
+			LambdaCreated event = new LambdaCreated();
+			if (!event.isEnabled()) {
+				return null;
+			}
+			event.begin();
+			return event;
+		}
+
+		static void commitLambdaCreated(Object started, Executable executable, Class<?> interfaceClass, String signatureName, boolean special) {
+			LambdaCreated event = (LambdaCreated) started;
+			event.end();
+			if (event.shouldCommit()) {
+				event.declaringClass = executable.getDeclaringClass();
+				event.method = getDescriptor(executable);
+				event.interfaceClass = interfaceClass;
+				event.signatureName = signatureName;
+				event.special = special;
+				event.commit();
+			}
+		}
+
+		static Object beginMethodReferenceResolved() {
+			MethodReferenceResolved event = new MethodReferenceResolved();
+			if (!event.isEnabled()) {
+				return null;
+			}
+			event.begin();
+			return event;
+		}
+
+		static void commitMethodReferenceResolved(Object started, Class<?> methodReferenceClass, Method method) {
+			MethodReferenceResolved event = (MethodReferenceResolved) started;
+			event.end();
+			if (event.shouldCommit()) {
+				event.methodReferenceClass = methodReferenceClass;
+				event.declaringClass = method.getDeclaringClass();
+				event.method = getDescriptor(method);
+				event.commit();
+			}
+		}
+
+		static void fallback(Executable executable, String reason) {
+			LambdaFallback event = new LambdaFallback();
+			if (event.shouldCommit()) {
+				event.declaringClass = executable.getDeclaringClass();
+				event.method = getDescriptor(executable);
+				event.reason = reason;
+				event.commit();
+			}
+		}
+	}
+
+	@Name(LAMBDA_CREATED)
+	@Label("Lambda Created")
+	@Description("A lambda was spun by the LambdaMetafactory, or found in a precompiled registry, because it was not cached")
+	@Category("Lambda Factory")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class LambdaCreated extends Event {
+		@Label("Declaring Class")
+		Class<?> declaringClass;
+		@Label("Method")
+		String method;
+		@Label("Interface")
+		Class<?> interfaceClass;
+		@Label("Signature Name")
+		String signatureName;
+		@Label("Special")
+		@Description("True if the lambda is not subject to dynamic method dispatch")
+		boolean special;
+	}
+
+	@Name(METHOD_REFERENCE_RESOLVED)
+	@Label("Method Reference Resolved")
+	@Description("A method reference was resolved to a Method via serialization and reflection")
+	@Category("Lambda Factory")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class MethodReferenceResolved extends Event {
+		@Label("Method Reference Class")
+		Class<?> methodReferenceClass;
+		@Label("Declaring Class")
+		Class<?> declaringClass;
+		@Label("Method")
+		String method;
+	}
+
+	@Name(LAMBDA_FALLBACK)
+	@Label("Lambda Fallback")
+	@Description("A slower path than a lambda spun by the LambdaMetafactory was taken")
+	@Category("Lambda Factory")
+	@Enabled(false)
+	@StackTrace(true)
+	static final class LambdaFallback extends Event {
+		@Label("Declaring Class")
+		Class<?> declaringClass;
+		@Label("Method")
+		String method;
+		@Label("Reason")
+		String reason;
+	}
+
+}
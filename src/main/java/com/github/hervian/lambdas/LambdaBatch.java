@@ -0,0 +1,93 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A lambda, which invokes a Method once per element of an input array, and stores the return values in an output array, i.e. outputs[i] = method(inputs[i]).
+ * <p>
+ * Calling a Lambda in a loop costs an interface call per element, which the JIT cannot always inline, and which then prevents loop optimizations.
+ * A LambdaBatch runs the loop itself, with a direct call of the Method inside. The arrays are typed as Object, like in {@link System#arraycopy(Object, int, Object, int, int)},
+ * such that a single interface covers all combinations of primitive and reference types.
+ * <p>
+ * Like the Lambda, the LambdaBatch rethrows any exception thrown by the Method as is, i.e. checked exceptions are not wrapped.
+ * The elements before the failing element have then been stored in the output array.
+ * <p>
+ * Large arrays can be split into ranges, which are applied in parallel, see {@link #applyParallel(Object, Object, Executor, int)}.
+ * The ranges write to the preallocated output array, i.e. there is no allocation per element.
+ *
+ * @see LambdaFactory#createBatch(java.lang.reflect.Method, Object...)
+ * @author Anders Granau Høfft
+ */
+public interface LambdaBatch {
+
+	/**
+	 * Invokes the Method for the elements from index from (inclusive) to index to (exclusive) of the input array.
+	 * @param inputs An array of the type of the Method's parameter, fx a double[] for a Method taking a double, or an Object[] (or a sub type) for a reference type.
+	 * @param outputs An array of the Method's return type, or null if the Method is void. outputs[i] is set to the value returned for inputs[i].
+	 * @throws ClassCastException if an array is not of the Method's parameter or return type.
+	 * @throws IndexOutOfBoundsException if the range is out of the bounds of the input or the output array. Then the Method is not invoked.
+	 * @throws NullPointerException if the input array is null, or if the output array is null and the Method is not void.
+	 */
+	void apply(Object inputs, Object outputs, int from, int to);
+
+	/**
+	 * Invokes the Method for all the elements of the input array, see {@link #apply(Object, Object, int, int)}.
+	 */
+	default void apply(Object inputs, Object outputs) {
+		apply(inputs, outputs, 0, Array.getLength(inputs));
+	}
+
+	/**
+	 * Same as {@link #applyParallel(Object, Object, Executor)} on the common ForkJoinPool.
+	 */
+	default void applyParallel(Object inputs, Object outputs) {
+		applyParallel(inputs, outputs, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #applyParallel(Object, Object, Executor, int)} with the threshold configured with the system property
+	 * {@value LambdaBatches#PARALLEL_THRESHOLD_PROPERTY} (default {@value LambdaBatches#DEFAULT_PARALLEL_THRESHOLD}).
+	 */
+	default void applyParallel(Object inputs, Object outputs, Executor executor) {
+		applyParallel(inputs, outputs, executor, LambdaBatches.PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Invokes the Method for all the elements of the input array, split into ranges, which are applied in parallel and written to the output array.
+	 * The method returns when all ranges have been applied.
+	 * <p>
+	 * On a ForkJoinPool, the array is split recursively into about 4 ranges per thread of the pool (see {@link ForkJoinPool#getParallelism()}),
+	 * and the calling thread takes part in the work, if it is a thread of the pool. On other Executors, fx a fixed thread pool, the ranges are submitted as tasks, whose number
+	 * is based on the number of available processors. A ForkJoinPool of parallelism 1 applies the array sequentially.
+	 * The input array of a Collection of references is fx collection.toArray().
+	 * @param inputs An array of the type of the Method's parameter, see {@link #apply(Object, Object, int, int)}.
+	 * @param outputs An array of the Method's return type, or null if the Method is void. It must not be shorter than the input array.
+	 * @param executor Runs the ranges.
+	 * @param threshold The minimum number of elements in a range, i.e. a shorter input array is applied sequentially by the calling thread.
+	 * Choose it such that a range takes at least some tens of microseconds, fx 8192 elements for a trivial Method.
+	 * @throws IllegalArgumentException if the threshold is not positive.
+	 * @throws IndexOutOfBoundsException if the output array is shorter than the input array. Then the Method is not invoked.
+	 * @throws ClassCastException if an array is not of the Method's parameter or return type.
+	 */
+	default void applyParallel(Object inputs, Object outputs, Executor executor, int threshold) {
+		LambdaBatches.applyParallel(this, inputs, outputs, executor, threshold);
+	}
+
+}
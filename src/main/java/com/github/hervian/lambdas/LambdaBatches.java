@@ -0,0 +1,212 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Creates the {@link LambdaBatch}es, see {@link LambdaFactory#createBatch(Method, Object...)}, and runs them in parallel.
+ * <p>
+ * The LambdaMetafactory only implements an interface by a direct method handle, i.e. it cannot spin a loop around the Method.
+ * Instead the Method (with its leading arguments inserted) is composed with the array accessors into a MethodHandle per element,
+ * (inputs, outputs, i) -&gt; outputs[i] = method(inputs[i]), which {@link MethodHandles#countedLoop(MethodHandle, MethodHandle, MethodHandle, MethodHandle)}
+ * turns into a loop over a range of indices. The LambdaMetafactory implements LambdaBatch by a static method, which captures the loop.
+ * <p>
+ * The captured loop is a final field of the spun class, which the JIT trusts, i.e. if the LambdaBatch is a constant, the JIT inlines the Method into the loop.
+ * Otherwise the loop is invoked via a MethodHandle call per chunk of {@value #CHUNK_SIZE} elements, and the JVM customizes the loop's LambdaForm to the MethodHandle once it is hot,
+ * which also inlines the Method into the loop. That is, the tasks of {@link #applyParallel(LambdaBatch, Object, Object, Executor, int)} run the loop at full speed.
+ * <p>
+ * The spun class does not depend on the Method, i.e. it is spun once, and each LambdaBatch is an instance of it.
+ *
+ * @author Anders Granau Høfft
+ */
+final class LambdaBatches {
+
+	static final String PARALLEL_THRESHOLD_PROPERTY = "lambda.factory.batch.parallelThreshold";
+	static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+	static final int PARALLEL_THRESHOLD = Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD);
+
+	/**
+	 * The number of elements per invocation of the loop. The JVM customizes the loop's LambdaForm, once the loop has been invoked a number of times
+	 * (see -XX:CustomizeThreshold), i.e. a long range is split into chunks, such that the loop is customized while the range is being applied.
+	 */
+	private static final int CHUNK_SIZE = 1024;
+	private static final MethodType ELEMENT_TYPE = MethodType.methodType(void.class, Object.class, Object.class, int.class);
+	private static final MethodType LOOP_TYPE = MethodType.methodType(void.class, Object.class, Object.class, int.class, int.class);
+	private static final MethodHandle FACTORY;
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle implementation = lookup.findStatic(LambdaBatches.class, "apply", LOOP_TYPE.insertParameterTypes(0, MethodHandle.class));
+			CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(LambdaBatch.class, MethodHandle.class), LOOP_TYPE, implementation, LOOP_TYPE);
+			FACTORY = site.getTarget();
+		} catch (Throwable t) {
+			throw new ExceptionInInitializerError(t);
+		}
+	}
+
+	private LambdaBatches() {}
+
+	/**
+	 * @see LambdaFactory#createBatch(Method, Object...)
+	 */
+	static LambdaBatch create(Method method, Object... leadingArguments) throws Throwable {
+		MethodHandle methodHandle = Lookups.privateLookupIn(method.getDeclaringClass()).unreflect(method);
+		MethodType type = methodHandle.type();
+		LambdaFactory.checkLeadingArguments(method, type, leadingArguments);
+		if (type.parameterCount() - leadingArguments.length != 1) {
+			throw new IllegalArgumentException("A batch invokes the Method with one element of the input array, but " + method + " takes " + type.parameterCount()
+					+ (Modifier.isStatic(method.getModifiers()) ? "" : " (the first being the instance)") + " and " + leadingArguments.length + " leading argument(s) were given.");
+		}
+		MethodHandle element = compile(MethodHandles.insertArguments(methodHandle, 0, leadingArguments));
+		//(inputs, outputs, i)void -> (i, inputs, outputs, from, to)void, which is the body of a loop of type (inputs, outputs, from, to)void.
+		MethodHandle body = MethodHandles.permuteArguments(element, LOOP_TYPE.insertParameterTypes(0, int.class), 1, 2, 0);
+		MethodHandle loop = MethodHandles.countedLoop(loopArgument(2), loopArgument(3), null, body);
+		return (LambdaBatch) FACTORY.invokeExact(loop);
+	}
+
+	/**
+	 * @param methodHandle A MethodHandle of type (P)R.
+	 * @return A MethodHandle of type (Object inputs, Object outputs, int i)void, which sets outputs[i] to methodHandle(inputs[i]), or ignores the outputs if R is void.
+	 */
+	private static MethodHandle compile(MethodHandle methodHandle) {
+		Class<?> parameterType = methodHandle.type().parameterType(0);
+		Class<?> returnType = methodHandle.type().returnType();
+		MethodHandle getter = MethodHandles.arrayElementGetter(arrayType(parameterType));
+		MethodHandle invocation = MethodHandles.filterReturnValue(getter.asType(getter.type().changeReturnType(parameterType)), methodHandle);
+		if (returnType == void.class) {
+			return MethodHandles.dropArguments(invocation, 1, Object.class).asType(ELEMENT_TYPE);
+		}
+		MethodHandle setter = MethodHandles.arrayElementSetter(arrayType(returnType));
+		//(outputs, i, inputs, i)void -> (inputs, outputs, i)void
+		MethodHandle store = MethodHandles.collectArguments(setter, 2, invocation.asType(invocation.type().changeReturnType(setter.type().parameterType(2))));
+		Class<?>[] types = store.type().parameterArray();
+		return MethodHandles.permuteArguments(store, MethodType.methodType(void.class, types[2], types[0], int.class), 1, 2, 0, 2).asType(ELEMENT_TYPE);
+	}
+
+	/**
+	 * @return A MethodHandle of type (inputs, outputs, from, to)int, which returns the argument at the index, i.e. from or to.
+	 */
+	private static MethodHandle loopArgument(int index) {
+		List<Class<?>> types = LOOP_TYPE.parameterList();
+		MethodHandle argument = MethodHandles.dropArguments(MethodHandles.identity(int.class), 0, types.subList(0, index));
+		return MethodHandles.dropArguments(argument, index + 1, types.subList(index + 1, types.size()));
+	}
+
+	private static Class<?> arrayType(Class<?> componentType) {
+		return componentType.isPrimitive() ? Array.newInstance(componentType, 0).getClass() : Object[].class;
+	}
+
+	@SuppressWarnings("unused")
+	private static void apply(MethodHandle loop, Object inputs, Object outputs, int from, int to) {
+		Objects.checkFromToIndex(from, to, Array.getLength(inputs));
+		if (outputs != null) {
+			Objects.checkFromToIndex(from, to, Array.getLength(outputs));
+		}
+		try {
+			for (int chunkFrom = from; chunkFrom < to; ) {
+				int chunkTo = to - chunkFrom > CHUNK_SIZE ? chunkFrom + CHUNK_SIZE : to;
+				loop.invokeExact(inputs, outputs, chunkFrom, chunkTo);
+				chunkFrom = chunkTo;
+			}
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	/**
+	 * @see LambdaBatch#applyParallel(Object, Object, Executor, int)
+	 */
+	static void applyParallel(LambdaBatch batch, Object inputs, Object outputs, Executor executor, int threshold) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("The threshold must be positive: " + threshold);
+		}
+		Objects.requireNonNull(executor, "executor");
+		int length = Array.getLength(inputs);
+		if (outputs != null) {
+			Objects.checkFromToIndex(0, length, Array.getLength(outputs));
+		}
+		boolean forkJoin = executor instanceof ForkJoinPool;
+		int parallelism = forkJoin ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+		//Like the parallel operations of java.util.Arrays: about 4 ranges per thread, to balance the load, but no range shorter than the threshold.
+		int rangeSize = Math.max(threshold, length / (parallelism << 2));
+		if (length <= rangeSize || forkJoin && parallelism <= 1) {
+			batch.apply(inputs, outputs, 0, length);
+		} else if (forkJoin) {
+			((ForkJoinPool) executor).invoke(new BatchTask(batch, inputs, outputs, 0, length, rangeSize));
+		} else {
+			List<CompletableFuture<Void>> tasks = new ArrayList<>();
+			for (int from = 0; from < length; from += rangeSize) {
+				int rangeFrom = from;
+				int rangeTo = Math.min(from + rangeSize, length);
+				tasks.add(CompletableFuture.runAsync(() -> batch.apply(inputs, outputs, rangeFrom, rangeTo), executor));
+			}
+			try {
+				CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+			} catch (CompletionException e) {
+				throw Throwables.sneakyThrow(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Splits its range in halves, until the range is no longer than the range size, which it then applies the batch to.
+	 */
+	@SuppressWarnings("serial")
+	private static final class BatchTask extends RecursiveAction {
+		private final LambdaBatch batch;
+		private final Object inputs;
+		private final Object outputs;
+		private final int from;
+		private final int to;
+		private final int rangeSize;
+
+		BatchTask(LambdaBatch batch, Object inputs, Object outputs, int from, int to, int rangeSize) {
+			this.batch = batch;
+			this.inputs = inputs;
+			this.outputs = outputs;
+			this.from = from;
+			this.to = to;
+			this.rangeSize = rangeSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= rangeSize) {
+				batch.apply(inputs, outputs, from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BatchTask(batch, inputs, outputs, from, middle, rangeSize), new BatchTask(batch, inputs, outputs, middle, to, rangeSize));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Member;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A thread safe cache of the lambdas created by the {@link LambdaFactory}.
+ * <p>
+ * The entries are stored in a {@link ClassValue} of the declaring class of the Method, i.e. the cache never holds a strong
+ * reference to a class from the outside. Once the declaring class (and its ClassLoader) becomes unreachable, the cached
+ * lambdas become unreachable too, such that redeployed ClassLoaders can be unloaded.
+ * <br>
+ * Lambdas implementing an interface that is not visible from the declaring class's ClassLoader are never cached, since
+ * such an entry would pin the ClassLoader of the interface for as long as the declaring class is alive.
+ * <p>
+ * The number of entries per declaring class is bounded. When the bound is exceeded the oldest entry is evicted.
+ * The bound can be configured with the system property {@value #MAX_SIZE_PROPERTY}. A value of 0 disables the cache.
+ *
+ * @author Anders Granau Høfft
+ */
+final class LambdaCache {
+
+	static final String MAX_SIZE_PROPERTY = "lambda.factory.cache.size";
+	static final int DEFAULT_MAX_SIZE = 256;
+
+	private final int maxSizePerClass;
+	private final ClassValue<Entries> entries = new ClassValue<Entries>() {
+		@Override
+		protected Entries computeValue(Class<?> declaringClass) {
+			return new Entries();
+		}
+	};
+
+	LambdaCache(int maxSizePerClass) {
+		this.maxSizePerClass = maxSizePerClass;
+	}
+
+	static LambdaCache fromSystemProperties() {
+		return new LambdaCache(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+	}
+
+	boolean isEnabled() {
+		return maxSizePerClass > 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	<T> T get(Key key) {
+		if (!isEnabled()) {
+			return null;
+		}
+		return (T) entries.get(key.declaringClass()).map.get(key);
+	}
+
+	/**
+	 * Caches the lambda, unless another thread has already cached a lambda for the same key.
+	 * @return the lambda that ended up in the cache, i.e. either the argument provided lambda or the one already present.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T putIfAbsent(Key key, T lambda) {
+		if (!isEnabled() || !isVisible(key.interfaceClass, key.declaringClass().getClassLoader())) {
+			return lambda;
+		}
+		Entries classEntries = entries.get(key.declaringClass());
+		Object previous = classEntries.map.putIfAbsent(key, lambda);
+		if (previous != null) {
+			return (T) previous;
+		}
+		classEntries.insertionOrder.add(key);
+		while (classEntries.map.size() > maxSizePerClass) {
+			Key eldest = classEntries.insertionOrder.poll();
+			if (eldest == null) {
+				break;
+			}
+			classEntries.map.remove(eldest);
+		}
+		return lambda;
+	}
+
+	/**
+	 * Removes all lambdas created for methods declared by the argument provided class.
+	 */
+	void invalidate(Class<?> declaringClass) {
+		entries.remove(declaringClass);
+	}
+
+	int size(Class<?> declaringClass) {
+		return entries.get(declaringClass).map.size();
+	}
+
+	private static boolean isVisible(Class<?> interfaceClass, ClassLoader loader) {
+		ClassLoader interfaceLoader = interfaceClass.getClassLoader();
+		if (interfaceLoader == null) {
+			return true;
+		}
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == interfaceLoader) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Entries {
+		private final ConcurrentMap<Key, Object> map = new ConcurrentHashMap<>();
+		private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+	}
+
+	/**
+	 * Identifies a created lambda: the Method (or Constructor or Field), whether it is invoked special (i.e. without dynamic dispatch),
+	 * the interface method which the lambda implements, and the number of leading arguments captured by the lambda, see {@link LambdaFactory#partial(java.lang.reflect.Method, Object...)}.
+	 * The value of a key with bound arguments is the factory of the lambda, rather than the lambda.
+	 */
+	static final class Key {
+		private final Member member;
+		private final boolean special;
+		private final Class<?> interfaceClass;
+		private final String signatureName;
+		private final int numberOfBoundArguments;
+		private final int hashCode;
+
+		Key(Member member, boolean special, Class<?> interfaceClass, String signatureName) {
+			this(member, special, interfaceClass, signatureName, 0);
+		}
+
+		Key(Member member, boolean special, Class<?> interfaceClass, String signatureName, int numberOfBoundArguments) {
+			this.member = member;
+			this.special = special;
+			this.interfaceClass = interfaceClass;
+			this.signatureName = signatureName;
+			this.numberOfBoundArguments = numberOfBoundArguments;
+			this.hashCode = 31 * (31 * (31 * member.hashCode() + signatureName.hashCode()) + numberOfBoundArguments) + (special ? 1 : 0);
+		}
+
+		Class<?> declaringClass() {
+			return member.getDeclaringClass();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return special == other.special
+					&& numberOfBoundArguments == other.numberOfBoundArguments
+					&& interfaceClass == other.interfaceClass
+					&& member.equals(other.member)
+					&& signatureName.equals(other.signatureName);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+}
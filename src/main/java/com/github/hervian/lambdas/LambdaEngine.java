@@ -0,0 +1,72 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Executable;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * An engine, which implements the invocation method of a lambda's interface, fx by spinning a class with the {@link java.lang.invoke.LambdaMetafactory}.
+ * <p>
+ * The library has 3 built-in engines, which trade the cost of creating a lambda, the cost of invoking it, and its footprint:
+ * <ul>
+ * <li>{@value #METAFACTORY}: spins a class per Method with the LambdaMetafactory. The slowest creation, the fastest invocation (a direct call). The default.
+ * <li>{@value #METHOD_HANDLE}: a {@link java.lang.reflect.Proxy} of the interface, which invokes a MethodHandle of the Method.
+ * No class is spun per Method, i.e. a cheap creation, but each invocation boxes its arguments.
+ * <li>{@value #REFLECTION}: a Proxy of the interface, which invokes the Method via reflection. The smallest footprint, and the slowest invocation.
+ * </ul>
+ * A Proxy wraps checked exceptions in an {@link java.lang.reflect.UndeclaredThrowableException}, and cannot implement the Lambda interface itself,
+ * which declares too many methods. Use one of its small super interfaces, fx {@link LambdaFactory#create(java.lang.reflect.Method, Class)} with a Lambda2_int.
+ * <p>
+ * Further engines are discovered with the {@link java.util.ServiceLoader}. The {@link LambdaEnginePolicy} chooses the engine of each lambda.
+ * Engines are used for the lambdas implementing Lambda, its super interfaces or a custom interface (see {@link LambdaFactory#create(java.lang.reflect.Method, Class, String)}),
+ * whereas exact and spreading lambdas are always spun by the LambdaMetafactory.
+ *
+ * @see LambdaFactory#setEnginePolicy(LambdaEnginePolicy)
+ * @author Anders Granau Høfft
+ */
+public interface LambdaEngine {
+
+	String METAFACTORY = "metafactory";
+	String METHOD_HANDLE = "methodhandle";
+	String REFLECTION = "reflection";
+
+	/**
+	 * @return The name, by which the engine is selected, fx with the system property {@value LambdaEnginePolicy#ENGINE_PROPERTY}.
+	 */
+	String getName();
+
+	/**
+	 * @param invokeSpecial true if the lambda must invoke the Method without dynamic dispatch, see {@link LambdaFactory#createSpecial(java.lang.reflect.Method)}.
+	 * @return true if the engine can implement the interface for the Method or Constructor.
+	 */
+	boolean supports(Executable executable, Class<?> interfaceClass, boolean invokeSpecial);
+
+	/**
+	 * Creates the lambda.
+	 * @param executable The Method or Constructor.
+	 * @param lookup A Lookup with private access in the declaring class of the Executable.
+	 * @param methodHandle The MethodHandle of the Executable, unreflected by the Lookup (with unreflectSpecial, if the lambda must not be subject to dynamic dispatch).
+	 * @param interfaceClass The interface, which the lambda implements.
+	 * @param signatureName The name of the interface method, which the lambda implements. Its signature is the type of the MethodHandle,
+	 * with all reference types erased to Object, see {@link java.lang.invoke.MethodType#erase()}.
+	 * @return An instance of the interface.
+	 * @throws Throwable
+	 */
+	<T> T create(Executable executable, MethodHandles.Lookup lookup, MethodHandle methodHandle, Class<T> interfaceClass, String signatureName) throws Throwable;
+
+}
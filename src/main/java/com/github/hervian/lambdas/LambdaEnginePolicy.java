@@ -0,0 +1,79 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Chooses the {@link LambdaEngine}, which creates a lambda.
+ * <p>
+ * The default policy selects the engine named by the system property {@value #ENGINE_PROPERTY} (default {@value LambdaEngine#METAFACTORY}),
+ * when the first lambda is created. An unknown engine name is logged, and the {@value LambdaEngine#METAFACTORY} engine is used instead.
+ * If the selected engine does not support the Method or the interface, the lambda is created by the {@value LambdaEngine#METAFACTORY} engine.
+ * <p>
+ * Note that lambdas are cached regardless of their engine, and that a policy based on the expected number of invocations is provided by
+ * the {@link LazyLambda}, which invokes a MethodHandle until the Method is hot, and then spins a class.
+ *
+ * @see LambdaFactory#setEnginePolicy(LambdaEnginePolicy)
+ * @author Anders Granau Høfft
+ */
+@FunctionalInterface
+public interface LambdaEnginePolicy {
+
+	String ENGINE_PROPERTY = "lambda.factory.engine";
+
+	/**
+	 * @param executable The Method or Constructor.
+	 * @param interfaceClass The interface, which the lambda implements.
+	 * @param engines The built-in engines, followed by the engines discovered by the ServiceLoader.
+	 * @return The engine, or null to use the {@value LambdaEngine#METAFACTORY} engine.
+	 */
+	LambdaEngine select(Executable executable, Class<?> interfaceClass, List<LambdaEngine> engines);
+
+	/**
+	 * @return A policy, which selects the named engine for all lambdas.
+	 * @throws IllegalArgumentException if there is no engine of that name.
+	 */
+	static LambdaEnginePolicy named(String engineName) {
+		LambdaEngine engine = LambdaEngines.find(engineName);
+		return (executable, interfaceClass, engines) -> engine;
+	}
+
+	/**
+	 * @return A policy, which selects the named engine for the Methods and Constructors of up to maxParameterCount parameters (including the instance of a non-static method),
+	 * and the {@value LambdaEngine#METAFACTORY} engine for the others. The Proxy based engines box the arguments, i.e. their cost of invocation grows with the number of parameters.
+	 * @throws IllegalArgumentException if there is no engine of that name.
+	 */
+	static LambdaEnginePolicy byArity(int maxParameterCount, String engineName) {
+		LambdaEngine engine = LambdaEngines.find(engineName);
+		return (executable, interfaceClass, engines) -> {
+			boolean hasInstance = executable instanceof Method && !Modifier.isStatic(executable.getModifiers());
+			return executable.getParameterCount() + (hasInstance ? 1 : 0) <= maxParameterCount ? engine : null;
+		};
+	}
+
+	/**
+	 * @return The default policy, see {@link LambdaEnginePolicy}. If the system property {@value #ENGINE_PROPERTY} names no engine, a warning is logged,
+	 * and the {@value LambdaEngine#METAFACTORY} engine is used.
+	 */
+	static LambdaEnginePolicy fromSystemProperties() {
+		return LambdaEngines.fromSystemProperties();
+	}
+
+}
@@ -0,0 +1,302 @@
+package com.github.hervian.lambdas;
+
+import java.lang.System.Logger.Level;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * The registry of the {@link LambdaEngine}s, and the built-in engines.
+ *
+ * @author Anders Granau Høfft
+ */
+final class LambdaEngines {
+
+	static final LambdaEngine METAFACTORY = new MetafactoryEngine();
+	/** The built-in engines are resolved by name without running the ServiceLoader, i.e. the default policy does not load the providers. */
+	private static final List<LambdaEngine> BUILT_IN = Collections.unmodifiableList(Arrays.asList(METAFACTORY, new MethodHandleEngine(), new ReflectionEngine()));
+	/** The engines given to the policies. The providers are loaded when a policy first reads the list. */
+	private static final List<LambdaEngine> LAZY_ENGINES = new AbstractList<LambdaEngine>() {
+		@Override
+		public LambdaEngine get(int index) {
+			return Engines.ENGINES.get(index);
+		}
+
+		@Override
+		public int size() {
+			return Engines.ENGINES.size();
+		}
+	};
+	private static final System.Logger LOGGER = System.getLogger(LambdaEngines.class.getName());
+	/** Resolved when the first lambda is created, i.e. not when the LambdaFactory class is initialized. */
+	private static volatile LambdaEnginePolicy policy;
+
+	/**
+	 * Whether {@link Proxy} can implement an interface. It cannot implement interfaces with thousands of methods, like the Lambda interface.
+	 */
+	private static final ClassValue<Boolean> PROXYABLE = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> interfaceClass) {
+			try {
+				Proxy.newProxyInstance(interfaceClass.getClassLoader(), new Class<?>[] {interfaceClass}, (proxy, method, args) -> null);
+				return true;
+			} catch (RuntimeException | LinkageError e) {
+				return false;
+			}
+		}
+	};
+
+	private LambdaEngines() {}
+
+	/**
+	 * The providers are loaded when first used, i.e. when an engine, which is not built-in, is looked up by name, or the engines are listed.
+	 * The ServiceLoader does not run when the LambdaFactory class is initialized, nor for the default policy.
+	 */
+	private static final class Engines {
+		static final List<LambdaEngine> ENGINES = loadEngines();
+
+		/**
+		 * A provider, which cannot be loaded or instantiated, is logged and skipped.
+		 */
+		private static List<LambdaEngine> loadEngines() {
+			List<LambdaEngine> engines = new ArrayList<>(BUILT_IN);
+			Iterator<LambdaEngine> providers = ServiceLoader.load(LambdaEngine.class).iterator();
+			while (hasNext(providers)) {
+				try {
+					engines.add(providers.next());
+				} catch (ServiceConfigurationError e) {
+					LOGGER.log(Level.WARNING, "Skipping a LambdaEngine provider, which cannot be instantiated.", e);
+				}
+			}
+			return Collections.unmodifiableList(engines);
+		}
+
+		/**
+		 * The ServiceLoader does not guarantee to find the remaining providers after it failed to locate one, i.e. the loading stops.
+		 */
+		private static boolean hasNext(Iterator<LambdaEngine> providers) {
+			try {
+				return providers.hasNext();
+			} catch (ServiceConfigurationError e) {
+				LOGGER.log(Level.WARNING, "Cannot load the remaining LambdaEngine providers.", e);
+				return false;
+			}
+		}
+	}
+
+	static List<LambdaEngine> getEngines() {
+		return Engines.ENGINES;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if there is no engine of that name.
+	 */
+	static LambdaEngine find(String name) {
+		for (LambdaEngine engine : BUILT_IN) {
+			if (engine.getName().equals(name)) {
+				return engine;
+			}
+		}
+		for (LambdaEngine engine : Engines.ENGINES) {
+			if (engine.getName().equals(name)) {
+				return engine;
+			}
+		}
+		throw new IllegalArgumentException("No LambdaEngine named '" + name + "'. The engines are: " + Engines.ENGINES.stream().map(LambdaEngine::getName).reduce((a, b) -> a + ", " + b).orElse(""));
+	}
+
+	/**
+	 * @return The policy, which selects the engine named by the system property {@value LambdaEnginePolicy#ENGINE_PROPERTY}, or the {@value LambdaEngine#METAFACTORY} engine
+	 * if the property is not set, or names no engine, which is logged.
+	 */
+	static LambdaEnginePolicy fromSystemProperties() {
+		String engineName = System.getProperty(LambdaEnginePolicy.ENGINE_PROPERTY, LambdaEngine.METAFACTORY);
+		try {
+			return LambdaEnginePolicy.named(engineName);
+		} catch (IllegalArgumentException e) {
+			LOGGER.log(Level.WARNING, "Using the " + LambdaEngine.METAFACTORY + " engine, since the system property " + LambdaEnginePolicy.ENGINE_PROPERTY + " is invalid: " + e.getMessage());
+			return LambdaEnginePolicy.named(LambdaEngine.METAFACTORY);
+		}
+	}
+
+	static synchronized void setPolicy(LambdaEnginePolicy policy) {
+		LambdaEngines.policy = Objects.requireNonNull(policy, "policy");
+	}
+
+	private static LambdaEnginePolicy getPolicy() {
+		LambdaEnginePolicy policy = LambdaEngines.policy;
+		if (policy == null) {
+			synchronized (LambdaEngines.class) {
+				policy = LambdaEngines.policy;
+				if (policy == null) {
+					policy = LambdaEngines.policy = fromSystemProperties();
+				}
+			}
+		}
+		return policy;
+	}
+
+	/**
+	 * @return The engine selected by the policy, or the {@value LambdaEngine#METAFACTORY} engine if it selects none, or one which does not support the lambda.
+	 */
+	static LambdaEngine select(Executable executable, Class<?> interfaceClass, boolean invokeSpecial) {
+		LambdaEngine engine = getPolicy().select(executable, interfaceClass, LAZY_ENGINES);
+		return engine != null && engine.supports(executable, interfaceClass, invokeSpecial) ? engine : METAFACTORY;
+	}
+
+	private static final class MetafactoryEngine implements LambdaEngine {
+		@Override
+		public String getName() {
+			return METAFACTORY;
+		}
+
+		@Override
+		public boolean supports(Executable executable, Class<?> interfaceClass, boolean invokeSpecial) {
+			return true;
+		}
+
+		@Override
+		public <T> T create(Executable executable, MethodHandles.Lookup lookup, MethodHandle methodHandle, Class<T> interfaceClass, String signatureName) throws Throwable {
+			MethodType instantiatedMethodType = methodHandle.type();
+			MethodHandle factory = LambdaFactory.createCallSite(signatureName, lookup, methodHandle, instantiatedMethodType, instantiatedMethodType.erase(), interfaceClass).getTarget();
+			return interfaceClass.cast(factory.invoke());
+		}
+	}
+
+	/**
+	 * The base of the engines, which implement the interface by a {@link Proxy}, i.e. by an InvocationHandler, which is given the invoked interface method.
+	 */
+	private abstract static class ProxyEngine implements LambdaEngine {
+		@Override
+		public boolean supports(Executable executable, Class<?> interfaceClass, boolean invokeSpecial) {
+			return PROXYABLE.get(interfaceClass);
+		}
+
+		@Override
+		public <T> T create(Executable executable, MethodHandles.Lookup lookup, MethodHandle methodHandle, Class<T> interfaceClass, String signatureName) throws Throwable {
+			Method implementedMethod = interfaceClass.getMethod(signatureName, methodHandle.type().erase().parameterArray());
+			Invoker invoker = createInvoker(executable, methodHandle);
+			InvocationHandler handler = (proxy, method, args) -> {
+				if (method.equals(implementedMethod)) {
+					return invoker.invoke(args == null ? new Object[0] : args);
+				}
+				switch (method.getName()) {
+				case "equals":
+					return method.getParameterCount() == 1 && proxy == args[0];
+				case "hashCode":
+					return method.getParameterCount() == 0 ? System.identityHashCode(proxy) : invokeUnimplemented(method);
+				case "toString":
+					return method.getParameterCount() == 0 ? getName() + " lambda of " + executable : invokeUnimplemented(method);
+				default:
+					return invokeUnimplemented(method);
+				}
+			};
+			return interfaceClass.cast(Proxy.newProxyInstance(interfaceClass.getClassLoader(), new Class<?>[] {interfaceClass}, handler));
+		}
+
+		/**
+		 * Like a class spun by the LambdaMetafactory, the lambda only implements the interface method matching the Method.
+		 */
+		private static Object invokeUnimplemented(Method method) {
+			throw new AbstractMethodError(method.toString());
+		}
+
+		abstract Invoker createInvoker(Executable executable, MethodHandle methodHandle) throws Throwable;
+	}
+
+	@FunctionalInterface
+	interface Invoker {
+		/**
+		 * @param args The arguments of the interface method, boxed. The first argument is the instance of a non-static method.
+		 */
+		Object invoke(Object[] args) throws Throwable;
+	}
+
+	private static final class MethodHandleEngine extends ProxyEngine {
+		@Override
+		public String getName() {
+			return METHOD_HANDLE;
+		}
+
+		@Override
+		Invoker createInvoker(Executable executable, MethodHandle methodHandle) {
+			MethodHandle spreader = methodHandle.asSpreader(Object[].class, methodHandle.type().parameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+			return args -> (Object) spreader.invokeExact(args);
+		}
+	}
+
+	/**
+	 * Invokes a copy of the Method or Constructor, which is made accessible, i.e. the caller's object is not modified.
+	 * The exceptions thrown by the Method are unwrapped from the InvocationTargetException. Reflection is always subject to dynamic dispatch, i.e. the engine does not support special lambdas.
+	 */
+	private static final class ReflectionEngine extends ProxyEngine {
+		@Override
+		public String getName() {
+			return REFLECTION;
+		}
+
+		@Override
+		public boolean supports(Executable executable, Class<?> interfaceClass, boolean invokeSpecial) {
+			return !invokeSpecial && super.supports(executable, interfaceClass, invokeSpecial);
+		}
+
+		@Override
+		Invoker createInvoker(Executable executable, MethodHandle methodHandle) throws Throwable {
+			Class<?> declaringClass = executable.getDeclaringClass();
+			if (executable instanceof Constructor) {
+				Constructor<?> constructor = declaringClass.getDeclaredConstructor(executable.getParameterTypes());
+				constructor.setAccessible(true);
+				return args -> {
+					try {
+						return constructor.newInstance(args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				};
+			}
+			Method method = declaringClass.getDeclaredMethod(executable.getName(), executable.getParameterTypes());
+			method.setAccessible(true);
+			boolean isStatic = Modifier.isStatic(method.getModifiers());
+			return args -> {
+				try {
+					return isStatic ? method.invoke(null, args) : method.invoke(args[0], Arrays.copyOfRange(args, 1, args.length));
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			};
+		}
+	}
+
+}
@@ -9,8 +9,23 @@ import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 
 
@@ -43,6 +58,20 @@ import java.lang.reflect.Modifier;
  */
 public class LambdaFactory {
 
+	/**
+	 * Lambdas created via the create methods, which do not take a {@link MethodHandles.Lookup} argument, are cached. See {@link LambdaCache}.
+	 */
+	private static final LambdaCache CACHE = LambdaCache.fromSystemProperties();
+
+	/**
+	 * The maximum number of Methods, for which a task of {@link #createAllAsync(Collection, Executor)} creates lambdas.
+	 */
+	static final int BULK_TASK_SIZE = 32;
+
+	static {
+		LambdaProfile.fromSystemProperties();
+	}
+
 	/**
    * <pre>
 	 * Creates a {@link Lambda} from a Method Reference. Don't worry about the many overloaded methods.
@@ -53,48 +82,50 @@ public class LambdaFactory {
    * which allows you to turn Method References of any kind into function objects. @see <a href="https://github.com/Hervian/safety-mirror">The JSON site</a>
    * </pre>
 	 */
-	static <DUMMY> Lambda create(Fun.With0ParamsAndVoid<DUMMY> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <DUMMY> Lambda create(Fun.With0ParamsAndVoid<DUMMY> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1> Lambda create(Fun.With1ParamAndVoid<T1> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1> Lambda create(Fun.With1ParamAndVoid<T1> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2> Lambda create(Fun.With2ParamsAndVoid<T1, T2> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2> Lambda create(Fun.With2ParamsAndVoid<T1, T2> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3> Lambda create(Fun.With3ParamsAndVoid<T1, T2, T3> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3> Lambda create(Fun.With3ParamsAndVoid<T1, T2, T3> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3, T4> Lambda create(Fun.With4ParamsAndVoid<T1, T2, T3, T4> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3, T4> Lambda create(Fun.With4ParamsAndVoid<T1, T2, T3, T4> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3, T4, T5> Lambda create(Fun.With5ParamsAndVoid<T1, T2, T3, T4, T5> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3, T4, T5> Lambda create(Fun.With5ParamsAndVoid<T1, T2, T3, T4, T5> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3, T4, T5, T6> Lambda create(Fun.With6ParamsAndVoid<T1, T2, T3, T4, T5, T6> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3, T4, T5, T6> Lambda create(Fun.With6ParamsAndVoid<T1, T2, T3, T4, T5, T6> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3, T4, T5, T6, T7> Lambda create(Fun.With7ParamsAndVoid<T1, T2, T3, T4, T5, T6, T7> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3, T4, T5, T6, T7> Lambda create(Fun.With7ParamsAndVoid<T1, T2, T3, T4, T5, T6, T7> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3, T4, T5, T6, T7, T8> Lambda create(Fun.With8ParamsAndVoid<T1, T2, T3, T4, T5, T6, T7, T8> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3, T4, T5, T6, T7, T8> Lambda create(Fun.With8ParamsAndVoid<T1, T2, T3, T4, T5, T6, T7, T8> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 	/**
 	 * @see #create(Fun.With0ParamsAndVoid)
 	 */
-	static <T1, T2, T3, T4, T5, T6, T7, T8, T9> Lambda create(Fun.With9ParamsAndVoid<T1, T2, T3, T4, T5, T6, T7, T8, T9> methodRef) throws Throwable { return create(methodRef.toMethod()); }
+	static <T1, T2, T3, T4, T5, T6, T7, T8, T9> Lambda create(Fun.With9ParamsAndVoid<T1, T2, T3, T4, T5, T6, T7, T8, T9> methodRef) throws Throwable { return create(MethodReferences.toMethod(methodRef)); }
 
 	/**
 	 * creates a Lambda with the same access rights as a Method with setAccessible()==true. 
 	 * That is, both private, package, protected and public methods are accessible to the created Lambda.
+	 * <p>The created Lambda is cached, i.e. calling this method repeatedly with the same Method returns the same Lambda.
+	 * The size of the cache (per declaring class) can be configured with the system property <code>lambda.factory.cache.size</code>, where 0 disables the cache.
 	 * @param method A Method object which defines what to invoke.
 	 * @return A dynamically generated class that implements the Lambda interface and the a method that corresponds to the Method. 
 	 * The implementation offers invocation speed similar to that of a direct method invocation.
@@ -119,17 +150,52 @@ public class LambdaFactory {
 	}
 
 	private static Lambda privateCreate(Method method, boolean createSpecial) throws Throwable {
-		Class<?> returnType = method.getReturnType();
-		String signatureName = GenerateLambdaProcessor.getMethodName(returnType.getSimpleName());
+		String signatureName = getSignatureName(method);
 		return createSpecial
 				? createSpecial(method, Lambda.class, signatureName)
 				: create(method, Lambda.class, signatureName);
 	}
 
 	private static Lambda create(Method method, MethodHandles.Lookup lookup, boolean invokeSpecial) throws Throwable {
-		Class<?> returnType = method.getReturnType();
-		String signatureName = GenerateLambdaProcessor.getMethodName(returnType.getSimpleName());
-		return createLambda(method, lookup, Lambda.class, signatureName, invokeSpecial);
+		String signatureName = getSignatureName(method);
+		return (Lambda) createLambda(method, lookup, Lambda.class, signatureName, invokeSpecial, 0);
+	}
+
+	/**
+	 * Similar to {@link #create(Method)}, except that the returned lambda implements one of the small super interfaces of {@link Lambda}, 
+	 * which only contain the invocation methods of a given number of parameters and a given return type, fx {@link Lambda2_int}.
+	 * The generated class thus has a much smaller itable than a generated implementation of the Lambda interface, 
+	 * which makes a difference, when creating thousands of lambdas.
+	 * <p>The number of parameters must include the instance, if the Method is non-static.
+	 * <p>Example:<br>
+	 * Method method = MyClass.class.getDeclaredMethod("myStaticMethod", int.class, int.class);<br>
+	 * Lambda2_int lambda = LambdaFactory.create(method, Lambda2_int.class);<br>
+	 * int result = lambda.invoke_for_int(3, 11);<br>
+	 * @param method A Method object which defines what to invoke.
+	 * @param interfaceClass The interface, which the dynamically generated class shall implement. It must declare the 
+	 * invoke_for_&lt;return-type&gt; method matching the Method.
+	 * @return A dynamically generated implementation of the argument provided interface.
+	 * @throws Throwable
+	 * @see GenerateLambdaProcessor#getInterfaceName(int, String)
+	 */
+	public static <T> T create(Method method, Class<T> interfaceClass) throws Throwable {
+		return create(method, interfaceClass, getSignatureName(method), false);
+	}
+
+	/**
+	 * Same as {@link #create(Method, Class)} except that this method returns a lambda that will <em>not</em> be subject to dynamic method dispatch.
+	 * See {@link #createSpecial(Method)}
+	 * @param method
+	 * @param interfaceClass
+	 * @return
+	 * @throws Throwable
+	 */
+	public static <T> T createSpecial(Method method, Class<T> interfaceClass) throws Throwable {
+		return create(method, interfaceClass, getSignatureName(method), true);
+	}
+
+	static String getSignatureName(Method method) {
+		return GenerateLambdaProcessor.getMethodName(method.getReturnType().getSimpleName());
 	}
 
 	/**
@@ -166,20 +232,783 @@ public class LambdaFactory {
 		return create(method, interfaceClass, signatatureName, true);
 	}
 
-	private static <T> T create(Method method, Class<T> interfaceClass, String signatureName, boolean invokeSpecial) throws Throwable {
-		MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
-		return createLambda(method, lookup, interfaceClass, signatureName, invokeSpecial);
+	/**
+	 * Creates a {@link SpreadingLambda}, which takes the Method's arguments as an array.
+	 * Use it for Methods with more parameters than the {@link Lambda} interface supports.
+	 * <p>Example:<br>
+	 * Method method = MyClass.class.getDeclaredMethod("myStaticMethod", int.class, String.class, long.class, long.class, Object.class);<br>
+	 * SpreadingLambda lambda = LambdaFactory.createSpreading(method);<br>
+	 * Object result = lambda.invoke(1, "a", 2L, 3L, null);<br>
+	 * <p>
+	 * The SpreadingLambda is cached like the Lambda, see {@link #create(Method)}.
+	 * @param method A Method object which defines what to invoke.
+	 * @return A SpreadingLambda, which invokes the Method, subject to dynamic method dispatch.
+	 * @throws Throwable
+	 */
+	public static SpreadingLambda createSpreading(Method method) throws Throwable {
+		return createSpreading(method, false);
+	}
+
+	/**
+	 * Same as {@link #createSpreading(Method)} except that this method returns a SpreadingLambda that will <em>not</em> be subject to dynamic method dispatch.
+	 * See {@link #createSpecial(Method)}
+	 * @param method
+	 * @return
+	 * @throws Throwable
+	 */
+	public static SpreadingLambda createSpreadingSpecial(Method method) throws Throwable {
+		return createSpreading(method, true);
+	}
+
+	/**
+	 * Creates a Lambda, which invokes the argument provided Constructor, i.e. creates a new instance.
+	 * The Lambda is invoked via invoke_for_Object, with the Constructor's arguments.
+	 * <p>Example:<br>
+	 * Constructor&lt;MyClass&gt; constructor = MyClass.class.getDeclaredConstructor(int.class, String.class);<br>
+	 * Lambda lambda = LambdaFactory.create(constructor);<br>
+	 * MyClass instance = (MyClass) lambda.invoke_for_Object(42, "text");<br>
+	 * <p>
+	 * Like {@link #create(Method)}, private Constructors are accessible, and the Lambda is cached.
+	 * @param constructor A Constructor object which defines what to invoke.
+	 * @return A dynamically generated implementation of the Lambda interface, which creates instances at a speed similar to the new operator.
+	 * @throws Throwable
+	 */
+	public static Lambda create(Constructor<?> constructor) throws Throwable {
+		return create(constructor, Lambda.class, getSignatureName(constructor), false);
+	}
+
+	/**
+	 * Same as {@link #create(Constructor)}, except that the returned lambda implements one of the small super interfaces of {@link Lambda},
+	 * namely Lambda&lt;number-of-parameters&gt;_Object, fx {@link Lambda2_Object}. See {@link #create(Method, Class)}.
+	 * @param constructor A Constructor object which defines what to invoke.
+	 * @param interfaceClass The interface, which the dynamically generated class shall implement.
+	 * @return A dynamically generated implementation of the argument provided interface.
+	 * @throws Throwable
+	 */
+	public static <T> T create(Constructor<?> constructor, Class<T> interfaceClass) throws Throwable {
+		return create(constructor, interfaceClass, getSignatureName(constructor), false);
+	}
+
+	/**
+	 * Same as {@link #create(Method, Class, String)}, but for a Constructor, fx:<br>
+	 * Supplier&lt;MyClass&gt; supplier = LambdaFactory.create(MyClass.class.getDeclaredConstructor(), Supplier.class, "get");
+	 * @param constructor A Constructor object which defines what to invoke.
+	 * @param interfaceClass The interface, which the dynamically generated class shall implement.
+	 * @param signatatureName The name of an abstract method from the interface, which the dynamically create class shall implement.
+	 * @return A dynamically generated implementation of the argument provided interface.
+	 * @throws Throwable
+	 */
+	public static <T> T create(Constructor<?> constructor, Class<T> interfaceClass, String signatatureName) throws Throwable {
+		return create(constructor, interfaceClass, signatatureName, false);
+	}
+
+	/**
+	 * Same as {@link #createSpreading(Method)}, but for a Constructor with any number of parameters.
+	 * @param constructor A Constructor object which defines what to invoke.
+	 * @return A SpreadingLambda, which returns a new instance.
+	 * @throws Throwable
+	 */
+	public static SpreadingLambda createSpreading(Constructor<?> constructor) throws Throwable {
+		return createSpreading(constructor, false);
+	}
+
+	/**
+	 * Creates a Lambda, which invokes the instance method on the argument provided receiver, i.e. the receiver is captured at creation time
+	 * and the Lambda's invocation method only takes the Method's parameters.
+	 * <p>Example:<br>
+	 * Lambda handler = LambdaFactory.bind(MyService.class.getDeclaredMethod("handle", String.class), myService);<br>
+	 * handler.invoke_for_void("event"); //Rather than invoke_for_void(myService, "event")
+	 * <p>Compared to {@link #create(Method)}, the receiver is neither passed nor cast per invocation.
+	 * The Lambda interface declares the signatures with 4 parameters for instance methods only (the first parameter being an Object),
+	 * whereas a bound Lambda uses the signatures of up to 3 parameters of any type.
+	 * The class spun for the Method is cached, i.e. binding the Method to other receivers only allocates a new Lambda.
+	 * @param method An instance method.
+	 * @param receiver The instance, on which the Method is invoked, subject to dynamic method dispatch.
+	 * @return A Lambda, whose invocation method takes the Method's parameters.
+	 * @throws IllegalArgumentException if the Method is static, or if the receiver is null or not an instance of the Method's declaring class.
+	 */
+	public static Lambda bind(Method method, Object receiver) throws Throwable {
+		return bind(method, receiver, Lambda.class);
 	}
 
-	private static <T> T createLambda(Method method, MethodHandles.Lookup lookup, Class<T> interfaceClass, String signatatureName, boolean createSpecial) throws Throwable {
-		lookup = lookup.in(method.getDeclaringClass());
-		return privateCreateLambda(method, lookup, interfaceClass, signatatureName, createSpecial);
+	/**
+	 * Same as {@link #bind(Method, Object)}, except that the lambda implements the argument provided interface, fx one of the small super interfaces of Lambda.
+	 * @see #create(Method, Class)
+	 */
+	public static <T> T bind(Method method, Object receiver, Class<T> interfaceClass) throws Throwable {
+		if (Modifier.isStatic(method.getModifiers())) {
+			throw new IllegalArgumentException("Only instance methods can be bound to a receiver: " + method);
+		}
+		return partialAs(method, interfaceClass, receiver);
 	}
 
+	/**
+	 * Partial application: creates a Lambda, which invokes the Method with the argument provided leading arguments, followed by the arguments of the invocation method.
+	 * The leading arguments are captured at creation time. For an instance method the first leading argument is the receiver, see {@link #bind(Method, Object)}.
+	 * <p>Example:<br>
+	 * Method method = MyClass.class.getDeclaredMethod("log", String.class, String.class);<br>
+	 * Lambda warn = LambdaFactory.partial(method, "WARN");<br>
+	 * warn.invoke_for_void("Disk almost full"); //Invokes log("WARN", "Disk almost full")
+	 * @param method A Method object which defines what to invoke.
+	 * @param leadingArguments The leading arguments, boxed if primitive.
+	 * @return A Lambda, whose invocation method takes the remaining parameters of the Method.
+	 * @throws IllegalArgumentException if there are more leading arguments than parameters, or if an argument does not match the type of its parameter.
+	 */
+	public static Lambda partial(Method method, Object... leadingArguments) throws Throwable {
+		return partialAs(method, Lambda.class, leadingArguments);
+	}
+
+	/**
+	 * Same as {@link #partial(Method, Object...)}, except that the lambda implements the argument provided interface, fx one of the small super interfaces of Lambda.
+	 * @see #create(Method, Class)
+	 */
+	public static <T> T partialAs(Method method, Class<T> interfaceClass, Object... leadingArguments) throws Throwable {
+		MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+		checkLeadingArguments(method, Modifier.isStatic(method.getModifiers()) ? type : type.insertParameterTypes(0, method.getDeclaringClass()), leadingArguments);
+		if (leadingArguments.length == 0) {
+			return create(method, interfaceClass, getSignatureName(method), false);
+		}
+		MethodHandle factory = getPartialFactory(method, interfaceClass, getSignatureName(method), leadingArguments.length);
+		return interfaceClass.cast(factory.invokeWithArguments(leadingArguments));
+	}
+
+	/**
+	 * @return The factory of the lambda, whose spun class captures the leading arguments, i.e. a MethodHandle taking the leading arguments and returning the lambda.
+	 */
+	static MethodHandle getPartialFactory(Method method, Class<?> interfaceClass, String signatureName, int numberOfBoundArguments) throws Throwable {
+		return (MethodHandle) create(method, interfaceClass, signatureName, false, numberOfBoundArguments, CACHE, null);
+	}
+
+	/**
+	 * @param type The type of the Method's MethodHandle, i.e. including the instance of a non-static method.
+	 * @throws IllegalArgumentException if there are more leading arguments than parameters, or if an argument does not match the type of its parameter.
+	 */
+	static void checkLeadingArguments(Method method, MethodType type, Object[] leadingArguments) {
+		if (leadingArguments.length > type.parameterCount()) {
+			throw new IllegalArgumentException(leadingArguments.length + " leading argument(s) given, but " + method + " takes " + type.parameterCount()
+					+ (Modifier.isStatic(method.getModifiers()) ? "." : " (the first being the instance)."));
+		}
+		for (int i = 0; i < leadingArguments.length; i++) {
+			Class<?> parameterType = type.parameterType(i);
+			Object argument = leadingArguments[i];
+			boolean isReceiver = i == 0 && !Modifier.isStatic(method.getModifiers());
+			if (argument == null ? parameterType.isPrimitive() || isReceiver : !type.wrap().parameterType(i).isInstance(argument)) {
+				throw new IllegalArgumentException("Leading argument " + (i+1) + " (" + argument + ") is not " + (isReceiver ? "a receiver of type " : "of type ") + parameterType.getName() + ": " + method);
+			}
+		}
+	}
+
+	/**
+	 * Creates a {@link LambdaBatch}, which invokes the Method once per element of an input array, and stores the return values in an output array.
+	 * The leading arguments are bound as by {@link #partial(Method, Object...)}, and the single remaining parameter
+	 * (or the instance of a non-static method without parameters) is taken from the input array.
+	 * <p>Example:<br>
+	 * LambdaBatch scale = LambdaFactory.createBatch(MyClass.class.getDeclaredMethod("scale", double.class));<br>
+	 * scale.apply(inputs, outputs); //outputs[i] = scale(inputs[i]), for double[] inputs and outputs<br>
+	 * LambdaBatch prices = LambdaFactory.createBatch(Order.class.getDeclaredMethod("getPrice"));<br>
+	 * prices.apply(orders, outputs); //outputs[i] = orders[i].getPrice()<br>
+	 * <p>The loop runs inside the batch, i.e. the Method is invoked directly rather than via an interface method per element,
+	 * and the JIT inlines the Method into the loop, and compiles them as a unit. Large arrays can be applied in parallel, see {@link LambdaBatch#applyParallel(Object, Object)}.
+	 * <p>The batch is not cached.
+	 * @param method A Method object which defines what to invoke.
+	 * @param leadingArguments The leading arguments, boxed if primitive, see {@link #partial(Method, Object...)}.
+	 * @return A LambdaBatch, whose input array has the type of the remaining parameter (Object[] or a sub type for reference types),
+	 * and whose output array has the Method's return type (Object[] or a sub type for reference types). The output array of a void Method is ignored.
+	 * @throws IllegalArgumentException if the leading arguments do not leave exactly one parameter, or if an argument does not match the type of its parameter.
+	 * @throws IllegalAccessException if the Method's class is not accessible, see {@link Lookups#privateLookupIn(Class)}.
+	 */
+	public static LambdaBatch createBatch(Method method, Object... leadingArguments) throws Throwable {
+		return LambdaBatches.create(method, leadingArguments);
+	}
+
+	/**
+	 * Compiles a property path, fx "customer.address.zip", into a single lambda, which implements the invoke_for_&lt;type&gt;(Object root) method of the interface.
+	 * <p>Each property is resolved once in the declared type of the previous property, as a getter (getZip() or isZip()), an accessor (zip()) or a field (zip),
+	 * regardless of its access modifier. If the root or an intermediate value is null, the lambda returns null, or the default value of a primitive type.
+	 * <p>Example:<br>
+	 * Lambda1_Object zip = LambdaFactory.createPath(Order.class, "customer.address.zip", Lambda1_Object.class);<br>
+	 * Object value = zip.invoke_for_Object(order);<br>
+	 * <p>The lambda is not cached. Store it in a static final field, which allows the JIT to inline the whole path.
+	 * @param rootType The declared type of the root object.
+	 * @param path The dot separated properties.
+	 * @param interfaceClass The interface, which declares the invoke_for_&lt;type&gt;(Object) method, where type is the type of the last property if it is primitive, and Object otherwise.
+	 * Typically Lambda1_&lt;type&gt;, see {@link GenerateLambdaProcessor#getInterfaceName(int, String)}.
+	 * @return A lambda, which evaluates the path.
+	 * @throws IllegalArgumentException if a property cannot be resolved, or if the interface does not declare the method.
+	 * @throws IllegalAccessException if a class of the path is not accessible, see {@link Lookups#privateLookupIn(Class)}.
+	 */
+	public static <T> T createPath(Class<?> rootType, String path, Class<T> interfaceClass) throws Throwable {
+		return PropertyPaths.create(rootType, path, interfaceClass);
+	}
+
+	/**
+	 * Creates a {@link LazyLambda}, i.e. a SpreadingLambda, which invokes the Method via a MethodHandle, until it has been invoked
+	 * more times than the threshold configured with the system property {@value LazyLambda#THRESHOLD_PROPERTY} (default {@value LazyLambda#DEFAULT_THRESHOLD}).
+	 * Then it spins the lambda, see {@link #createSpreading(Method)}.
+	 * <p>
+	 * Use it for Methods, which may never (or only rarely) be invoked, fx when registering thousands of Methods at startup.
+	 * Creating a LazyLambda does not spin a class, and is much cheaper than creating a lambda.
+	 * <p>The LazyLambda is not cached, but the lambda it inflates to is.
+	 * @param method A Method object which defines what to invoke.
+	 * @return A new LazyLambda, which invokes the Method, subject to dynamic method dispatch.
+	 * @throws IllegalAccessException if the Method is not accessible, see {@link Lookups#privateLookupIn(Class)}.
+	 */
+	public static LazyLambda createLazy(Method method) throws IllegalAccessException {
+		return createLazy(method, LazyLambda.getThresholdFromSystemProperties());
+	}
+
+	/**
+	 * Same as {@link #createLazy(Method)}, but with the given threshold.
+	 * @param method
+	 * @param threshold The number of invocations dispatched through a MethodHandle, before the lambda is spun.
+	 * @return
+	 * @throws IllegalAccessException
+	 */
+	public static LazyLambda createLazy(Method method, int threshold) throws IllegalAccessException {
+		return createLazy(method, threshold, false);
+	}
+
+	/**
+	 * Same as {@link #createLazy(Method)} except that the LazyLambda will <em>not</em> be subject to dynamic method dispatch. See {@link #createSpecial(Method)}.
+	 * @param method
+	 * @return
+	 * @throws IllegalAccessException
+	 */
+	public static LazyLambda createLazySpecial(Method method) throws IllegalAccessException {
+		return createLazy(method, LazyLambda.getThresholdFromSystemProperties(), true);
+	}
+
+	/**
+	 * Same as {@link #createLazy(Method)}, but for a Constructor.
+	 * @param constructor
+	 * @return
+	 * @throws IllegalAccessException
+	 */
+	public static LazyLambda createLazy(Constructor<?> constructor) throws IllegalAccessException {
+		return createLazy(constructor, LazyLambda.getThresholdFromSystemProperties(), false);
+	}
+
+	private static LazyLambda createLazy(Executable executable, int threshold, boolean invokeSpecial) throws IllegalAccessException {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("The threshold must not be negative: " + threshold);
+		}
+		MethodHandles.Lookup lookup = Lookups.privateLookupIn(executable.getDeclaringClass());
+		return new LazyLambda(executable, unreflect(executable, lookup, invokeSpecial), invokeSpecial, threshold);
+	}
+
+	/**
+	 * Same as {@link #createLazy(Method)}, except that the lazy lambda implements the argument provided interface, fx {@link Lambda} or one of its small super interfaces,
+	 * rather than SpreadingLambda, i.e. it is invoked without an argument array and without boxing.
+	 * <p>
+	 * The lazy lambda is an instance of a class, which is spun once per interface method (rather than per Method), and which invokes a {@link java.lang.invoke.MutableCallSite}.
+	 * The call site targets the Method's MethodHandle, until the lambda has been invoked more times than the threshold.
+	 * Then it is retargeted to the lambda created via {@link #create(Method, Class)}, i.e. a lazy lambda held in a static final field is invoked at the speed of a direct call.
+	 * @param method A Method object which defines what to invoke.
+	 * @param interfaceClass The interface, whose invoke_for_&lt;type&gt; method matches the Method, see {@link #create(Method, Class)}.
+	 * @return A new lazy lambda, which invokes the Method, subject to dynamic method dispatch.
+	 * @throws IllegalAccessException if the Method is not accessible, see {@link Lookups#privateLookupIn(Class)}.
+	 */
+	public static <T> T createLazy(Method method, Class<T> interfaceClass) throws Throwable {
+		return createLazy(method, interfaceClass, LazyLambda.getThresholdFromSystemProperties());
+	}
+
+	/**
+	 * Same as {@link #createLazy(Method, Class)}, but with the given threshold.
+	 * @param threshold The number of invocations dispatched through a MethodHandle, before the lambda is spun.
+	 */
+	public static <T> T createLazy(Method method, Class<T> interfaceClass, int threshold) throws Throwable {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("The threshold must not be negative: " + threshold);
+		}
+		MethodHandles.Lookup lookup = Lookups.privateLookupIn(method.getDeclaringClass());
+		return LazyLambdas.create(method, unreflect(method, lookup, false), interfaceClass, getSignatureName(method), threshold);
+	}
+
+	static String getSignatureName(Constructor<?> constructor) {
+		return GenerateLambdaProcessor.getMethodName(Object.class.getSimpleName());
+	}
+
+	/**
+	 * Creates lambdas for all the methods declared by the argument provided class, which are accepted by the filter, in one pass.
+	 * <p>
+	 * Rather than implementing the Lambda interface, each lambda implements the small super interface matching its Method, fx Lambda1_Object
+	 * for a getter (see {@link #create(Method, Class)}). Spinning these is orders of magnitude faster, and takes up less metaspace,
+	 * than spinning implementations of the Lambda interface. Methods with more parameters than these interfaces support get a {@link SpreadingLambda}.
+	 * Bridge and synthetic methods are skipped.
+	 * <p>Example:<br>
+	 * LambdaTable table = LambdaFactory.createAll(MyBean.class, MethodFilters.getters());<br>
+	 * int index = table.indexOf("getName");<br>
+	 * String name = (String) table.get(index, Lambda1_Object.class).invoke_for_Object(myBean);<br>
+	 * <p>
+	 * The lambdas are cached individually, just like the lambdas created by {@link #create(Method, Class)}.
+	 * @param type The class, whose declared methods shall be accessed. Inherited methods are not included.
+	 * @param filter Selects the methods, fx {@link MethodFilters#getters()}.
+	 * @return The lambdas, indexed by the sorted position of their Method.
+	 * @throws Throwable
+	 */
+	public static LambdaTable createAll(Class<?> type, Predicate<? super Method> filter) throws Throwable {
+		Method[] methods = Arrays.stream(type.getDeclaredMethods())
+				.filter(method -> !method.isBridge() && !method.isSynthetic())
+				.filter(filter)
+				.sorted(Comparator.comparing(Method::getName).thenComparing(method -> Arrays.toString(method.getParameterTypes())))
+				.toArray(Method[]::new);
+		Object[] lambdas = new Object[methods.length];
+		for (int i = 0; i < methods.length; i++) {
+			lambdas[i] = createTableEntry(methods[i]);
+		}
+		return new LambdaTable(methods, lambdas);
+	}
+
+	/**
+	 * Creates lambdas for the argument provided Methods in parallel, on the common ForkJoinPool.
+	 * @see #createAllAsync(Collection, Executor)
+	 * @param methods
+	 * @return The lambdas, indexed by the position of their Method in the Collection.
+	 * @throws Throwable The failure of the first Method, for which no lambda could be created.
+	 */
+	public static LambdaTable createAll(Collection<Method> methods) throws Throwable {
+		return createAll(methods, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates lambdas for the argument provided Methods in parallel, on the argument provided Executor, and waits for them.
+	 * @see #createAllAsync(Collection, Executor)
+	 * @param methods
+	 * @param executor
+	 * @return The lambdas, indexed by the position of their Method in the Collection.
+	 * @throws Throwable The failure of the first Method, for which no lambda could be created.
+	 */
+	public static LambdaTable createAll(Collection<Method> methods, Executor executor) throws Throwable {
+		try {
+			return createAllAsync(methods, executor).join();
+		} catch (CompletionException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Creates lambdas for the argument provided Methods in parallel, fx for the several thousand Methods accessed by an application at startup.
+	 * <p>
+	 * The Methods are grouped by declaring class, and each group is split into tasks of up to {@value #BULK_TASK_SIZE} Methods,
+	 * which are run on the argument provided Executor, fx a ForkJoinPool, or an Executor of virtual threads.
+	 * The classes spun for a given declaring class (which are all defined as nestmates of that class) are thus mostly defined by the same thread.
+	 * <p>
+	 * Like {@link #createAll(Class, Predicate)}, each lambda implements the small super interface of {@link Lambda} matching its Method,
+	 * or {@link SpreadingLambda}. The lambdas are cached individually.
+	 * @param methods The Methods. A Method may occur more than once.
+	 * @param executor Runs the tasks.
+	 * @return A future of the lambdas, indexed by the position of their Method in the Collection. The future completes exceptionally
+	 * (with a CompletionException, whose cause is the failure) if the lambda of any Method could not be created.
+	 */
+	public static CompletableFuture<LambdaTable> createAllAsync(Collection<Method> methods, Executor executor) {
+		Method[] methodArray = methods.toArray(new Method[0]);
+		Object[] lambdas = new Object[methodArray.length];
+		Map<Class<?>, List<Integer>> indicesByDeclaringClass = new LinkedHashMap<>();
+		for (int i = 0; i < methodArray.length; i++) {
+			indicesByDeclaringClass.computeIfAbsent(methodArray[i].getDeclaringClass(), declaringClass -> new ArrayList<>()).add(i);
+		}
+		List<CompletableFuture<Void>> tasks = new ArrayList<>();
+		for (List<Integer> indices : indicesByDeclaringClass.values()) {
+			for (int from = 0; from < indices.size(); from += BULK_TASK_SIZE) {
+				List<Integer> task = indices.subList(from, Math.min(from + BULK_TASK_SIZE, indices.size()));
+				tasks.add(CompletableFuture.runAsync(() -> {
+					try {
+						for (int index : task) {
+							lambdas[index] = createTableEntry(methodArray[index]);
+						}
+					} catch (Throwable t) {
+						throw new CompletionException(t);
+					}
+				}, executor));
+			}
+		}
+		return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+				.thenApply(done -> new LambdaTable(methodArray, lambdas));
+	}
+
+	/**
+	 * @return A lambda implementing the super interface of Lambda matching the Method, or a SpreadingLambda.
+	 */
+	private static Object createTableEntry(Method method) throws Throwable {
+		Class<?> interfaceClass = getLambdaSubInterface(method);
+		return interfaceClass == null ? createSpreading(method) : create(method, interfaceClass);
+	}
+
+	/**
+	 * Sets the policy, which chooses the {@link LambdaEngine} of the lambdas created from now on. Lambdas already in the cache are not recreated.
+	 * <p>Example:<br>
+	 * LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.METHOD_HANDLE)); //Cheap creation, slower invocation<br>
+	 * @param policy The policy. The default policy selects the engine named by the system property {@value LambdaEnginePolicy#ENGINE_PROPERTY}.
+	 */
+	public static void setEnginePolicy(LambdaEnginePolicy policy) {
+		LambdaEngines.setPolicy(policy);
+	}
+
+	/**
+	 * @return The built-in engines, followed by the engines discovered by the {@link java.util.ServiceLoader}.
+	 */
+	public static List<LambdaEngine> getEngines() {
+		return LambdaEngines.getEngines();
+	}
+
+	/**
+	 * Registers a listener, which is notified about the lambdas created, fx a {@link LambdaFactoryStatistics}.
+	 * @param listener
+	 */
+	public static void addListener(LambdaFactoryListener listener) {
+		Listeners.add(listener);
+	}
+
+	/**
+	 * @param listener
+	 * @return true if the listener was registered.
+	 */
+	public static boolean removeListener(LambdaFactoryListener listener) {
+		return Listeners.remove(listener);
+	}
+
+	/**
+	 * Opens a scope, which owns the lambdas created through it, and which releases them, when closed. See {@link LambdaScope}.
+	 * @return A new, open scope.
+	 */
+	public static LambdaScope openScope() {
+		return new LambdaScope(null);
+	}
+
+	/**
+	 * Same as {@link #openScope()}, but the lambdas are created with private Lookups obtained from the argument provided Lookup,
+	 * rather than from lambda-factory's own Lookup.
+	 * <p>
+	 * This is required for classes in another module than lambda-factory, which includes classes loaded by another ClassLoader,
+	 * fx a plugin's ClassLoader: the LambdaMetafactory only accepts a Lookup with full privilege access, which lambda-factory cannot obtain
+	 * for a class in another module. The plugin can hand out such a Lookup, fx via a method returning <code>MethodHandles.lookup()</code>.
+	 * @param lookup A Lookup with full privilege access, i.e. with the {@link MethodHandles.Lookup#PRIVATE} and {@link MethodHandles.Lookup#MODULE} modes,
+	 * in a class in the same module as the Methods' declaring classes.
+	 * @return A new, open scope.
+	 */
+	public static LambdaScope openScope(MethodHandles.Lookup lookup) {
+		int fullPrivilegeAccess = MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.MODULE; //Lookup.hasFullPrivilegeAccess() requires Java 14.
+		if ((lookup.lookupModes() & fullPrivilegeAccess) != fullPrivilegeAccess) {
+			throw new IllegalArgumentException("The Lookup must have full privilege access: " + lookup);
+		}
+		return new LambdaScope(lookup);
+	}
+
+	/**
+	 * Creates an invoker of the instance method with the given name and parameter types, which can be invoked on receivers of any class declaring such a method.
+	 * <p>Example:<br>
+	 * DynamicInvoker getPriority = LambdaFactory.createDynamic("getPriority");<br>
+	 * int priority = (Integer) getPriority.invoke(rule);<br>
+	 * <p>
+	 * The lambdas of the receiver classes are kept in an inline cache, whose maximum depth is configured with the system property
+	 * {@value DynamicInvoker#MAX_DEPTH_PROPERTY} (default {@value DynamicInvoker#DEFAULT_MAX_DEPTH}). See {@link DynamicInvoker}.
+	 * @param methodName The name of the Method.
+	 * @param parameterTypes The parameter types of the Method, excluding the receiver.
+	 * @return A new invoker. Create it once and reuse it, since the inline cache belongs to the invoker.
+	 */
+	public static DynamicInvoker createDynamic(String methodName, Class<?>... parameterTypes) {
+		return createDynamic(DynamicInvoker.getMaxDepthFromSystemProperties(), methodName, parameterTypes);
+	}
+
+	/**
+	 * Same as {@link #createDynamic(String, Class...)}, but with the given maximum depth of the inline cache.
+	 * @param maxPolymorphicDepth The number of receiver classes, whose lambdas are linked into the invoker. Further receiver classes are looked up in a table.
+	 * @param methodName
+	 * @param parameterTypes
+	 * @return
+	 */
+	public static DynamicInvoker createDynamic(int maxPolymorphicDepth, String methodName, Class<?>... parameterTypes) {
+		if (maxPolymorphicDepth < 0) {
+			throw new IllegalArgumentException("The maximum polymorphic depth must not be negative: " + maxPolymorphicDepth);
+		}
+		return new DynamicInvoker(methodName, parameterTypes, maxPolymorphicDepth);
+	}
+
+	/**
+	 * @return The super interface of Lambda, which declares the invocation method of the argument provided Method, or null if none of them do.
+	 */
+	private static Class<?> getLambdaSubInterface(Method method) {
+		MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+		if (!Modifier.isStatic(method.getModifiers())) {
+			type = type.insertParameterTypes(0, Object.class);
+		}
+		String name = GenerateLambdaProcessor.getInterfaceName(type.parameterCount(), method.getReturnType().getSimpleName());
+		try {
+			Class<?> interfaceClass = Class.forName(Lambda.class.getPackageName() + "." + name, false, Lambda.class.getClassLoader());
+			interfaceClass.getMethod(getSignatureName(method), type.erase().parameterArray());
+			return interfaceClass;
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates an implementation of a caller supplied functional interface, whose single abstract method declares the exact types of the Method,
+	 * fx <code>interface NameFormatter { String format(Person person, Integer width); }</code> for an instance method <code>String Person.format(Integer)</code>.
+	 * <p>
+	 * Unlike {@link #create(Method, Class, String)}, the interface method's types are used as is, i.e. they are not erased to Object.
+	 * The generated class thus neither casts reference arguments of the exact type, nor boxes primitive arguments or return values,
+	 * and an invocation does not allocate. The interface may also be generic, fx java.util.function.Function, in which case the
+	 * arguments are cast (and unboxed) to the Method's types, just like with a lambda expression.
+	 * <p>The lambda is cached, see {@link #create(Method)}.
+	 * @param method A Method object which defines what to invoke.
+	 * @param functionalInterface An interface with a single abstract method, whose parameters (preceded by the instance, if the Method is non-static) and return type match the Method.
+	 * @return A dynamically generated implementation of the argument provided interface.
+	 * @throws IllegalArgumentException if the argument provided class is not a functional interface.
+	 * @throws Throwable
+	 */
+	public static <T> T createExact(Method method, Class<T> functionalInterface) throws Throwable {
+		return createExact(method, functionalInterface, false);
+	}
+
+	/**
+	 * Same as {@link #createExact(Method, Class)} except that this method returns a lambda that will <em>not</em> be subject to dynamic method dispatch.
+	 * See {@link #createSpecial(Method)}
+	 * @param method
+	 * @param functionalInterface
+	 * @return
+	 * @throws Throwable
+	 */
+	public static <T> T createExactSpecial(Method method, Class<T> functionalInterface) throws Throwable {
+		return createExact(method, functionalInterface, true);
+	}
+
+	/**
+	 * Same as {@link #createExact(Method, Class)}, but for a Constructor, whose new instance is returned by the interface method.
+	 * @param constructor
+	 * @param functionalInterface
+	 * @return
+	 * @throws Throwable
+	 */
+	public static <T> T createExact(Constructor<?> constructor, Class<T> functionalInterface) throws Throwable {
+		return createExact(constructor, functionalInterface, false);
+	}
+
+	static <T> T createExact(Executable executable, Class<T> functionalInterface, boolean invokeSpecial) throws Throwable {
+		return createExact(executable, functionalInterface, invokeSpecial, CACHE, null);
+	}
+
+	static <T> T createExact(Executable executable, Class<T> functionalInterface, boolean invokeSpecial, LambdaCache cache, MethodHandles.Lookup callerLookup) throws Throwable {
+		Method signature = getSingleAbstractMethod(functionalInterface);
+		MethodType samMethodType = MethodType.methodType(signature.getReturnType(), signature.getParameterTypes());
+		//The descriptor is part of the key, since create(Method, Class, String) may have created an erased lambda for the same interface method.
+		LambdaCache.Key key = new LambdaCache.Key(executable, invokeSpecial, functionalInterface, signature.getName() + samMethodType.toMethodDescriptorString());
+		T lambda = cache.get(key);
+		if (lambda != null) {
+			Listeners.cacheHit(executable, functionalInterface);
+			return lambda;
+		}
+		long start = Listeners.start();
+		Object event = FlightRecorderEvents.beginLambdaCreated();
+		try {
+			lambda = invokeSpecial || !(executable instanceof Method) ? null : PrecompiledLambdas.find((Method) executable, functionalInterface, signature.getName());
+			if (lambda == null) {
+				MethodHandles.Lookup lookup = privateLookupIn(executable.getDeclaringClass(), callerLookup);
+				MethodHandle methodHandle = unreflect(executable, lookup, invokeSpecial);
+				MethodType instantiatedMethodType = createExactInstantiatedMethodType(samMethodType, methodHandle.type());
+				CallSite site = createCallSite(signature.getName(), lookup, methodHandle, instantiatedMethodType, samMethodType, functionalInterface);
+				lambda = functionalInterface.cast(site.getTarget().invoke());
+			}
+		} catch (Throwable t) {
+			Listeners.failed(executable, functionalInterface, t);
+			throw t;
+		}
+		lambda = cache.putIfAbsent(key, lambda);
+		Listeners.created(executable, functionalInterface, start);
+		FlightRecorderEvents.commitLambdaCreated(event, executable, functionalInterface, signature.getName(), invokeSpecial);
+		if (cache == CACHE) {
+			LambdaProfile.created(LambdaProfile.Kind.EXACT, executable, functionalInterface, signature.getName(), invokeSpecial);
+		}
+		return lambda;
+	}
+
+	/**
+	 * The instantiated method type is the interface method's type, except where a reference parameter (typically a type variable erased to Object)
+	 * is more general than the Method's parameter: then the Method's type (or its wrapper, for primitives) is used, such that the LambdaMetafactory casts the argument.
+	 */
+	private static MethodType createExactInstantiatedMethodType(MethodType samMethodType, MethodType implMethodType) {
+		MethodType instantiatedMethodType = samMethodType;
+		for (int i = 0; i < samMethodType.parameterCount() && i < implMethodType.parameterCount(); i++) {
+			Class<?> samParameter = samMethodType.parameterType(i);
+			Class<?> implParameter = implMethodType.parameterType(i);
+			if (samParameter.isPrimitive() || samParameter == implParameter) {
+				continue;
+			}
+			if (implParameter.isPrimitive()) {
+				instantiatedMethodType = instantiatedMethodType.changeParameterType(i, MethodType.methodType(implParameter).wrap().returnType());
+			} else if (samParameter.isAssignableFrom(implParameter)) {
+				instantiatedMethodType = instantiatedMethodType.changeParameterType(i, implParameter);
+			}
+		}
+		return instantiatedMethodType;
+	}
+
+	private static Method getSingleAbstractMethod(Class<?> functionalInterface) {
+		if (!functionalInterface.isInterface()) {
+			throw new IllegalArgumentException(functionalInterface.getName() + " is not an interface.");
+		}
+		Method singleAbstractMethod = null;
+		for (Method method : functionalInterface.getMethods()) {
+			if (!Modifier.isAbstract(method.getModifiers()) || isPublicObjectMethod(method)) {
+				continue;
+			}
+			if (singleAbstractMethod != null) {
+				throw new IllegalArgumentException(functionalInterface.getName() + " is not a functional interface, it has more than one abstract method.");
+			}
+			singleAbstractMethod = method;
+		}
+		if (singleAbstractMethod == null) {
+			throw new IllegalArgumentException(functionalInterface.getName() + " is not a functional interface, it has no abstract methods.");
+		}
+		return singleAbstractMethod;
+	}
+
+	private static boolean isPublicObjectMethod(Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	static SpreadingLambda createSpreading(Executable executable, boolean invokeSpecial) throws Throwable {
+		return createSpreading(executable, invokeSpecial, CACHE, null);
+	}
+
+	static SpreadingLambda createSpreading(Executable executable, boolean invokeSpecial, LambdaCache cache, MethodHandles.Lookup callerLookup) throws Throwable {
+		LambdaCache.Key key = new LambdaCache.Key(executable, invokeSpecial, SpreadingLambda.class, "invoke");
+		SpreadingLambda lambda = cache.get(key);
+		if (lambda != null) {
+			Listeners.cacheHit(executable, SpreadingLambda.class);
+			return lambda;
+		}
+		long start = Listeners.start();
+		Object event = FlightRecorderEvents.beginLambdaCreated();
+		try {
+			MethodHandles.Lookup lookup = privateLookupIn(executable.getDeclaringClass(), callerLookup);
+			lambda = createSpreadingLambda(executable, lookup, invokeSpecial);
+		} catch (Throwable t) {
+			Listeners.failed(executable, SpreadingLambda.class, t);
+			throw t;
+		}
+		lambda = cache.putIfAbsent(key, lambda);
+		Listeners.created(executable, SpreadingLambda.class, start);
+		FlightRecorderEvents.commitLambdaCreated(event, executable, SpreadingLambda.class, "invoke", invokeSpecial);
+		if (cache == CACHE) {
+			LambdaProfile.created(LambdaProfile.Kind.SPREADING, executable, SpreadingLambda.class, "invoke", invokeSpecial);
+		}
+		return lambda;
+	}
+
+	/**
+	 * Spins an implementation of the generated SpreadingLambda&lt;n&gt;_&lt;return-type&gt; interface matching the Method's number of parameters.
+	 * The interface's invocation method takes Objects, which the LambdaMetafactory casts and unboxes to the Method's parameter types,
+	 * as described by the instantiated method type, i.e. the Method's type with primitives replaced by their wrappers.
+	 * Methods with more parameters than the generated interfaces support are invoked via a spreading MethodHandle.
+	 */
+	private static SpreadingLambda createSpreadingLambda(Executable executable, MethodHandles.Lookup lookup, boolean createSpecial) throws Throwable {
+		MethodHandle methodHandle = unreflect(executable, lookup, createSpecial);
+		MethodType type = methodHandle.type();
+		boolean isVoid = type.returnType() == void.class;
+		Class<?> interfaceClass = getSpreadingInterface(type.parameterCount(), isVoid);
+		if (interfaceClass == null) {
+			FlightRecorderEvents.fallback(executable, "No SpreadingLambda interface for " + type.parameterCount() + " parameters, invoked via a spreading MethodHandle");
+			return new MethodHandleSpreadingLambda(methodHandle);
+		}
+		MethodType instantiatedMethodType = isVoid ? type.wrap().changeReturnType(void.class) : type.wrap();
+		MethodType signature = isVoid ? MethodType.genericMethodType(type.parameterCount()).changeReturnType(void.class) : MethodType.genericMethodType(type.parameterCount());
+		String signatureName = GenerateLambdaProcessor.getMethodName(isVoid ? "void" : "Object");
+		CallSite site = createCallSite(signatureName, lookup, methodHandle, instantiatedMethodType, signature, interfaceClass);
+		return (SpreadingLambda) site.getTarget().invoke();
+	}
+
+	private static Class<?> getSpreadingInterface(int numberOfParams, boolean isVoid) {
+		String name = SpreadingLambda.class.getPackageName() + "." + GenerateLambdaProcessor.getSpreadingInterfaceName(numberOfParams, isVoid ? "void" : "Object");
+		try {
+			return Class.forName(name, false, SpreadingLambda.class.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	static <T> T create(Executable executable, Class<T> interfaceClass, String signatureName, boolean invokeSpecial) throws Throwable {
+		return create(executable, interfaceClass, signatureName, invokeSpecial, CACHE, null);
+	}
+
+	/**
+	 * Creates the lambda, or gets it from the argument provided cache, which is either the global cache, or the cache of a {@link LambdaScope}.
+	 * @param callerLookup The Lookup, from which a private Lookup in the declaring class is obtained, or null to use the library's own Lookup.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T create(Executable executable, Class<T> interfaceClass, String signatureName, boolean invokeSpecial, LambdaCache cache, MethodHandles.Lookup callerLookup) throws Throwable {
+		return (T) create(executable, interfaceClass, signatureName, invokeSpecial, 0, cache, callerLookup);
+	}
+
+	/**
+	 * @param numberOfBoundArguments The number of leading arguments captured by the lambda, see {@link #partial(Method, Object...)}.
+	 * @return The lambda, or if it captures leading arguments, the factory of the lambda, i.e. a MethodHandle taking the leading arguments and returning the lambda.
+	 */
+	private static Object create(Executable executable, Class<?> interfaceClass, String signatureName, boolean invokeSpecial, int numberOfBoundArguments, LambdaCache cache, MethodHandles.Lookup callerLookup) throws Throwable {
+		LambdaCache.Key key = new LambdaCache.Key(executable, invokeSpecial, interfaceClass, signatureName, numberOfBoundArguments);
+		Object lambda = cache.get(key);
+		if (lambda != null) {
+			Listeners.cacheHit(executable, interfaceClass);
+			return lambda;
+		}
+		long start = Listeners.start();
+		Object event = FlightRecorderEvents.beginLambdaCreated();
+		try {
+			lambda = invokeSpecial || numberOfBoundArguments > 0 || !(executable instanceof Method) ? null : PrecompiledLambdas.find((Method) executable, interfaceClass, signatureName);
+			if (lambda == null) {
+				MethodHandles.Lookup lookup = privateLookupIn(executable.getDeclaringClass(), callerLookup);
+				lambda = createLambda(executable, lookup, interfaceClass, signatureName, invokeSpecial, numberOfBoundArguments);
+			}
+		} catch (Throwable t) {
+			Listeners.failed(executable, interfaceClass, t);
+			throw t;
+		}
+		lambda = cache.putIfAbsent(key, lambda);
+		Listeners.created(executable, interfaceClass, start);
+		FlightRecorderEvents.commitLambdaCreated(event, executable, interfaceClass, signatureName, invokeSpecial);
+		if (cache == CACHE) {
+			if (numberOfBoundArguments == 0) {
+				LambdaProfile.created(LambdaProfile.Kind.LAMBDA, executable, interfaceClass, signatureName, invokeSpecial);
+			} else {
+				LambdaProfile.createdPartial(executable, interfaceClass, signatureName, numberOfBoundArguments);
+			}
+		}
+		return lambda;
+	}
+
+	private static MethodHandles.Lookup privateLookupIn(Class<?> declaringClass, MethodHandles.Lookup callerLookup) throws IllegalAccessException {
+		return callerLookup == null ? Lookups.privateLookupIn(declaringClass) : MethodHandles.privateLookupIn(declaringClass, callerLookup);
+	}
+
+	private static Object createLambda(Executable executable, MethodHandles.Lookup lookup, Class<?> interfaceClass, String signatatureName, boolean createSpecial, int numberOfBoundArguments) throws Throwable {
+		if (lookup.lookupClass() != executable.getDeclaringClass()) {
+			lookup = lookup.in(executable.getDeclaringClass());
+		}
+		if (numberOfBoundArguments > 0) {
+			return createPartialFactory(executable, lookup, interfaceClass, signatatureName, numberOfBoundArguments);
+		}
+		return privateCreateLambda(executable, lookup, interfaceClass, signatatureName, createSpecial);
+	}
+
+	/**
+	 * The leading arguments are captured by the spun class, i.e. the factory is always created by the {@link LambdaMetafactory}, regardless of the {@link LambdaEnginePolicy}.
+	 */
+	private static MethodHandle createPartialFactory(Executable executable, MethodHandles.Lookup lookup, Class<?> interfaceClass, String signatureName, int numberOfBoundArguments) throws Throwable {
+		MethodHandle methodHandle = unreflect(executable, lookup, false);
+		MethodType type = methodHandle.type();
+		MethodType instantiatedMethodType = type.dropParameterTypes(0, numberOfBoundArguments);
+		return createCallSite(signatureName, lookup, methodHandle, instantiatedMethodType, createLambdaMethodType(instantiatedMethodType), interfaceClass,
+				type.parameterList().subList(0, numberOfBoundArguments)).getTarget();
+	}
 
 	/**
 	 *
-	 * This method uses {@link LambdaMetafactory} to create a lambda.
+	 * This method uses {@link LambdaMetafactory} to create a lambda, or the {@link LambdaEngine} selected by the {@link LambdaEnginePolicy}.
 	 * <br>
 	 * The lambda will implement the argument provided interface.
 	 * <br>
@@ -197,39 +1026,45 @@ public class LambdaFactory {
 	 * @return An instance of the argument provided interface, which implements only 1 of the interface's methods, namely the one whose signature matches the method, we are creating fast access to.
 	 * @throws Throwable
 	 */
-	private static <T> T privateCreateLambda(Method method, MethodHandles.Lookup lookup, Class<T> interfaceClass, String signatureName, boolean createSpecial) throws Throwable {
-		MethodHandle methodHandle = createSpecial? lookup.unreflectSpecial(method, method.getDeclaringClass()) : lookup.unreflect(method);
-		MethodType instantiatedMethodType = methodHandle.type();
-		MethodType signature = createLambdaMethodType(method, instantiatedMethodType);
-
-		CallSite site = createCallSite(signatureName, lookup, methodHandle, instantiatedMethodType, signature,interfaceClass);
-		MethodHandle factory = site.getTarget();
-		return (T) factory.invoke();
+	private static <T> T privateCreateLambda(Executable executable, MethodHandles.Lookup lookup, Class<T> interfaceClass, String signatureName, boolean createSpecial) throws Throwable {
+		MethodHandle methodHandle = unreflect(executable, lookup, createSpecial);
+		LambdaEngine engine = LambdaEngines.select(executable, interfaceClass, createSpecial);
+		return engine.create(executable, lookup, methodHandle, interfaceClass, signatureName);
 	}
 
-	private static MethodType createLambdaMethodType(Method method, MethodType instantiatedMethodType) {
-		boolean isStatic = Modifier.isStatic(method.getModifiers());
-		MethodType signature = isStatic ? instantiatedMethodType : instantiatedMethodType.changeParameterType(0, Object.class);
-
-		Class<?>[] params = method.getParameterTypes();
-		for (int i=0; i<params.length; i++){
-			if (Object.class.isAssignableFrom(params[i])){
-				signature = signature.changeParameterType(isStatic ? i : i+1, Object.class);
-			}
-		}
-		if (Object.class.isAssignableFrom(signature.returnType())){
-			signature = signature.changeReturnType(Object.class);
+	/**
+	 * A Constructor is unreflected to a newInvokeSpecial MethodHandle, i.e. the lambda creates a new instance. Constructors are never subject to dynamic dispatch, so createSpecial does not apply.
+	 */
+	private static MethodHandle unreflect(Executable executable, MethodHandles.Lookup lookup, boolean createSpecial) throws IllegalAccessException {
+		if (executable instanceof Constructor) {
+			return lookup.unreflectConstructor((Constructor<?>) executable);
 		}
+		Method method = (Method) executable;
+		return createSpecial? lookup.unreflectSpecial(method, method.getDeclaringClass()) : lookup.unreflect(method);
+	}
 
-		return signature;
+	/**
+	 * The signature of the lambda's method is the Method's type with all reference types (including the instance of a non-static method) erased to Object.
+	 * {@link MethodType#erase()} does this in a single pass, and the erased type is cached by the JDK, i.e. repeated signatures are cheap.
+	 */
+	private static MethodType createLambdaMethodType(MethodType instantiatedMethodType) {
+		return instantiatedMethodType.erase();
 	}
 
-	private static CallSite createCallSite(String signatureName, MethodHandles.Lookup lookup, MethodHandle methodHandle,
+	static CallSite createCallSite(String signatureName, MethodHandles.Lookup lookup, MethodHandle methodHandle,
 										   MethodType instantiatedMethodType, MethodType signature, Class<?> interfaceClass) throws LambdaConversionException {
+		return createCallSite(signatureName, lookup, methodHandle, instantiatedMethodType, signature, interfaceClass, Collections.emptyList());
+	}
+
+	/**
+	 * @param capturedTypes The types of the leading arguments, which the spun class captures, i.e. the parameter types of the CallSite's target.
+	 */
+	static CallSite createCallSite(String signatureName, MethodHandles.Lookup lookup, MethodHandle methodHandle,
+										   MethodType instantiatedMethodType, MethodType signature, Class<?> interfaceClass, List<Class<?>> capturedTypes) throws LambdaConversionException {
 		return LambdaMetafactory.metafactory(
 				lookup,
 				signatureName,
-				MethodType.methodType(interfaceClass),
+				MethodType.methodType(interfaceClass, capturedTypes),
 				signature,
 				methodHandle,
 				instantiatedMethodType);
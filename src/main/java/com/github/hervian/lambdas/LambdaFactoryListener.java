@@ -0,0 +1,55 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Executable;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Receives notifications about the lambdas created by the {@link LambdaFactory}, fx to feed them to a metrics system.
+ * Register it with {@link LambdaFactory#addListener(LambdaFactoryListener)}. {@link LambdaFactoryStatistics} is a ready-made implementation.
+ * <p>
+ * The methods are invoked synchronously by the thread creating the lambda, and must therefore be fast, thread safe and must not throw.
+ * When no listener is registered, the only cost of the instrumentation is a read of a volatile field per lambda creation.
+ *
+ * @author Anders Granau Høfft
+ */
+public interface LambdaFactoryListener {
+
+	/**
+	 * Invoked when a lambda is returned from a cache.
+	 * @param executable The Method or Constructor, which the lambda invokes.
+	 * @param interfaceClass The interface implemented by the lambda, fx {@link Lambda}, {@link Lambda2_int} or {@link SpreadingLambda}.
+	 */
+	default void onCacheHit(Executable executable, Class<?> interfaceClass) {}
+
+	/**
+	 * Invoked when a lambda has been created, i.e. when the lambda was not found in a cache (or the cache is disabled).
+	 * @param executable The Method or Constructor, which the lambda invokes.
+	 * @param interfaceClass The interface implemented by the lambda.
+	 * @param nanos The time it took to create the lambda, in nanoseconds.
+	 */
+	default void onCreated(Executable executable, Class<?> interfaceClass, long nanos) {}
+
+	/**
+	 * Invoked when the creation of a lambda failed, fx with a {@link java.lang.invoke.LambdaConversionException} or an {@link IllegalAccessException}.
+	 * The failure is rethrown to the caller after this method returns.
+	 * @param executable The Method or Constructor, which the lambda should invoke.
+	 * @param interfaceClass The interface, which the lambda should implement.
+	 * @param failure The failure.
+	 */
+	default void onFailure(Executable executable, Class<?> interfaceClass, Throwable failure) {}
+
+}
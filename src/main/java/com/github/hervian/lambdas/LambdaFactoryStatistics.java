@@ -0,0 +1,208 @@
+package com.github.hervian.lambdas;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.github.hervian.lambdas.util.GenerateLambdaProcessor;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A {@link LambdaFactoryListener}, which counts the cache hits, creations and failures, and records a histogram of the creation times.
+ * <p>Example:<br>
+ * LambdaFactoryStatistics statistics = new LambdaFactoryStatistics();<br>
+ * LambdaFactory.addListener(statistics);<br>
+ * statistics.registerMBean(); //Optional, exposes the statistics as the platform MBean {@value #OBJECT_NAME}<br>
+ * <p>
+ * The counters are {@link LongAdder}s, i.e. updating them does not contend, even when many threads create lambdas.
+ * The JMX registration requires the java.management module.
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaFactoryStatistics implements LambdaFactoryListener, LambdaFactoryStatisticsMXBean {
+
+	public static final String OBJECT_NAME = "com.github.hervian.lambdas:type=LambdaFactoryStatistics";
+
+	private static final long[] HISTOGRAM_BOUNDS_MICROS = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder created = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder totalCreationTimeNanos = new LongAdder();
+	private final LongAccumulator maxCreationTimeNanos = new LongAccumulator(Long::max, 0L);
+	private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BOUNDS_MICROS.length + 1];
+	private final ConcurrentMap<String, LongAdder> createdByArityAndReturnType = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> failuresByType = new ConcurrentHashMap<>();
+
+	public LambdaFactoryStatistics() {
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Registers the statistics in the platform MBeanServer under the name {@value #OBJECT_NAME}.
+	 * @throws JMException if an MBean is already registered under that name.
+	 */
+	public void registerMBean() throws JMException {
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+	}
+
+	public void unregisterMBean() throws JMException {
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+	}
+
+	@Override
+	public void onCacheHit(Executable executable, Class<?> interfaceClass) {
+		cacheHits.increment();
+	}
+
+	@Override
+	public void onCreated(Executable executable, Class<?> interfaceClass, long nanos) {
+		created.increment();
+		totalCreationTimeNanos.add(nanos);
+		maxCreationTimeNanos.accumulate(nanos);
+		histogram[getBucket(TimeUnit.NANOSECONDS.toMicros(nanos))].increment();
+		createdByArityAndReturnType.computeIfAbsent(getArityAndReturnType(executable), key -> new LongAdder()).increment();
+	}
+
+	@Override
+	public void onFailure(Executable executable, Class<?> interfaceClass, Throwable failure) {
+		failures.increment();
+		failuresByType.computeIfAbsent(failure.getClass().getName(), key -> new LongAdder()).increment();
+	}
+
+	private static int getBucket(long micros) {
+		for (int i = 0; i < HISTOGRAM_BOUNDS_MICROS.length; i++) {
+			if (micros <= HISTOGRAM_BOUNDS_MICROS[i]) {
+				return i;
+			}
+		}
+		return HISTOGRAM_BOUNDS_MICROS.length;
+	}
+
+	private static String getArityAndReturnType(Executable executable) {
+		int arity = executable.getParameterCount();
+		Class<?> returnType = Object.class;
+		if (executable instanceof Method) {
+			Method method = (Method) executable;
+			arity += Modifier.isStatic(method.getModifiers()) ? 0 : 1;
+			returnType = method.getReturnType().isPrimitive() ? method.getReturnType() : Object.class;
+		} else if (!(executable instanceof Constructor)) {
+			throw new IllegalArgumentException(executable.toString());
+		}
+		return GenerateLambdaProcessor.getInterfaceName(arity, returnType.getSimpleName());
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMisses() {
+		return created.sum() + failures.sum();
+	}
+
+	@Override
+	public long getCreated() {
+		return created.sum();
+	}
+
+	@Override
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	@Override
+	public Map<String, Long> getCreatedByArityAndReturnType() {
+		return toMap(createdByArityAndReturnType);
+	}
+
+	@Override
+	public Map<String, Long> getFailuresByType() {
+		return toMap(failuresByType);
+	}
+
+	private static Map<String, Long> toMap(ConcurrentMap<String, LongAdder> counters) {
+		Map<String, Long> map = new TreeMap<>();
+		counters.forEach((key, counter) -> map.put(key, counter.sum()));
+		return map;
+	}
+
+	@Override
+	public long getTotalCreationTimeNanos() {
+		return totalCreationTimeNanos.sum();
+	}
+
+	@Override
+	public long getMaxCreationTimeNanos() {
+		return maxCreationTimeNanos.get();
+	}
+
+	@Override
+	public long[] getCreationTimeHistogramBoundsMicros() {
+		return HISTOGRAM_BOUNDS_MICROS.clone();
+	}
+
+	@Override
+	public long[] getCreationTimeHistogram() {
+		long[] counts = new long[histogram.length];
+		for (int i = 0; i < histogram.length; i++) {
+			counts[i] = histogram[i].sum();
+		}
+		return counts;
+	}
+
+	@Override
+	public long getMetaspaceUsed() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getName().equals("Metaspace")) {
+				return pool.getUsage().getUsed();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void reset() {
+		cacheHits.reset();
+		created.reset();
+		failures.reset();
+		totalCreationTimeNanos.reset();
+		maxCreationTimeNanos.reset();
+		for (LongAdder bucket : histogram) {
+			bucket.reset();
+		}
+		createdByArityAndReturnType.clear();
+		failuresByType.clear();
+	}
+
+}
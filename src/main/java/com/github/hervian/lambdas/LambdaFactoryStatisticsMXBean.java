@@ -0,0 +1,70 @@
+package com.github.hervian.lambdas;
+
+import java.util.Map;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * The management interface of {@link LambdaFactoryStatistics}.
+ *
+ * @author Anders Granau Høfft
+ */
+public interface LambdaFactoryStatisticsMXBean {
+
+	long getCacheHits();
+
+	/**
+	 * @return The number of lambda creations, which were not served by a cache, i.e. {@link #getCreated()} + {@link #getFailures()}.
+	 */
+	long getCacheMisses();
+
+	long getCreated();
+
+	long getFailures();
+
+	/**
+	 * @return The number of lambdas created per number of parameters (including the instance of a non-static Method) and return type,
+	 * keyed by the name of the matching Lambda interface, fx "Lambda2_int". Reference types are reported as Object.
+	 */
+	Map<String, Long> getCreatedByArityAndReturnType();
+
+	/**
+	 * @return The number of failed creations per exception class name, fx "java.lang.invoke.LambdaConversionException".
+	 */
+	Map<String, Long> getFailuresByType();
+
+	long getTotalCreationTimeNanos();
+
+	long getMaxCreationTimeNanos();
+
+	/**
+	 * @return The inclusive upper bounds of the buckets of {@link #getCreationTimeHistogram()}, in microseconds.
+	 */
+	long[] getCreationTimeHistogramBoundsMicros();
+
+	/**
+	 * @return The number of creations per creation time bucket. The last bucket counts the creations slower than the last bound.
+	 */
+	long[] getCreationTimeHistogram();
+
+	/**
+	 * @return The used metaspace in bytes, or -1 if the JVM does not report it. It includes, but is not limited to, the classes spun for lambdas.
+	 */
+	long getMetaspaceUsed();
+
+	void reset();
+
+}
@@ -0,0 +1,69 @@
+package com.github.hervian.lambdas;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Generates an application specific alternative to the {@link Lambda} interface at compile time, which only declares the invocation methods
+ * needed by the Methods and Constructors of the target classes.
+ * <p>
+ * The annotation is processed by {@link com.github.hervian.lambdas.util.LambdaInterfaceProcessor}, which scans the methods and constructors declared by the target classes
+ * (or by the annotated class, if no targets are given), and generates a public interface in the package of the annotated class. The interface declares
+ * an invoke_for_&lt;return-type&gt; method per distinct signature, with the same erasure as in Lambda: primitives are kept, and all other types become Object.
+ * The first parameter of the signature of an instance method is the instance.
+ * <p>
+ * Example:
+ * <pre>
+ * &#64;LambdaInterface(name = "AppLambda", targets = {Order.class, Customer.class})
+ * class LambdaConfiguration {}
+ * ...
+ * AppLambda lambda = LambdaFactory.create(Order.class.getMethod("getTotal"), AppLambda.class);
+ * double total = lambda.invoke_for_double(order);
+ * </pre>
+ * The interface typically declares tens of methods rather than the thousands of Lambda, i.e. it loads faster, and each spun class has a much smaller itable.
+ * Unlike Lambda, it is not limited to a number of parameters, see {@link #maxNumberOfParameters()}.
+ *
+ * @see LambdaFactory#create(Method, Class)
+ * @author Anders Granau Høfft
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface LambdaInterface {
+
+	/**
+	 * @return The simple name of the generated interface.
+	 */
+	String name();
+
+	/**
+	 * @return The classes, whose declared methods and constructors the interface shall support. Defaults to the annotated class.
+	 */
+	Class<?>[] targets() default {};
+
+	/**
+	 * @return The max number of parameters of the invocation methods, including the instance of an instance method.
+	 * Methods and constructors with more parameters are skipped. The default is the max number of parameters of a Java method.
+	 * Regardless of this limit, methods and constructors are skipped, if their invocation method would exceed the 255 parameter slots of a JVM method,
+	 * where the interface's own instance takes a slot, and a long or double takes 2.
+	 */
+	int maxNumberOfParameters() default 255;
+
+}
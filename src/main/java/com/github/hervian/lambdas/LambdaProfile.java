@@ -0,0 +1,324 @@
+package com.github.hervian.lambdas;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A startup profile, i.e. the list of lambdas an application created during a training run, which can be replayed eagerly at the next start.
+ * <p>
+ * A profile records the lambdas created by the create methods of {@link LambdaFactory}, which do not take a Lookup, i.e. not the lambdas of a {@link LambdaScope}.
+ * Each entry is a line of tab separated values: the kind of lambda (see {@link Kind}), whether it is special, the declaring class, the name of the Method (or &lt;init&gt;),
+ * its parameter types, the interface and the name of the interface method, followed by the number of bound arguments for a {@link Kind#PARTIAL} entry.
+ * Only names are recorded, i.e. the profile holds no reference to the application's classes.
+ * <p>
+ * Replaying a profile creates the lambdas in the global cache, in the recorded order. Entries, which cannot be replayed, are logged and skipped.
+ * <p>
+ * The profile can be recorded and replayed via system properties:
+ * <ul>
+ * <li>{@value #RECORD_PROPERTY}=&lt;file&gt; records the lambdas created until the JVM exits, and writes them to the file in a shutdown hook.
+ * <li>{@value #REPLAY_PROPERTY}=&lt;file&gt; replays the file on a daemon thread, which is started when the LambdaFactory class is initialized.
+ * </ul>
+ * The replay runs concurrently with the application's startup, i.e. it does not delay it. A lambda, which the application requests before it has been replayed,
+ * is created by the requesting thread as usual (the cache keeps one of the lambdas, if both threads create it).
+ * Combined with a CDS archive (fx -XX:ArchiveClassesAtExit during the training run), the Lambda interfaces, the library's and the application's classes are loaded
+ * from the archive. The classes spun by the LambdaMetafactory are hidden classes, which the JDK only archives for invokedynamic call sites, i.e. they are spun again by the replay.
+ *
+ * @author Anders Granau Høfft
+ */
+public final class LambdaProfile {
+
+	static final String RECORD_PROPERTY = "lambda.factory.profile.record";
+	static final String REPLAY_PROPERTY = "lambda.factory.profile.replay";
+
+	private static final System.Logger LOGGER = System.getLogger(LambdaProfile.class.getName());
+	private static final String HEADER = "# lambda-factory profile 1";
+	private static final String CONSTRUCTOR_NAME = "<init>";
+	private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+	static {
+		for (Class<?> type : new Class<?>[] {boolean.class, char.class, byte.class, short.class, int.class, long.class, float.class, double.class, void.class}) {
+			PRIMITIVES.put(type.getName(), type);
+		}
+	}
+
+	private static volatile LambdaProfile recording;
+
+	/**
+	 * The create method of {@link LambdaFactory}, which created the lambda.
+	 */
+	enum Kind {
+		/** A lambda implementing Lambda, one of its super interfaces or a custom interface, see {@link LambdaFactory#create(Method, Class, String)}. */
+		LAMBDA,
+		/** See {@link LambdaFactory#createExact(Method, Class)}. */
+		EXACT,
+		/** See {@link LambdaFactory#createSpreading(Method)}. */
+		SPREADING,
+		/** The factory of a lambda, which captures leading arguments, see {@link LambdaFactory#partial(Method, Object...)}. The arguments are not recorded, i.e. the replay only spins the class. */
+		PARTIAL
+	}
+
+	private final Set<String> entries = new LinkedHashSet<>();
+
+	private LambdaProfile(Collection<String> entries) {
+		this.entries.addAll(entries);
+	}
+
+	/**
+	 * Starts recording the lambdas created from now on.
+	 * @return The profile, to which the lambdas are added.
+	 * @throws IllegalStateException if a recording is already in progress.
+	 */
+	public static synchronized LambdaProfile startRecording() {
+		if (recording != null) {
+			throw new IllegalStateException("A LambdaProfile is already being recorded.");
+		}
+		LambdaProfile profile = new LambdaProfile(Collections.emptyList());
+		recording = profile;
+		return profile;
+	}
+
+	/**
+	 * Stops the recording of this profile. Stopping a profile, which is not being recorded, has no effect.
+	 */
+	public void stopRecording() {
+		synchronized (LambdaProfile.class) {
+			if (recording == this) {
+				recording = null;
+			}
+		}
+	}
+
+	/**
+	 * Reads a profile written by {@link #write(Path)}.
+	 * @throws IOException if the file cannot be read, or is not a profile.
+	 */
+	public static LambdaProfile read(Path file) throws IOException {
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+			throw new IOException(file + " is not a lambda-factory profile.");
+		}
+		return new LambdaProfile(lines.subList(1, lines.size()));
+	}
+
+	public void write(Path file) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add(HEADER);
+		synchronized (entries) {
+			lines.addAll(entries);
+		}
+		Files.write(file, lines, StandardCharsets.UTF_8);
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Same as {@link #replay(ClassLoader)} with the context ClassLoader of the current thread.
+	 */
+	public int replay() {
+		return replay(getContextClassLoader());
+	}
+
+	/**
+	 * Same as {@link #replay()}, but run on the argument provided Executor, fx to create the lambdas while the application starts.
+	 * The context ClassLoader of the current thread loads the recorded classes.
+	 * @return A future of the number of lambdas, which were created or found in the cache.
+	 */
+	public CompletableFuture<Integer> replayAsync(Executor executor) {
+		ClassLoader classLoader = getContextClassLoader();
+		return CompletableFuture.supplyAsync(() -> replay(classLoader), executor);
+	}
+
+	/**
+	 * Creates the lambdas of the profile, in the recorded order.
+	 * <p>
+	 * A profile is only a hint, i.e. replaying it never fails: entries, which cannot be parsed, whose class or Method cannot be found,
+	 * or whose lambda cannot be created (fx since the Method is no longer accessible), are logged and skipped.
+	 * @param classLoader The ClassLoader, which loads the recorded classes.
+	 * @return The number of lambdas, which were created or found in the cache.
+	 */
+	public int replay(ClassLoader classLoader) {
+		List<String> lines;
+		synchronized (entries) {
+			lines = new ArrayList<>(entries);
+		}
+		int replayed = 0;
+		for (String line : lines) {
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			try {
+				replay(line, classLoader);
+				replayed++;
+			} catch (ClassNotFoundException | NoSuchMethodException e) {
+				LOGGER.log(Level.DEBUG, "Skipping the stale profile entry ''{0}'': {1}", line, e);
+			} catch (VirtualMachineError e) {
+				throw e;
+			} catch (Throwable t) {
+				LOGGER.log(Level.WARNING, "Skipping the profile entry ''" + line + "'', whose lambda could not be created.", t);
+			}
+		}
+		return replayed;
+	}
+
+	private static void replay(String line, ClassLoader classLoader) throws Throwable {
+		String[] values = line.split("\t", -1);
+		Kind kind = Kind.valueOf(values[0]);
+		int numberOfValues = kind == Kind.PARTIAL ? 8 : 7;
+		if (values.length != numberOfValues) {
+			throw new IllegalArgumentException("Expected " + numberOfValues + " tab separated values, but found " + values.length + ".");
+		}
+		boolean special = Boolean.parseBoolean(values[1]);
+		Executable executable = findExecutable(loadClass(values[2], classLoader), values[3], values[4], classLoader);
+		Class<?> interfaceClass = loadClass(values[5], classLoader);
+		switch (kind) {
+		case LAMBDA:
+			LambdaFactory.create(executable, interfaceClass, values[6], special);
+			break;
+		case EXACT:
+			LambdaFactory.createExact(executable, interfaceClass, special);
+			break;
+		case SPREADING:
+			LambdaFactory.createSpreading(executable, special);
+			break;
+		case PARTIAL:
+			if (!(executable instanceof Method)) {
+				throw new IllegalArgumentException("Only Methods can be partially applied.");
+			}
+			LambdaFactory.getPartialFactory((Method) executable, interfaceClass, values[6], Integer.parseInt(values[7]));
+			break;
+		}
+	}
+
+	/**
+	 * Starts a recording or replays a profile, as configured by the system properties {@value #RECORD_PROPERTY} and {@value #REPLAY_PROPERTY}.
+	 * Invoked when the LambdaFactory class is initialized, i.e. a profile, which cannot be read or written, is logged rather than thrown.
+	 * The profile is read and replayed on a daemon thread, whose first lambda waits for the initialization of the LambdaFactory class to complete.
+	 * @return A future of the number of lambdas replayed, which is 0 if no profile is replayed, or it cannot be read.
+	 */
+	static CompletableFuture<Integer> fromSystemProperties() {
+		String replayFile = System.getProperty(REPLAY_PROPERTY);
+		CompletableFuture<Integer> replay = CompletableFuture.completedFuture(0);
+		if (replayFile != null) {
+			ClassLoader classLoader = getContextClassLoader();
+			replay = CompletableFuture.supplyAsync(() -> {
+				try {
+					return read(Paths.get(replayFile)).replay(classLoader);
+				} catch (IOException | InvalidPathException e) {
+					LOGGER.log(Level.WARNING, "Cannot replay the lambda-factory profile " + replayFile + ".", e);
+					return 0;
+				}
+			}, command -> {
+				Thread thread = new Thread(command, "lambda-factory-profile-replay");
+				thread.setDaemon(true);
+				thread.start();
+			});
+		}
+		String recordFile = System.getProperty(RECORD_PROPERTY);
+		if (recordFile != null) {
+			LambdaProfile profile = startRecording();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				profile.stopRecording();
+				try {
+					profile.write(Paths.get(recordFile));
+				} catch (IOException | InvalidPathException e) {
+					LOGGER.log(Level.WARNING, "Cannot write the lambda-factory profile " + recordFile + ".", e);
+				}
+			}, "lambda-factory-profile-writer"));
+		}
+		return replay;
+	}
+
+	/**
+	 * Adds the lambda to the profile being recorded, if any.
+	 */
+	static void created(Kind kind, Executable executable, Class<?> interfaceClass, String signatureName, boolean special) {
+		LambdaProfile profile = recording;
+		if (profile != null) {
+			profile.add(toLine(kind, executable, interfaceClass, signatureName, special));
+		}
+	}
+
+	/**
+	 * Adds the factory of a partially applied lambda to the profile being recorded, if any.
+	 */
+	static void createdPartial(Executable executable, Class<?> interfaceClass, String signatureName, int numberOfBoundArguments) {
+		LambdaProfile profile = recording;
+		if (profile != null) {
+			profile.add(toLine(Kind.PARTIAL, executable, interfaceClass, signatureName, false) + "\t" + numberOfBoundArguments);
+		}
+	}
+
+	private void add(String line) {
+		synchronized (entries) {
+			entries.add(line);
+		}
+	}
+
+	private static String toLine(Kind kind, Executable executable, Class<?> interfaceClass, String signatureName, boolean special) {
+		StringBuilder parameterTypes = new StringBuilder();
+		for (Class<?> parameterType : executable.getParameterTypes()) {
+			if (parameterTypes.length() > 0) {
+				parameterTypes.append(',');
+			}
+			parameterTypes.append(parameterType.getName());
+		}
+		return String.join("\t", kind.name(), Boolean.toString(special), executable.getDeclaringClass().getName(),
+				executable instanceof Constructor ? CONSTRUCTOR_NAME : executable.getName(), parameterTypes, interfaceClass.getName(), signatureName);
+	}
+
+	private static Executable findExecutable(Class<?> declaringClass, String name, String parameterTypeNames, ClassLoader classLoader) throws ClassNotFoundException, NoSuchMethodException {
+		String[] names = parameterTypeNames.isEmpty() ? new String[0] : parameterTypeNames.split(",");
+		Class<?>[] parameterTypes = new Class<?>[names.length];
+		for (int i = 0; i < names.length; i++) {
+			parameterTypes[i] = loadClass(names[i], classLoader);
+		}
+		return CONSTRUCTOR_NAME.equals(name) ? declaringClass.getDeclaredConstructor(parameterTypes) : declaringClass.getDeclaredMethod(name, parameterTypes);
+	}
+
+	private static ClassLoader getContextClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader == null ? LambdaProfile.class.getClassLoader() : classLoader;
+	}
+
+	private static Class<?> loadClass(String name, ClassLoader classLoader) throws ClassNotFoundException {
+		Class<?> primitive = PRIMITIVES.get(name);
+		return primitive != null ? primitive : Class.forName(name, false, classLoader);
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Owns the lambdas created through it, fx the lambdas of a hot-reloadable plugin.
+ * <p>
+ * The create methods behave like their counterparts in {@link LambdaFactory}, except that the lambdas are cached in the scope's own cache,
+ * rather than in the global one. If the scope was opened with a Lookup ({@link LambdaFactory#openScope(MethodHandles.Lookup)}) the lambdas are
+ * created with private Lookups obtained from it, which is required for classes in another module, fx classes loaded by a plugin's ClassLoader.
+ * The scope keeps track of the classes of the lambdas it created, and of the declaring classes of their Methods.
+ * {@link #close()} drops all of these, along with the scope's Lookup and the cached Lookups of the declaring classes, such that the library holds no reference to
+ * a plugin's classes once its scope is closed. Given that the plugin's lambdas are not referenced elsewhere, the classes spun by the LambdaMetafactory
+ * (which are defined in the ClassLoader of the declaring class) can then be unloaded together with the plugin's ClassLoader.
+ * <p>Example:<br>
+ * try (LambdaScope scope = LambdaFactory.openScope(pluginLookup)) {<br>
+ * &nbsp;&nbsp;Lambda lambda = scope.create(pluginMethod);<br>
+ * &nbsp;&nbsp;...<br>
+ * }<br>
+ * <p>
+ * The scope is thread safe, but lambdas created concurrently with {@link #close()} may escape the scope.
+ *
+ * @author Anders Granau Høfft
+ */
+public final class LambdaScope implements AutoCloseable {
+
+	private final LambdaCache cache = new LambdaCache(Integer.MAX_VALUE);
+	private final Set<Class<?>> declaringClasses = ConcurrentHashMap.newKeySet();
+	private final Set<Class<?>> lambdaClasses = ConcurrentHashMap.newKeySet();
+	private volatile MethodHandles.Lookup lookup;
+	private volatile boolean closed;
+
+	LambdaScope(MethodHandles.Lookup lookup) {
+		this.lookup = lookup;
+	}
+
+	/**
+	 * @see LambdaFactory#create(Method)
+	 */
+	public Lambda create(Method method) throws Throwable {
+		return track(method, LambdaFactory.create(method, Lambda.class, LambdaFactory.getSignatureName(method), false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#createSpecial(Method)
+	 */
+	public Lambda createSpecial(Method method) throws Throwable {
+		return track(method, LambdaFactory.create(method, Lambda.class, LambdaFactory.getSignatureName(method), true, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#create(Method, Class)
+	 */
+	public <T> T create(Method method, Class<T> interfaceClass) throws Throwable {
+		return track(method, LambdaFactory.create(method, interfaceClass, LambdaFactory.getSignatureName(method), false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#create(Method, Class, String)
+	 */
+	public <T> T create(Method method, Class<T> interfaceClass, String signatureName) throws Throwable {
+		return track(method, LambdaFactory.create(method, interfaceClass, signatureName, false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#createExact(Method, Class)
+	 */
+	public <T> T createExact(Method method, Class<T> functionalInterface) throws Throwable {
+		return track(method, LambdaFactory.createExact(method, functionalInterface, false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#createSpreading(Method)
+	 */
+	public SpreadingLambda createSpreading(Method method) throws Throwable {
+		return track(method, LambdaFactory.createSpreading(method, false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#create(Constructor)
+	 */
+	public Lambda create(Constructor<?> constructor) throws Throwable {
+		return track(constructor, LambdaFactory.create(constructor, Lambda.class, LambdaFactory.getSignatureName(constructor), false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @see LambdaFactory#create(Constructor, Class, String)
+	 */
+	public <T> T create(Constructor<?> constructor, Class<T> interfaceClass, String signatureName) throws Throwable {
+		return track(constructor, LambdaFactory.create(constructor, interfaceClass, signatureName, false, checkOpen(), lookup));
+	}
+
+	/**
+	 * @return The classes of the lambdas created through the scope, or an empty set, if the scope is closed.
+	 */
+	public Set<Class<?>> getLambdaClasses() {
+		return Collections.unmodifiableSet(new HashSet<>(lambdaClasses));
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Drops the scope's references to its Lookup, the lambdas, their classes and the declaring classes of their Methods,
+	 * and removes the cached Lookups of the declaring classes. The lambdas already created remain usable.
+	 * Closing a closed scope has no effect.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		lookup = null;
+		for (Class<?> declaringClass : declaringClasses) {
+			cache.invalidate(declaringClass);
+			Lookups.invalidate(declaringClass);
+		}
+		declaringClasses.clear();
+		lambdaClasses.clear();
+	}
+
+	private LambdaCache checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("The LambdaScope is closed.");
+		}
+		return cache;
+	}
+
+	private <T> T track(Executable executable, T lambda) {
+		declaringClasses.add(executable.getDeclaringClass());
+		lambdaClasses.add(lambda.getClass());
+		return lambda;
+	}
+
+}
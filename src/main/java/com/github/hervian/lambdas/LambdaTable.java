@@ -0,0 +1,107 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * The lambdas created by {@link LambdaFactory#createAll(Class, java.util.function.Predicate)} or {@link LambdaFactory#createAll(Collection)},
+ * indexed by the position of their Method.
+ * <p>
+ * For a class, the Methods are sorted by name and parameter types, i.e. the index of a given Method is stable across JVM runs
+ * (unlike the order of {@link Class#getDeclaredMethods()}). For a Collection of Methods, the index is the position in the Collection.
+ * The index can be resolved once, via {@link #indexOf(String, Class...)}.
+ * <p>
+ * Each lambda implements the small super interface of {@link Lambda} matching its Method, fx {@link Lambda1_Object} for a getter,
+ * see {@link LambdaFactory#create(Method, Class)}. Methods with more parameters than these interfaces support are represented
+ * by a {@link SpreadingLambda}.
+ *
+ * @author Anders Granau Høfft
+ */
+public final class LambdaTable {
+
+	private final Method[] methods;
+	private final Object[] lambdas;
+
+	LambdaTable(Method[] methods, Object[] lambdas) {
+		this.methods = methods;
+		this.lambdas = lambdas;
+	}
+
+	/**
+	 * @return The number of lambdas in the table.
+	 */
+	public int size() {
+		return methods.length;
+	}
+
+	/**
+	 * @return The Methods in index order.
+	 */
+	public List<Method> getMethods() {
+		return Collections.unmodifiableList(Arrays.asList(methods));
+	}
+
+	public Method getMethod(int index) {
+		return methods[index];
+	}
+
+	/**
+	 * @return The index of the Method with the given name and parameter types, or -1 if the table does not contain such a Method.
+	 */
+	public int indexOf(String methodName, Class<?>... parameterTypes) {
+		for (int i = 0; i < methods.length; i++) {
+			if (methods[i].getName().equals(methodName) && Arrays.equals(methods[i].getParameterTypes(), parameterTypes)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return The lambda at the given index, fx a {@link Lambda1_Object}, or a {@link SpreadingLambda}.
+	 */
+	public Object get(int index) {
+		return lambdas[index];
+	}
+
+	/**
+	 * @return The lambdas keyed by their Method, in index order.
+	 */
+	public Map<Method, Object> toMap() {
+		Map<Method, Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < methods.length; i++) {
+			map.put(methods[i], lambdas[i]);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * @param interfaceClass The interface implemented by the lambda, fx {@link Lambda1_Object}.
+	 * @return The lambda at the given index.
+	 * @throws ClassCastException if the lambda does not implement the interface.
+	 */
+	public <T> T get(int index, Class<T> interfaceClass) {
+		return interfaceClass.cast(lambdas[index]);
+	}
+
+}
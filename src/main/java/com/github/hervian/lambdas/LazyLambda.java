@@ -0,0 +1,112 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A {@link SpreadingLambda}, which defers spinning a class until the Method gets hot, similar to the JDK's inflation of reflective Method accessors.
+ * <p>
+ * Creating a LazyLambda only unreflects the Method to a MethodHandle, whose adaptations are shared by all Methods of the same type,
+ * i.e. no class is spun per Method. The first invocations are dispatched through the MethodHandle (see {@link MethodHandleSpreadingLambda}).
+ * Once the number of invocations exceeds the threshold, the lambda inflates itself: it creates the SpreadingLambda via
+ * {@link LambdaFactory#createSpreading(Method)} (which is cached as usual), and delegates to it from then on.
+ * Being a SpreadingLambda, it boxes the arguments into an array, also once inflated. A lazy lambda, which is invoked at the speed of a direct call once hot,
+ * is created by {@link LambdaFactory#createLazy(Method, Class)}.
+ * <p>
+ * The threshold defaults to {@value #DEFAULT_THRESHOLD}, and can be configured with the system property {@value #THRESHOLD_PROPERTY}.
+ * A threshold of 0 inflates on the first invocation.
+ * <br>
+ * The invocation counter is not synchronized, i.e. under contention the lambda may inflate a few invocations later than the threshold.
+ * The inflation itself happens once. If the lambda cannot be spun, the failure is reported to the listeners (see {@link LambdaFactoryListener#onFailure})
+ * and as a Flight Recorder fallback event, and the LazyLambda keeps invoking the MethodHandle, i.e. the invocation does not fail.
+ *
+ * @see LambdaFactory#createLazy(Method)
+ * @author Anders Granau Høfft
+ */
+public final class LazyLambda implements SpreadingLambda {
+
+	static final String THRESHOLD_PROPERTY = "lambda.factory.lazy.threshold";
+	static final int DEFAULT_THRESHOLD = 16;
+
+	private final Executable executable;
+	private final boolean special;
+	private final int threshold;
+	private final SpreadingLambda coldLambda;
+	private volatile SpreadingLambda hotLambda;
+	private int invocations;
+
+	LazyLambda(Executable executable, MethodHandle methodHandle, boolean special, int threshold) {
+		this.executable = executable;
+		this.special = special;
+		this.threshold = threshold;
+		this.coldLambda = new MethodHandleSpreadingLambda(methodHandle);
+	}
+
+	static int getThresholdFromSystemProperties() {
+		return Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+	}
+
+	@Override
+	public Object invoke(Object... args) {
+		SpreadingLambda lambda = hotLambda;
+		if (lambda != null) {
+			return lambda.invoke(args);
+		}
+		if (invocations++ >= threshold) {
+			return inflate().invoke(args);
+		}
+		return coldLambda.invoke(args);
+	}
+
+	/**
+	 * @return true if the lambda has been spun, i.e. if the invocations are no longer dispatched through a MethodHandle.
+	 */
+	public boolean isInflated() {
+		SpreadingLambda lambda = hotLambda;
+		return lambda != null && lambda != coldLambda;
+	}
+
+	/**
+	 * Spins the lambda now, regardless of the number of invocations.
+	 * @return The spun SpreadingLambda, which the LazyLambda delegates to from now on,
+	 * or the SpreadingLambda invoking the MethodHandle, if the lambda could not be spun. The inflation is then not retried.
+	 */
+	public synchronized SpreadingLambda inflate() {
+		SpreadingLambda lambda = hotLambda;
+		if (lambda == null) {
+			try {
+				if (executable instanceof Constructor) {
+					lambda = LambdaFactory.createSpreading((Constructor<?>) executable);
+				} else {
+					lambda = special ? LambdaFactory.createSpreadingSpecial((Method) executable) : LambdaFactory.createSpreading((Method) executable);
+				}
+			} catch (VirtualMachineError e) {
+				throw e;
+			} catch (Throwable t) {
+				//LambdaFactory has reported the failure to the listeners.
+				FlightRecorderEvents.fallback(executable, "The LazyLambda could not be inflated, and keeps invoking a MethodHandle: " + t);
+				lambda = coldLambda;
+			}
+			hotLambda = lambda;
+		}
+		return lambda;
+	}
+
+}
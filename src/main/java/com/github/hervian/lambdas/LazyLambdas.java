@@ -0,0 +1,140 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Creates lazy stubs, i.e. lambdas implementing the interface method of a Method, which defer spinning a class for the Method until it gets hot.
+ * <p>
+ * A stub is an instance of a class spun once per interface method, whose method invokes a captured {@link MutableCallSite#dynamicInvoker()}
+ * (the implementation method of the spun class is {@link MethodHandle#invokeExact}, i.e. the spun class does not depend on the Method).
+ * The call site first targets the Method's MethodHandle, preceded by an invocation counter. Once the number of invocations exceeds the threshold,
+ * the lambda is created via {@link LambdaFactory#create(Method, Class)} (which is cached as usual), and the call site is retargeted to the lambda.
+ * <p>
+ * The captured invoker is a final field of the spun class, which the JIT trusts as a constant, i.e. a stub held in a constant (fx a static final field)
+ * compiles down to a direct call of the Method, once the call site has been retargeted.
+ *
+ * @author Anders Granau Høfft
+ */
+final class LazyLambdas {
+
+	private static final MethodHandle COUNT;
+	static {
+		try {
+			COUNT = MethodHandles.lookup().findVirtual(Stub.class, "count", MethodType.methodType(void.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * The factories of the stubs, per interface and signature, i.e. a MethodHandle taking the invoker and returning the stub.
+	 */
+	private static final ClassValue<ConcurrentMap<String, MethodHandle>> FACTORIES = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+		@Override
+		protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> interfaceClass) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private LazyLambdas() {}
+
+	/**
+	 * @see LambdaFactory#createLazy(Method, Class, int)
+	 */
+	static <T> T create(Method method, MethodHandle methodHandle, Class<T> interfaceClass, String signatureName, int threshold) throws Throwable {
+		MethodType samMethodType = methodHandle.type().erase();
+		MethodHandle invoker = new Stub(method, methodHandle.asType(samMethodType), interfaceClass, signatureName, threshold).callSite.dynamicInvoker();
+		return interfaceClass.cast(getFactory(interfaceClass, signatureName, samMethodType).invoke(invoker));
+	}
+
+	private static MethodHandle getFactory(Class<?> interfaceClass, String signatureName, MethodType samMethodType) throws Throwable {
+		ConcurrentMap<String, MethodHandle> factories = FACTORIES.get(interfaceClass);
+		String key = signatureName + samMethodType.toMethodDescriptorString();
+		MethodHandle factory = factories.get(key);
+		if (factory == null) {
+			MethodHandles.Lookup lookup = Lookups.privateLookupIn(interfaceClass);
+			MethodHandle implementation = lookup.findVirtual(MethodHandle.class, "invokeExact", samMethodType);
+			CallSite site = LambdaMetafactory.metafactory(lookup, signatureName, MethodType.methodType(interfaceClass, MethodHandle.class), samMethodType, implementation, samMethodType);
+			MethodHandle previous = factories.putIfAbsent(key, site.getTarget());
+			factory = previous == null ? site.getTarget() : previous;
+		}
+		return factory;
+	}
+
+	/**
+	 * The call site of a stub, and its invocation counter. Like {@link LazyLambda}, the counter is not synchronized,
+	 * i.e. under contention the stub may inflate a few invocations later than the threshold. The inflation itself happens once.
+	 */
+	private static final class Stub {
+		private final Method method;
+		private final MethodHandle coldTarget;
+		private final Class<?> interfaceClass;
+		private final String signatureName;
+		private final int threshold;
+		private final MutableCallSite callSite;
+		private int invocations;
+		private boolean inflated;
+
+		Stub(Method method, MethodHandle coldTarget, Class<?> interfaceClass, String signatureName, int threshold) {
+			this.method = method;
+			this.coldTarget = coldTarget;
+			this.interfaceClass = interfaceClass;
+			this.signatureName = signatureName;
+			this.threshold = threshold;
+			this.callSite = new MutableCallSite(MethodHandles.foldArguments(coldTarget, COUNT.bindTo(this)));
+		}
+
+		void count() {
+			if (invocations++ >= threshold) {
+				inflate();
+			}
+		}
+
+		/**
+		 * Retargets the call site to the spun lambda. The invocation, which triggered the inflation, proceeds with the cold target.
+		 * If the lambda cannot be spun, the call site is retargeted to the MethodHandle without the counter, i.e. the inflation is not retried.
+		 */
+		private synchronized void inflate() {
+			if (inflated) {
+				return;
+			}
+			inflated = true;
+			MethodHandle target;
+			try {
+				Object lambda = LambdaFactory.create(method, interfaceClass, signatureName, false);
+				target = Lookups.privateLookupIn(interfaceClass).findVirtual(interfaceClass, signatureName, coldTarget.type()).bindTo(lambda);
+			} catch (VirtualMachineError e) {
+				throw e;
+			} catch (Throwable t) {
+				//LambdaFactory has reported a failure to create the lambda to the listeners.
+				FlightRecorderEvents.fallback(method, "The lazy lambda could not be inflated, and keeps invoking a MethodHandle: " + t);
+				target = coldTarget;
+			}
+			callSite.setTarget(target);
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Executable;
+import java.util.Arrays;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * The registered {@link LambdaFactoryListener}s.
+ * <p>
+ * The listeners are stored in a copy-on-write array, i.e. notifying them takes a single volatile read, and no locking.
+ * When no listener is registered, the creation path does not even read the clock.
+ *
+ * @author Anders Granau Høfft
+ */
+final class Listeners {
+
+	private static final LambdaFactoryListener[] NONE = new LambdaFactoryListener[0];
+
+	private static volatile LambdaFactoryListener[] listeners = NONE;
+
+	private Listeners() {}
+
+	static synchronized void add(LambdaFactoryListener listener) {
+		if (listener == null) {
+			throw new NullPointerException("listener");
+		}
+		LambdaFactoryListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+		copy[listeners.length] = listener;
+		listeners = copy;
+	}
+
+	static synchronized boolean remove(LambdaFactoryListener listener) {
+		LambdaFactoryListener[] current = listeners;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == listener) {
+				LambdaFactoryListener[] copy = new LambdaFactoryListener[current.length - 1];
+				System.arraycopy(current, 0, copy, 0, i);
+				System.arraycopy(current, i + 1, copy, i, copy.length - i);
+				listeners = copy.length == 0 ? NONE : copy;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return The start time of a lambda creation, to be passed to {@link #created(Executable, Class, long)}, or 0 if no listener is registered.
+	 */
+	static long start() {
+		return listeners.length == 0 ? 0L : System.nanoTime();
+	}
+
+	static void cacheHit(Executable executable, Class<?> interfaceClass) {
+		for (LambdaFactoryListener listener : listeners) {
+			listener.onCacheHit(executable, interfaceClass);
+		}
+	}
+
+	static void created(Executable executable, Class<?> interfaceClass, long start) {
+		LambdaFactoryListener[] current = listeners;
+		if (current.length == 0 || start == 0L) { //start is 0, if the first listener was added during the creation.
+			return;
+		}
+		long nanos = System.nanoTime() - start;
+		for (LambdaFactoryListener listener : current) {
+			listener.onCreated(executable, interfaceClass, nanos);
+		}
+	}
+
+	static void failed(Executable executable, Class<?> interfaceClass, Throwable failure) {
+		for (LambdaFactoryListener listener : listeners) {
+			listener.onFailure(executable, interfaceClass, failure);
+		}
+	}
+
+}
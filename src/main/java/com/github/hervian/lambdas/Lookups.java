@@ -0,0 +1,80 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Caches the result of {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} per class.
+ * <br>
+ * A private Lookup only depends on the target class, so there is no need to create a new one, every time a lambda is created.
+ * The Lookup is stored in a {@link ClassValue} of the target class, i.e. it does not prevent the class from being unloaded.
+ *
+ * @author Anders Granau Høfft
+ */
+final class Lookups {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ClassValue<MethodHandles.Lookup> PRIVATE_LOOKUPS = new ClassValue<MethodHandles.Lookup>() {
+		@Override
+		protected MethodHandles.Lookup computeValue(Class<?> targetClass) {
+			try {
+				return MethodHandles.privateLookupIn(targetClass, LOOKUP);
+			} catch (IllegalAccessException e) {
+				throw new PrivateLookupFailure(e);
+			}
+		}
+	};
+
+	private Lookups() {}
+
+	/**
+	 * @return A Lookup with private access to the argument provided class.
+	 * @throws IllegalAccessException if the module of the target class does not open the package to lambda.factory,
+	 * or if lambda.factory does not read the module. The failure is not cached.
+	 */
+	static MethodHandles.Lookup privateLookupIn(Class<?> targetClass) throws IllegalAccessException {
+		try {
+			return PRIVATE_LOOKUPS.get(targetClass);
+		} catch (PrivateLookupFailure e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Removes the cached Lookup of the argument provided class.
+	 */
+	static void invalidate(Class<?> targetClass) {
+		PRIVATE_LOOKUPS.remove(targetClass);
+	}
+
+	/**
+	 * Carries the checked IllegalAccessException out of {@link ClassValue#computeValue(Class)}.
+	 */
+	@SuppressWarnings("serial")
+	private static final class PrivateLookupFailure extends RuntimeException {
+		PrivateLookupFailure(IllegalAccessException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized IllegalAccessException getCause() {
+			return (IllegalAccessException) super.getCause();
+		}
+	}
+
+}
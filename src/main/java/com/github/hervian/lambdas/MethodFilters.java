@@ -0,0 +1,73 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Predicate;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Common filters for {@link LambdaFactory#createAll(Class, Predicate)}. Filters can be combined via {@link Predicate#and(Predicate)} etc.
+ *
+ * @author Anders Granau Høfft
+ */
+public final class MethodFilters {
+
+	private MethodFilters() {}
+
+	/**
+	 * @return A filter accepting all methods.
+	 */
+	public static Predicate<Method> all() {
+		return method -> true;
+	}
+
+	/**
+	 * @return A filter accepting public methods.
+	 */
+	public static Predicate<Method> publicMethods() {
+		return method -> Modifier.isPublic(method.getModifiers());
+	}
+
+	/**
+	 * @return A filter accepting non-static methods.
+	 */
+	public static Predicate<Method> instanceMethods() {
+		return method -> !Modifier.isStatic(method.getModifiers());
+	}
+
+	/**
+	 * @return A filter accepting public, non-static JavaBean getters, i.e. methods without parameters named get&lt;Name&gt; (or is&lt;Name&gt; returning boolean).
+	 */
+	public static Predicate<Method> getters() {
+		return publicMethods().and(instanceMethods()).and(method -> method.getParameterCount() == 0
+				&& ((hasPrefix(method, "get") && method.getReturnType() != void.class)
+						|| (hasPrefix(method, "is") && method.getReturnType() == boolean.class)));
+	}
+
+	/**
+	 * @return A filter accepting public, non-static JavaBean setters, i.e. methods named set&lt;Name&gt; with a single parameter.
+	 */
+	public static Predicate<Method> setters() {
+		return publicMethods().and(instanceMethods()).and(method -> method.getParameterCount() == 1 && hasPrefix(method, "set"));
+	}
+
+	private static boolean hasPrefix(Method method, String prefix) {
+		String name = method.getName();
+		return name.length() > prefix.length() && name.startsWith(prefix) && Character.isUpperCase(name.charAt(prefix.length()));
+	}
+
+}
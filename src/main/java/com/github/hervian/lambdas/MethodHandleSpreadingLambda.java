@@ -0,0 +1,55 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A {@link SpreadingLambda} backed by a MethodHandle, which is adapted to the type (Object[])Object via
+ * {@link MethodHandle#asType(MethodType)} and {@link MethodHandle#asSpreader(Class, int)}.
+ * <br>
+ * The adaptation is done once, i.e. an invocation does not perform the access checks and argument validation
+ * that makes {@link java.lang.reflect.Method#invoke(Object, Object...)} slow.
+ * <br>
+ * It is used for Methods with more parameters than the generated SpreadingLambda sub interfaces support.
+ * Since the MethodHandle is not a constant to the JIT, it is slower than the lambdas spun by the LambdaMetafactory.
+ *
+ * @author Anders Granau Høfft
+ */
+final class MethodHandleSpreadingLambda implements SpreadingLambda {
+
+	private final MethodHandle target;
+
+	MethodHandleSpreadingLambda(MethodHandle methodHandle) {
+		int parameterCount = methodHandle.type().parameterCount();
+		//The wrapper types first, such that the arguments are cast strictly, like the LambdaMetafactory does, rather than unboxed and widened, fx an Integer to a long.
+		this.target = methodHandle
+				.asType(methodHandle.type().wrap())
+				.asType(MethodType.genericMethodType(parameterCount))
+				.asSpreader(Object[].class, parameterCount);
+	}
+
+	@Override
+	public Object invoke(Object... args) {
+		try {
+			return (Object) target.invokeExact(args);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.hervian.reflection.Fun;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Caches the resolution of method references to Methods, i.e. the result of {@link Fun#toMethod()}.
+ * <p>
+ * toMethod() serializes the method reference to inspect its SerializedLambda, and then looks up the Method reflectively,
+ * which is far more expensive than a cache hit in the {@link LambdaCache}.
+ * The JVM spins one class per method reference expression (call site), which always refers to the same implementation method.
+ * The resolved Method is therefore stored in a {@link ClassValue} of the method reference's class, which identifies the implementation
+ * without the cost of creating the SerializedLambda. Capturing method references, fx myObject::myMethod, create a new instance per
+ * evaluation, but share the class. The ClassValue does not prevent the class from being unloaded.
+ *
+ * @author Anders Granau Høfft
+ */
+final class MethodReferences {
+
+	private static final ClassValue<AtomicReference<Method>> METHODS = new ClassValue<AtomicReference<Method>>() {
+		@Override
+		protected AtomicReference<Method> computeValue(Class<?> methodReferenceClass) {
+			return new AtomicReference<>();
+		}
+	};
+
+	private MethodReferences() {}
+
+	static Method toMethod(Fun<?> methodRef) {
+		AtomicReference<Method> resolved = METHODS.get(methodRef.getClass());
+		Method method = resolved.get();
+		if (method == null) {
+			Object event = FlightRecorderEvents.beginMethodReferenceResolved();
+			method = methodRef.toMethod();
+			resolved.set(method);
+			FlightRecorderEvents.commitMethodReferenceResolved(event, methodRef.getClass(), method);
+		}
+		return method;
+	}
+
+}
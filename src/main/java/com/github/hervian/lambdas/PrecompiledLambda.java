@@ -0,0 +1,55 @@
+package com.github.hervian.lambdas;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Marks a method, for which an implementation of the given functional interface(s) shall be generated at compile time.
+ * <p>
+ * The annotation is processed by {@link com.github.hervian.lambdas.util.PrecompiledLambdaProcessor}, which generates a plain Java class,
+ * whose single abstract method invokes the annotated method directly.
+ * {@link LambdaFactory#create(Method, Class, String)} (and the other create methods that take an interface) returns an instance of the
+ * generated class, rather than spinning a class at runtime via the LambdaMetafactory. This reduces the startup time of short lived JVMs.
+ * <p>
+ * Example:
+ * <pre>
+ * &#64;PrecompiledLambda(IntBinaryOperator.class)
+ * static int add(int a, int b){ return a+b; }
+ * ...
+ * IntBinaryOperator sam = LambdaFactory.create(method, IntBinaryOperator.class, "applyAsInt"); //No bytecode is spun at runtime.
+ * </pre>
+ * The annotated method must not be private. The interfaces must be functional interfaces, i.e. have a single abstract method,
+ * whose parameters match the method in the same way as described in {@link LambdaFactory#create(Method, Class, String)}.
+ * Hence, the Lambda interface and its super interfaces cannot be used - a plain class implementing one of these would have to implement
+ * every one of their many methods, and would not load any faster than a class spun by the LambdaMetafactory.
+ *
+ * @author Anders Granau Høfft
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface PrecompiledLambda {
+
+	/**
+	 * @return The functional interfaces, which the generated classes shall implement.
+	 */
+	Class<?>[] value();
+
+}
@@ -0,0 +1,72 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.hervian.lambdas.util.PrecompiledLambdaProcessor;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Finds the lambdas generated at compile time for methods annotated with {@link PrecompiledLambda}.
+ * <p>
+ * The {@link PrecompiledLambdaProcessor} generates a registry class per declaring class,
+ * named &lt;binary name of declaring class&gt;{@value PrecompiledLambdaProcessor#REGISTRY_SUFFIX}.
+ * The registry's static get(String) method returns the precompiled lambda for a given key, or null.
+ * The lookup of the registry is done once per declaring class, and stored in a {@link ClassValue}.
+ *
+ * @author Anders Granau Høfft
+ */
+final class PrecompiledLambdas {
+
+	private static final MethodHandle NO_REGISTRY = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, String.class);
+
+	private static final ClassValue<MethodHandle> REGISTRIES = new ClassValue<MethodHandle>() {
+		@Override
+		protected MethodHandle computeValue(Class<?> declaringClass) {
+			try {
+				MethodHandles.Lookup lookup = Lookups.privateLookupIn(declaringClass);
+				Class<?> registry = lookup.findClass(declaringClass.getName() + PrecompiledLambdaProcessor.REGISTRY_SUFFIX);
+				return lookup.findStatic(registry, PrecompiledLambdaProcessor.REGISTRY_METHOD, MethodType.methodType(Object.class, String.class));
+			} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+				return NO_REGISTRY;
+			}
+		}
+	};
+
+	private PrecompiledLambdas() {}
+
+	/**
+	 * @return The precompiled implementation of the interface, which invokes the argument provided method, or null if no such implementation exists.
+	 */
+	static <T> T find(Method method, Class<T> interfaceClass, String signatureName) throws Throwable {
+		MethodHandle registry = REGISTRIES.get(method.getDeclaringClass());
+		if (registry == NO_REGISTRY) {
+			return null;
+		}
+		List<String> parameterTypes = new ArrayList<>();
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			parameterTypes.add(parameterType.getTypeName());
+		}
+		String key = PrecompiledLambdaProcessor.getKey(interfaceClass.getName(), signatureName, method.getName(), parameterTypes);
+		return interfaceClass.cast((Object) registry.invokeExact(key));
+	}
+
+}
@@ -0,0 +1,281 @@
+package com.github.hervian.lambdas;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.hervian.lambdas.util.GenerateLambdaProcessor;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Compiles a property path, fx "customer.address.zip", into a single lambda implementing invoke_for_&lt;type&gt;(Object root).
+ * <p>
+ * Each property is resolved once, in the declared type of the previous property, as the first match of a getter (getZip() or isZip()),
+ * an accessor (zip()) or a field (zip). The getters' and fields' MethodHandles are composed into one MethodHandle, in which each step is guarded by a null check,
+ * i.e. a null root or intermediate value short-circuits the path to null (or to the default value, if the path's type is primitive).
+ * <p>
+ * The LambdaMetafactory only spins classes that invoke a single direct method, so the lambda invokes one of the static invoke_for_&lt;type&gt; methods below,
+ * capturing the composed MethodHandle. The captured MethodHandle is a final field of the spun class, which the JIT trusts as constant.
+ * Hence, if the lambda is itself constant (fx a static final field), the JIT inlines the whole path, as if the getters were called directly.
+ *
+ * @author Anders Granau Høfft
+ */
+final class PropertyPaths {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodHandle IS_NULL;
+	static {
+		try {
+			IS_NULL = LOOKUP.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * The factories of the lambdas, per interface and signature.
+	 */
+	private static final ClassValue<ConcurrentMap<String, MethodHandle>> FACTORIES = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+		@Override
+		protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> interfaceClass) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private PropertyPaths() {}
+
+	/**
+	 * @see LambdaFactory#createPath(Class, String, Class)
+	 */
+	static <T> T create(Class<?> rootType, String path, Class<T> interfaceClass) throws Throwable {
+		MethodHandle pathHandle = compile(rootType, path);
+		Class<?> type = pathHandle.type().returnType();
+		String signatureName = GenerateLambdaProcessor.getMethodName(type.getSimpleName());
+		try {
+			if (interfaceClass.getMethod(signatureName, Object.class).getReturnType() != type) {
+				throw new NoSuchMethodException();
+			}
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(interfaceClass.getName() + " does not declare " + type.getSimpleName() + " " + signatureName + "(Object), which is required by the path "
+					+ rootType.getSimpleName() + "." + path + ". Use fx " + GenerateLambdaProcessor.getInterfaceName(1, type.getSimpleName()) + ".");
+		}
+		return interfaceClass.cast(getFactory(interfaceClass, signatureName, type).invoke(pathHandle));
+	}
+
+	/**
+	 * @return The factory of the lambdas implementing the interface's invoke_for_&lt;type&gt;(Object), i.e. a MethodHandle taking the path's MethodHandle and returning the lambda.
+	 * The class is spun once per interface and type, rather than once per path.
+	 */
+	private static MethodHandle getFactory(Class<?> interfaceClass, String signatureName, Class<?> type) throws Throwable {
+		ConcurrentMap<String, MethodHandle> factories = FACTORIES.get(interfaceClass);
+		MethodHandle factory = factories.get(signatureName);
+		if (factory == null) {
+			MethodType samMethodType = MethodType.methodType(type, Object.class);
+			MethodHandle implementation = LOOKUP.findStatic(PropertyPaths.class, signatureName, samMethodType.insertParameterTypes(0, MethodHandle.class));
+			CallSite site = LambdaMetafactory.metafactory(LOOKUP, signatureName, MethodType.methodType(interfaceClass, MethodHandle.class), samMethodType, implementation, samMethodType);
+			MethodHandle previous = factories.putIfAbsent(signatureName, site.getTarget());
+			factory = previous == null ? site.getTarget() : previous;
+		}
+		return factory;
+	}
+
+	/**
+	 * @return A MethodHandle of type (Object)T, where T is the path's type if it is primitive, and Object otherwise.
+	 */
+	static MethodHandle compile(Class<?> rootType, String path) throws IllegalAccessException {
+		Objects.requireNonNull(rootType, "rootType");
+		if (path == null || path.isEmpty()) {
+			throw new IllegalArgumentException("The path must not be empty.");
+		}
+		MethodHandle pathHandle = MethodHandles.identity(rootType);
+		Class<?> type = rootType;
+		for (String property : path.split("\\.", -1)) {
+			if (type.isPrimitive()) {
+				throw new IllegalArgumentException("Cannot resolve '" + property + "' of the path " + rootType.getSimpleName() + "." + path + ", since the preceding property is a " + type + ".");
+			}
+			MethodHandle step = nullSafe(resolve(type, property, rootType, path));
+			pathHandle = MethodHandles.filterReturnValue(pathHandle, step);
+			type = step.type().returnType();
+		}
+		Class<?> erasedType = type.isPrimitive() ? type : Object.class;
+		return pathHandle.asType(MethodType.methodType(erasedType, Object.class));
+	}
+
+	/**
+	 * @return The MethodHandle, guarded such that a null argument returns null, or the default value of a primitive return type.
+	 */
+	private static MethodHandle nullSafe(MethodHandle getter) {
+		MethodType type = getter.type();
+		MethodHandle isNull = IS_NULL.asType(MethodType.methodType(boolean.class, type.parameterType(0)));
+		MethodHandle defaultValue = MethodHandles.dropArguments(MethodHandles.zero(type.returnType()), 0, type.parameterType(0));
+		return MethodHandles.guardWithTest(isNull, defaultValue, getter);
+	}
+
+	private static MethodHandle resolve(Class<?> type, String property, Class<?> rootType, String path) throws IllegalAccessException {
+		if (property.isEmpty()) {
+			throw new IllegalArgumentException("The path " + rootType.getSimpleName() + "." + path + " contains an empty property.");
+		}
+		String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+		for (String methodName : new String[] {"get" + capitalized, "is" + capitalized, property}) {
+			Method getter = findGetter(type, methodName);
+			if (getter != null) {
+				return lookupFor(getter).unreflect(getter).asType(MethodType.methodType(getter.getReturnType(), type));
+			}
+		}
+		for (Class<?> declaringClass = type; declaringClass != null; declaringClass = declaringClass.getSuperclass()) {
+			for (Field field : declaringClass.getDeclaredFields()) {
+				if (field.getName().equals(property) && !Modifier.isStatic(field.getModifiers())) {
+					return lookupFor(field).unreflectGetter(field).asType(MethodType.methodType(field.getType(), type));
+				}
+			}
+		}
+		throw new IllegalArgumentException(type.getName() + " has neither a getter nor a field named '" + property + "', as required by the path " + rootType.getSimpleName() + "." + path + ".");
+	}
+
+	/**
+	 * @return The public Lookup for a public member of a public class in an exported package, fx the getters of the JDK's types like String and List,
+	 * whose packages are not open to this library. Otherwise a private Lookup in the declaring class.
+	 */
+	private static MethodHandles.Lookup lookupFor(Member member) throws IllegalAccessException {
+		Class<?> declaringClass = member.getDeclaringClass();
+		if (Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers())
+				&& declaringClass.getModule().isExported(declaringClass.getPackageName())) {
+			return MethodHandles.publicLookup();
+		}
+		return Lookups.privateLookupIn(declaringClass);
+	}
+
+	/**
+	 * @return The public (possibly inherited) instance method with no parameters, or else the most specific one declared by the type or one of its super classes, or null.
+	 */
+	private static Method findGetter(Class<?> type, String methodName) {
+		try {
+			Method method = type.getMethod(methodName);
+			if (isGetter(method)) {
+				return method;
+			}
+		} catch (NoSuchMethodException e) {
+			//Not public, look for a declared method below.
+		}
+		for (Class<?> declaringClass = type; declaringClass != null; declaringClass = declaringClass.getSuperclass()) {
+			try {
+				Method method = declaringClass.getDeclaredMethod(methodName);
+				if (isGetter(method)) {
+					return method;
+				}
+			} catch (NoSuchMethodException e) {
+				//Look in the super class.
+			}
+		}
+		return null;
+	}
+
+	private static boolean isGetter(Method method) {
+		return !Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class;
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean invoke_for_boolean(MethodHandle path, Object root) {
+		try {
+			return (boolean) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static char invoke_for_char(MethodHandle path, Object root) {
+		try {
+			return (char) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static byte invoke_for_byte(MethodHandle path, Object root) {
+		try {
+			return (byte) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static short invoke_for_short(MethodHandle path, Object root) {
+		try {
+			return (short) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static int invoke_for_int(MethodHandle path, Object root) {
+		try {
+			return (int) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static float invoke_for_float(MethodHandle path, Object root) {
+		try {
+			return (float) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static long invoke_for_long(MethodHandle path, Object root) {
+		try {
+			return (long) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static double invoke_for_double(MethodHandle path, Object root) {
+		try {
+			return (double) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static Object invoke_for_Object(MethodHandle path, Object root) {
+		try {
+			return (Object) path.invokeExact(root);
+		} catch (Throwable t) {
+			throw Throwables.sneakyThrow(t);
+		}
+	}
+
+}
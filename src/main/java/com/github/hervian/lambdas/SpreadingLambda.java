@@ -0,0 +1,47 @@
+package com.github.hervian.lambdas;
+
+import java.lang.reflect.Method;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * A lambda, which takes its arguments as an array, i.e. it supports Methods of any number of parameters.
+ * <p>
+ * The {@link Lambda} interface only covers Methods of up to 3
+ * parameters (plus the instance of non-static methods), since the number of signatures grows exponentially with the number of parameters.
+ * A SpreadingLambda has a single signature, at the expense of boxing the primitive arguments and the return value.
+ * <p>
+ * Methods with up to 16 parameters (including the instance) are implemented by the LambdaMetafactory,
+ * via the generated sub interfaces SpreadingLambda&lt;n&gt;_Object and SpreadingLambda&lt;n&gt;_void, whose default invoke method spreads the array.
+ * I.e. only 2 interfaces are generated per number of parameters. Methods with more parameters are invoked via a spreading MethodHandle.
+ * <p>
+ * Like the Lambda, the SpreadingLambda rethrows any exception thrown by the Method as is, i.e. checked exceptions are not wrapped.
+ *
+ * @see LambdaFactory#createSpreading(Method)
+ * @author Anders Granau Høfft
+ */
+public interface SpreadingLambda {
+
+	/**
+	 * Invokes the Method.
+	 * @param args The arguments of the Method, preceded by the instance if the Method is non-static. Primitive arguments must be boxed to their exact type.
+	 * @return The value returned by the Method (boxed if primitive), or null if the Method is void.
+	 * @throws IllegalArgumentException if the number of arguments does not match the Method.
+	 * @throws ClassCastException if an argument is not of the Method's parameter type.
+	 */
+	Object invoke(Object... args);
+
+}
@@ -0,0 +1,40 @@
+package com.github.hervian.lambdas;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Utility for rethrowing checked exceptions from methods that do not declare them, just like a lambda spun by the LambdaMetafactory does.
+ *
+ * @author Anders Granau Høfft
+ */
+final class Throwables {
+
+	private Throwables() {}
+
+	/**
+	 * Throws the argument provided Throwable as is, without wrapping it, even if it is a checked exception.
+	 * The return type allows callers to write 'throw sneakyThrow(t);', such that the compiler knows the statement does not complete.
+	 */
+	static RuntimeException sneakyThrow(Throwable t) {
+		throw Throwables.<RuntimeException>sneakyThrow0(t);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> E sneakyThrow0(Throwable t) throws E {
+		throw (E) t;
+	}
+
+}
@@ -1,31 +1,58 @@
 package com.github.hervian.lambdas.util;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public class CombinatoricsUtil {
 
-  static <T> List<List<T>> createPermutationsWithRepetitionsRecursively(List<T> list, int chooseK){
-    List<List<T>> res = new ArrayList<>();
-    if (chooseK<1){
-      res.add(new ArrayList<>());
-      return res;
-    }
+  /**
+   * Iterates over the permutations with repetitions of k elements of the list, without materializing them,
+   * i.e. each permutation is created when it is requested.
+   * <p>
+   * The permutations are returned in a stable order, where the first element varies the fastest, fx [a,a], [b,a], [a,b], [b,b].
+   * @param list The elements.
+   * @param chooseK The number of elements in each permutation. Choosing 0 elements gives a single empty permutation.
+   * @return An Iterator over the list.size()^chooseK permutations.
+   */
+  static <T> Iterator<List<T>> permutationsWithRepetitions(List<T> list, int chooseK){
+    return new Iterator<List<T>>() {
+      private final int[] indices = new int[Math.max(chooseK, 0)];
+      private boolean hasNext = chooseK < 1 || !list.isEmpty();
 
-    for (T t: list){
-      if (chooseK<2){
-        List<T> subList = new ArrayList<>();
-        subList.add(t);
-        res.add(subList);
-      } else {
-        List<List<T>> col = createPermutationsWithRepetitionsRecursively(list, chooseK-1);
-        for (List subList: col){
-          subList.add(t);
-          res.add(subList);
+      @Override
+      public boolean hasNext() {
+        return hasNext;
+      }
+
+      @Override
+      public List<T> next() {
+        if (!hasNext) {
+          throw new NoSuchElementException();
+        }
+        List<T> permutation = new ArrayList<>(indices.length);
+        for (int index : indices) {
+          permutation.add(list.get(index));
+        }
+        hasNext = increment();
+        return permutation;
+      }
+
+      /**
+       * Counts the indices up like an odometer, whose first digit turns the fastest.
+       * @return false if the odometer rolled over, i.e. if all permutations have been returned.
+       */
+      private boolean increment() {
+        for (int digit = 0; digit < indices.length; digit++) {
+          if (++indices[digit] < list.size()) {
+            return true;
+          }
+          indices[digit] = 0;
         }
+        return false;
       }
-    }
-    return res;
+    };
   }
 
 }
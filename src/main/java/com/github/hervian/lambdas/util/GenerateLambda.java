@@ -28,6 +28,11 @@ import java.lang.annotation.Target;
 @interface GenerateLambda {
 
   int maxNumberOfParameters();
+
+  /**
+   * The max number of parameters of the generated SpreadingLambda&lt;n&gt;_&lt;return-type&gt; interfaces. Only 2 interfaces are generated per number of parameters.
+   */
+  int maxNumberOfSpreadingParameters();
   
   MethodParameter[] paramTypes();
   
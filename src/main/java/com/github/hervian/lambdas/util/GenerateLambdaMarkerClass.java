@@ -20,6 +20,7 @@ package com.github.hervian.lambdas.util;
  */
 @GenerateLambda(
 		maxNumberOfParameters=3,
+		maxNumberOfSpreadingParameters=16,
 		paramTypes = {MethodParameter.BOOLEAN,
 									MethodParameter.CHAR,
 									MethodParameter.SHORT,
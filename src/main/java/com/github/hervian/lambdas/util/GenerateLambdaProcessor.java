@@ -1,23 +1,36 @@
 package com.github.hervian.lambdas.util;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
 
 /**
  * Copyright 2016 Anders Granau Høfft
@@ -46,8 +59,8 @@ public class GenerateLambdaProcessor extends AbstractProcessor {
 
 	private static final String END_OF_SIGNATURE = ");";
 	private static final String NEWLINE_TAB = "\n\t";
-	private static final String NEWLINE = "\n";
 	private static final String INTERFACE_NAME = "Lambda";
+	private static final String SPREADING_INTERFACE_NAME = "SpreadingLambda";
 	private static final String PACKAGE = "com.github.hervian.lambdas";
 	
 	static final String METHOD_NAME = "invoke_for_";	
@@ -73,9 +86,22 @@ public class GenerateLambdaProcessor extends AbstractProcessor {
 	private static final String METHOD_NAME_PART_OBJECT 	= " "+METHOD_NAME_OBJECT	+"(";
 	private static final String METHOD_NAME_PART_VOID 		= " "+METHOD_NAME_VOID		+"(";
 	
+	/**
+	 * The processor option, which sets the number of threads writing the source files. Defaults to the number of available processors.
+	 */
+	static final String THREADS_OPTION = "lambda.factory.generator.threads";
+
 	private Filer filer;
+	private int threads;
 	private static boolean fileCreated;
 
+	/**
+	 * Writes the content of a source file.
+	 */
+	private interface SourceWriter {
+		void write(Writer writer) throws IOException;
+	}
+
 	@Override
 	public SourceVersion getSupportedSourceVersion() {
 		return SourceVersion.latestSupported();
@@ -88,9 +114,35 @@ public class GenerateLambdaProcessor extends AbstractProcessor {
     return annotataions;
   }
 	
+	@Override
+	public Set<String> getSupportedOptions() {
+		return Collections.singleton(THREADS_OPTION);
+	}
+
 	@Override
 	public void init(ProcessingEnvironment processingEnv) {
 		filer = processingEnv.getFiler();
+		threads = getThreads(processingEnv.getOptions().get(THREADS_OPTION), processingEnv.getMessager());
+	}
+
+	/**
+	 * @return The number of threads given by the option, or the number of available processors, if the option is not set. An invalid value is reported as a warning, and the default is used.
+	 */
+	static int getThreads(String threadsOption, Messager messager) {
+		int defaultThreads = Runtime.getRuntime().availableProcessors();
+		if (threadsOption == null) {
+			return defaultThreads;
+		}
+		try {
+			int threads = Integer.parseInt(threadsOption.trim());
+			if (threads > 0) {
+				return threads;
+			}
+		} catch (NumberFormatException e) {
+			//Reported below.
+		}
+		messager.printMessage(Diagnostic.Kind.WARNING, "The option -A" + THREADS_OPTION + "=" + threadsOption + " is not a positive number. Using " + defaultThreads + " thread(s).");
+		return defaultThreads;
 	}
 
 	@Override
@@ -110,77 +162,202 @@ public class GenerateLambdaProcessor extends AbstractProcessor {
 	}
 
 	private void generateCode(String packageOfMarkerClass, String className, GenerateLambda generateSignatureContainerAnnotation) {
-		String fqcn = packageOfMarkerClass + "." + className;
-		try (Writer writer = filer.createSourceFile(fqcn).openWriter()) {
-			StringBuilder javaFile = new StringBuilder();
-			javaFile.append("package ").append(packageOfMarkerClass).append(";");
-			javaFile.append("\n\n/**\n * Copyright 2016 Anders Granau Høfft"
-					+ "\n * The invocation methods throws an AbstractMethodError, if arguments provided does not match "
-					+ "\n * the type defined by the Method over which the lambda was created."
-					+ "\n * A typical example of this is that the caller forget to cast a primitive number to its proper type. "
-					+ "\n * Fx. forgetting to explicitly cast a number as a short, byte etc. "
-					+ "\n * The AbstractMethodException will also be thrown if the caller does not provide"
-					+ "\n * an Object instance as the first argument to a non-static method, and vice versa."
-					+ "\n * @author Anders Granau Høfft").append("\n */")
-							.append("\n@javax.annotation.processing.Generated(value=\"com.github.hervian.lambdas.util.GenerateLambdaProcessor\", date=\"").append(new Date()).append("\")")
-							.append("\npublic interface " + className + "{\n");
-			generateAbstractandConcreteMethods(javaFile, generateSignatureContainerAnnotation);
-			javaFile.append("\n}");
-			writer.write(javaFile.toString());
-			fileCreated = true;
-		} catch (IOException e) {
-			throw new RuntimeException("An exception occurred while generating the source file "+METHOD_NAME, e);
+		List<MethodParameter> types = Arrays.asList(generateSignatureContainerAnnotation.paramTypes());
+		int maxNumberOfParams = generateSignatureContainerAnnotation.maxNumberOfParameters();
+		List<String> returnTypes = types.stream().map(type -> type.getTypeAsSourceCodeString()).collect(Collectors.toList());
+		returnTypes.add("void");
+
+		Map<String, SourceWriter> sourceFiles = new LinkedHashMap<>();
+		List<String> subInterfaces = new ArrayList<>();
+		for (int numberOfParams = maxNumberOfParams + 1; numberOfParams >= 0; numberOfParams--) {
+			int numberOfParameters = numberOfParams;
+			for (String returnTypeAsString : returnTypes) {
+				String subInterface = getInterfaceName(className, numberOfParams, returnTypeAsString);
+				sourceFiles.put(subInterface, writer -> generateSubInterface(writer, packageOfMarkerClass, subInterface, className, numberOfParameters, numberOfParameters > maxNumberOfParams, returnTypeAsString, types));
+				subInterfaces.add(subInterface);
+			}
 		}
+		sourceFiles.put(className, writer -> generateLambdaInterface(writer, packageOfMarkerClass, className, subInterfaces));
+		for (int numberOfParams = 0; numberOfParams <= generateSignatureContainerAnnotation.maxNumberOfSpreadingParameters(); numberOfParams++) {
+			int numberOfParameters = numberOfParams;
+			for (String returnTypeAsString : Arrays.asList("Object", "void")) {
+				sourceFiles.put(getSpreadingInterfaceName(numberOfParams, returnTypeAsString), writer -> generateSpreadingInterface(writer, packageOfMarkerClass, numberOfParameters, returnTypeAsString));
+			}
+		}
+		writeSourceFiles(packageOfMarkerClass, sourceFiles);
+		fileCreated = true;
 	}
 
-	private void generateAbstractandConcreteMethods(StringBuilder javaFile, GenerateLambda generateSignatureContainerAnnotation) {
-		MethodParameter[] types = generateSignatureContainerAnnotation.paramTypes();
-		int maxNumberOfParams = generateSignatureContainerAnnotation.maxNumberOfParameters();
-		generateAbstractMethods(javaFile, types, maxNumberOfParams);
+	/**
+	 * Writes the source files concurrently, with the number of threads given by the processor option {@value #THREADS_OPTION}.
+	 * The Filer is not thread safe, so the files are created, opened and closed by the processor's thread, and only their content is written by the worker threads.
+	 * Each file is written straight to the Filer's Writer. The content of a file only depends on the GenerateLambda annotation, i.e. the output is identical from build to build.
+	 */
+	private void writeSourceFiles(String packageOfMarkerClass, Map<String, SourceWriter> sourceFiles) {
+		Map<String, Writer> writers = new LinkedHashMap<>();
+		Throwable failure = null;
+		try {
+			for (String className : sourceFiles.keySet()) {
+				String fqcn = packageOfMarkerClass + "." + className;
+				try {
+					writers.put(className, filer.createSourceFile(fqcn).openWriter());
+				} catch (IOException e) {
+					throw new RuntimeException("An exception occurred while generating the source file "+fqcn, e);
+				}
+			}
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (Map.Entry<String, SourceWriter> sourceFile : sourceFiles.entrySet()) {
+				Writer writer = writers.get(sourceFile.getKey());
+				tasks.add(() -> {
+					Writer bufferedWriter = new BufferedWriter(writer);
+					sourceFile.getValue().write(bufferedWriter);
+					bufferedWriter.flush();
+					return null;
+				});
+			}
+			invokeAll(packageOfMarkerClass, new ArrayList<>(sourceFiles.keySet()), tasks);
+		} catch (Throwable t) {
+			failure = t;
+			throw t;
+		} finally {
+			closeAll(packageOfMarkerClass, writers, failure);
+		}
 	}
 
-	private void generateAbstractMethods(StringBuilder javaFile, MethodParameter[] types, int maxNumberOfParams) {
-		List<MethodParameter> typesList =  Arrays.asList(types);
-		List<String> returnTypes = typesList.stream().map(type -> type.getTypeAsSourceCodeString()).collect(Collectors.toList());
-		returnTypes.add("void");
-		//ICombinatoricsVector<MethodParameter> originalVector = CombinatoricsFactory.createVector(types);
-		generateInterfaceMethodsForStaticCallsWithMaxNumOfArgs(javaFile, typesList, returnTypes, maxNumberOfParams + 1);
-		generateInterfaceMethodCombinationsRecursively(javaFile, typesList, returnTypes, maxNumberOfParams);
-	}
-
-	private void generateInterfaceMethodsForStaticCallsWithMaxNumOfArgs(StringBuilder javaFile, List<MethodParameter> types, List<String> returnTypes, int numberOfParams) {
-		//Generator<MethodParameter> gen = CombinatoricsFactory.createPermutationWithRepetitionGenerator(originalVector, numberOfParams);
-		List<List<MethodParameter>> permutations = CombinatoricsUtil.createPermutationsWithRepetitionsRecursively(types, numberOfParams);
-		for (String returnTypeAsString : returnTypes) {
-			for (List<MethodParameter> paramTypes : permutations) {
-				if (paramTypes.get(0) == MethodParameter.OBJECT) {
-					String parameters = getParametersString(paramTypes, javaFile);
-					javaFile.append(NEWLINE_TAB).append(returnTypeAsString).append(getSignatureExclArgsAndReturn(returnTypeAsString)).append(parameters).append(END_OF_SIGNATURE);
+	/**
+	 * Closes all the writers. A failure to close a writer is added as a suppressed exception to the failure of writing the files, if any,
+	 * or else to the first failure to close a writer, which is thrown once all the writers are closed.
+	 */
+	private static void closeAll(String packageOfMarkerClass, Map<String, Writer> writers, Throwable failure) {
+		RuntimeException closeFailure = null;
+		for (Map.Entry<String, Writer> writer : writers.entrySet()) {
+			try {
+				writer.getValue().close();
+			} catch (IOException e) {
+				RuntimeException exception = new RuntimeException("An exception occurred while generating the source file "+packageOfMarkerClass + "." + writer.getKey(), e);
+				if (failure != null) {
+					failure.addSuppressed(exception);
+				} else if (closeFailure == null) {
+					closeFailure = exception;
+				} else {
+					closeFailure.addSuppressed(exception);
 				}
 			}
 		}
+		if (closeFailure != null) {
+			throw closeFailure;
+		}
 	}
 
-	private void generateInterfaceMethodCombinationsRecursively(StringBuilder javaFile, List<MethodParameter> types, List<String> returnTypes, int numberOfParams) {
-		if (numberOfParams >= 0) {
-			javaFile.append(NEWLINE);
-			List<List<MethodParameter>> permutations = CombinatoricsUtil.createPermutationsWithRepetitionsRecursively(types, numberOfParams);//CombinatoricsFactory.createPermutationWithRepetitionGenerator(originalVector, numberOfParams);
-			for (String returnTypeAsString : returnTypes) {
-				generateInterfaceMethods(permutations, returnTypeAsString, javaFile);
+	private void invokeAll(String packageOfMarkerClass, List<String> classNames, List<Callable<Void>> tasks) {
+		ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(Math.min(threads, tasks.size())) : null;
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (Callable<Void> task : tasks) {
+				futures.add(executor == null ? CompletableFuture.completedFuture(task.call()) : executor.submit(task));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					throw new RuntimeException("An exception occurred while generating the source file "+packageOfMarkerClass + "." + classNames.get(i), e.getCause());
+				}
+			}
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException("An exception occurred while generating the source files of package "+packageOfMarkerClass, e);
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
 			}
-			generateInterfaceMethodCombinationsRecursively(javaFile, types, returnTypes, --numberOfParams);
 		}
 	}
 
-	private void generateInterfaceMethods(List<List<MethodParameter>> permutations, String returnTypeAsString, StringBuilder javaFile) {
-		javaFile.append(NEWLINE);
-		for (List<MethodParameter> paramTypes : permutations) {
-			String parameters = getParametersString(paramTypes, javaFile);
-			javaFile.append(NEWLINE_TAB).append(returnTypeAsString).append(getSignatureExclArgsAndReturn(returnTypeAsString)).append(parameters).append(END_OF_SIGNATURE);
+	private void generateLambdaInterface(Writer javaFile, String packageOfMarkerClass, String className, List<String> subInterfaces) throws IOException {
+		appendHeader(javaFile, packageOfMarkerClass,
+				"\n * The invocation methods throws an AbstractMethodError, if arguments provided does not match "
+				+ "\n * the type defined by the Method over which the lambda was created."
+				+ "\n * A typical example of this is that the caller forget to cast a primitive number to its proper type. "
+				+ "\n * Fx. forgetting to explicitly cast a number as a short, byte etc. "
+				+ "\n * The AbstractMethodException will also be thrown if the caller does not provide"
+				+ "\n * an Object instance as the first argument to a non-static method, and vice versa."
+				+ "\n * <p>"
+				+ "\n * The invocation methods are declared in the super interfaces, which each contain the methods of a given number"
+				+ "\n * of parameters and a given return type. These smaller interfaces can be targeted directly, see LambdaFactory.create(Method, Class).");
+		javaFile.append("\npublic interface ").append(className).append(" extends");
+		javaFile.append(subInterfaces.stream().collect(Collectors.joining(",\n\t\t", "\n\t\t", " {\n")));
+		javaFile.append("\n}");
+	}
+
+	/**
+	 * @param onlyInstanceMethods true if the signatures only exist to support instance methods, whose first parameter is the instance,
+	 * i.e. for the signatures with 1 more parameter than the max.
+	 */
+	private void generateSubInterface(Writer javaFile, String packageOfMarkerClass, String subInterface, String className, int numberOfParams, boolean onlyInstanceMethods, String returnTypeAsString, List<MethodParameter> types) throws IOException {
+		appendHeader(javaFile, packageOfMarkerClass,
+				"\n * The invocation methods of {@link " + className + "}, which take " + numberOfParams + " parameter(s) and return " + returnTypeAsString + "."
+				+ "\n * Lambdas implementing this interface, rather than " + className + ", have a much smaller itable.");
+		javaFile.append("\npublic interface ").append(subInterface).append(" {\n");
+		String signatureExclArgs = returnTypeAsString + getSignatureExclArgsAndReturn(returnTypeAsString);
+		Iterator<List<MethodParameter>> permutations = CombinatoricsUtil.permutationsWithRepetitions(types, onlyInstanceMethods ? numberOfParams - 1 : numberOfParams);
+		while (permutations.hasNext()) {
+			List<MethodParameter> paramTypes = permutations.next();
+			if (onlyInstanceMethods) {
+				paramTypes.add(0, MethodParameter.OBJECT);
+			}
+			javaFile.append(NEWLINE_TAB).append(signatureExclArgs).append(getParametersString(paramTypes)).append(END_OF_SIGNATURE);
 		}
+		javaFile.append("\n}");
 	}
 
-	private String getParametersString(List<MethodParameter> paramTypes, StringBuilder javaFile) {
+	/**
+	 * Generates an interface with a single invocation method taking the given number of Object parameters, and a default implementation
+	 * of SpreadingLambda.invoke(Object...), which spreads the argument array over the invocation method.
+	 * The LambdaMetafactory implements the invocation method, i.e. the call to the Method is a direct call that the JIT can inline.
+	 */
+	private void generateSpreadingInterface(Writer javaFile, String packageOfMarkerClass, int numberOfParams, String returnTypeAsString) throws IOException {
+		String interfaceName = getSpreadingInterfaceName(numberOfParams, returnTypeAsString);
+		appendHeader(javaFile, packageOfMarkerClass,
+				"\n * A SpreadingLambda for Methods with " + numberOfParams + " parameter(s) (including the instance of a non-static method) that return " + returnTypeAsString + "."
+				+ "\n * The invocation method is implemented by the LambdaMetafactory, see LambdaFactory.createSpreading(Method).");
+		javaFile.append("\npublic interface ").append(interfaceName).append(" extends ").append(SPREADING_INTERFACE_NAME).append(" {\n");
+		List<String> parameters = new ArrayList<>();
+		List<String> arguments = new ArrayList<>();
+		for (int i = 0; i < numberOfParams; i++) {
+			parameters.add("Object arg" + (i+1));
+			arguments.add("args[" + i + "]");
+		}
+		String signatureName = getMethodName(returnTypeAsString);
+		javaFile.append(NEWLINE_TAB).append(returnTypeAsString).append(" ").append(signatureName).append("(").append(String.join(", ", parameters)).append(END_OF_SIGNATURE).append("\n");
+		javaFile.append(NEWLINE_TAB).append("@Override");
+		javaFile.append(NEWLINE_TAB).append("default Object invoke(Object... args) {");
+		javaFile.append(NEWLINE_TAB).append("\tif (args.length != ").append(String.valueOf(numberOfParams)).append(") {");
+		javaFile.append(NEWLINE_TAB).append("\t\tthrow new IllegalArgumentException(\"Expected ").append(String.valueOf(numberOfParams)).append(" argument(s), but got \" + args.length);");
+		javaFile.append(NEWLINE_TAB).append("\t}");
+		String invocation = signatureName + "(" + String.join(", ", arguments) + ");";
+		if (returnTypeAsString.equals("void")) {
+			javaFile.append(NEWLINE_TAB).append("\t").append(invocation);
+			javaFile.append(NEWLINE_TAB).append("\treturn null;");
+		} else {
+			javaFile.append(NEWLINE_TAB).append("\treturn ").append(invocation);
+		}
+		javaFile.append(NEWLINE_TAB).append("}");
+		javaFile.append("\n\n}");
+	}
+
+	/**
+	 * The Generated annotation has no date, such that the generated sources are identical from build to build.
+	 */
+	private void appendHeader(Writer javaFile, String packageOfMarkerClass, String description) throws IOException {
+		javaFile.append("package ").append(packageOfMarkerClass).append(";");
+		javaFile.append("\n\n/**\n * Copyright 2016 Anders Granau Høfft")
+				.append(description)
+				.append("\n * @author Anders Granau Høfft").append("\n */")
+				.append("\n@javax.annotation.processing.Generated(value=\"com.github.hervian.lambdas.util.GenerateLambdaProcessor\")");
+	}
+
+	private String getParametersString(List<MethodParameter> paramTypes) {
 		AtomicInteger atomicInteger = new AtomicInteger(1);
 		return paramTypes.stream()
 				.map(t -> t.getTypeAsSourceCodeString() + " arg" + atomicInteger.getAndIncrement())
@@ -219,5 +396,26 @@ public class GenerateLambdaProcessor extends AbstractProcessor {
 		}
 	}
 
+	/**
+	 * @param numberOfParams The number of parameters of the invocation method, i.e. including the instance in case of a non-static method.
+	 * @param returnType The simple name of the return type, where all non-primitive types are represented by "Object".
+	 * @return The simple name of the generated sub interface of Lambda, which contains the invocation methods with the given number of parameters and return type, fx "Lambda2_int".
+	 */
+	public static String getInterfaceName(int numberOfParams, String returnType){
+		return getInterfaceName(INTERFACE_NAME, numberOfParams, getMethodName(returnType).substring(METHOD_NAME.length()));
+	}
+
+	/**
+	 * @param numberOfParams The number of parameters of the invocation method, i.e. including the instance in case of a non-static method.
+	 * @param returnType The simple name of the return type. All return types but void are represented by "Object".
+	 * @return The simple name of the generated SpreadingLambda sub interface, fx "SpreadingLambda6_Object" or "SpreadingLambda6_void".
+	 */
+	public static String getSpreadingInterfaceName(int numberOfParams, String returnType){
+		return getInterfaceName(SPREADING_INTERFACE_NAME, numberOfParams, returnType.equals("void") ? "void" : "Object");
+	}
+
+	private static String getInterfaceName(String className, int numberOfParams, String returnType){
+		return className + numberOfParams + "_" + returnType;
+	}
 
 }
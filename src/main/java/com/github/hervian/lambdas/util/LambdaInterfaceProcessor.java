@@ -0,0 +1,211 @@
+package com.github.hervian.lambdas.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Generates the application specific Lambda interfaces requested by the com.github.hervian.lambdas.LambdaInterface annotation.
+ * <p>
+ * The signatures are computed like those generated by the {@link GenerateLambdaProcessor}, i.e. primitive types are kept and all other types are erased to Object,
+ * and the instance is the first parameter of an instance method. The methods of the generated interface are sorted by number of parameters, return type
+ * and parameter types (in the order of {@link MethodParameter}), such that the interface is identical from build to build.
+ * <p>
+ * Like the {@link PrecompiledLambdaProcessor}, the processor is registered as a service, and references the annotation by name only.
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaInterfaceProcessor extends AbstractProcessor {
+
+	private static final String ANNOTATION = "com.github.hervian.lambdas.LambdaInterface";
+	private static final String NEWLINE_TAB = "\n\t";
+	private static final int DEFAULT_MAX_NUMBER_OF_PARAMETERS = 255;
+	/**
+	 * The max number of parameter slots of a JVM method, including the slot of this.
+	 */
+	private static final int MAX_NUMBER_OF_SLOTS = 255;
+
+	private Filer filer;
+	private Messager messager;
+	private Elements elements;
+	private Types types;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(ANNOTATION);
+	}
+
+	@Override
+	public void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		filer = processingEnv.getFiler();
+		messager = processingEnv.getMessager();
+		elements = processingEnv.getElementUtils();
+		types = processingEnv.getTypeUtils();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement annotation = elements.getTypeElement(ANNOTATION);
+		if (annotation == null || roundEnv.processingOver()) {
+			return false;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+			TypeElement annotatedType = (TypeElement) element;
+			for (AnnotationMirror mirror : annotatedType.getAnnotationMirrors()) {
+				if (types.isSameType(mirror.getAnnotationType(), annotation.asType())) {
+					generateInterface(annotatedType, mirror);
+				}
+			}
+		}
+		return true;
+	}
+
+	private void generateInterface(TypeElement annotatedType, AnnotationMirror mirror) {
+		String name = null;
+		List<TypeElement> targets = new ArrayList<>();
+		int maxNumberOfParams = DEFAULT_MAX_NUMBER_OF_PARAMETERS;
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+			switch (entry.getKey().getSimpleName().toString()) {
+			case "name":
+				name = (String) entry.getValue().getValue();
+				break;
+			case "targets":
+				for (Object value : (List<?>) entry.getValue().getValue()) {
+					targets.add((TypeElement) types.asElement((TypeMirror) ((AnnotationValue) value).getValue()));
+				}
+				break;
+			case "maxNumberOfParameters":
+				maxNumberOfParams = (Integer) entry.getValue().getValue();
+				break;
+			}
+		}
+		if (name == null || !SourceVersion.isIdentifier(name) || SourceVersion.isKeyword(name)) {
+			error(annotatedType, "The name of the LambdaInterface must be a Java identifier: " + name);
+			return;
+		}
+		if (targets.isEmpty()) {
+			targets.add(annotatedType);
+		}
+
+		Map<String, String> signatures = new TreeMap<>();
+		for (TypeElement target : targets) {
+			for (Element member : target.getEnclosedElements()) {
+				if (member.getKind() == ElementKind.METHOD || (member.getKind() == ElementKind.CONSTRUCTOR && !target.getModifiers().contains(Modifier.ABSTRACT))) {
+					addSignature(signatures, (ExecutableElement) member, maxNumberOfParams);
+				}
+			}
+		}
+
+		String packageName = elements.getPackageOf(annotatedType).getQualifiedName().toString();
+		String fqcn = packageName.isEmpty() ? name : packageName + "." + name;
+		List<Element> originatingElements = new ArrayList<>(targets);
+		originatingElements.add(annotatedType);
+		try (Writer writer = filer.createSourceFile(fqcn, originatingElements.toArray(new Element[0])).openWriter()) {
+			if (!packageName.isEmpty()) {
+				writer.append("package ").append(packageName).append(";\n\n");
+			}
+			writer.append("/**\n * The invocation methods needed by the methods and constructors of ")
+					.append(targets.stream().map(t -> "{@link " + types.erasure(t.asType()) + "}").reduce((a, b) -> a + ", " + b).get()).append(".")
+					.append("\n * Use it in place of com.github.hervian.lambdas.Lambda, see LambdaFactory.create(Method, Class).")
+					.append("\n * Generated by ").append(LambdaInterfaceProcessor.class.getName()).append(". Do not edit.\n */");
+			writer.append("\n@javax.annotation.processing.Generated(value=\"").append(LambdaInterfaceProcessor.class.getName()).append("\")");
+			writer.append("\npublic interface ").append(name).append(" {\n");
+			for (String signature : signatures.values()) {
+				writer.append(NEWLINE_TAB).append(signature);
+			}
+			writer.append("\n\n}");
+		} catch (IOException e) {
+			throw new RuntimeException("An exception occurred while generating the source file "+fqcn, e);
+		}
+	}
+
+	/**
+	 * Adds the signature of the method to the map, keyed by a string, which sorts the signatures by number of parameters, return type and parameter types.
+	 */
+	private void addSignature(Map<String, String> signatures, ExecutableElement executable, int maxNumberOfParams) {
+		List<MethodParameter> parameterTypes = new ArrayList<>();
+		if (executable.getKind() == ElementKind.METHOD && !executable.getModifiers().contains(Modifier.STATIC)) {
+			parameterTypes.add(MethodParameter.OBJECT);
+		}
+		executable.getParameters().forEach(p -> parameterTypes.add(toMethodParameter(p.asType())));
+		if (parameterTypes.size() > maxNumberOfParams) {
+			messager.printMessage(Diagnostic.Kind.NOTE, "Skipped, since it takes more than " + maxNumberOfParams + " parameter(s).", executable);
+			return;
+		}
+		//The invocation method is an instance method, i.e. this takes a slot, and a long or double takes 2.
+		int numberOfSlots = 1;
+		for (MethodParameter parameterType : parameterTypes) {
+			numberOfSlots += parameterType == MethodParameter.LONG || parameterType == MethodParameter.DOUBLE ? 2 : 1;
+		}
+		if (numberOfSlots > MAX_NUMBER_OF_SLOTS) {
+			messager.printMessage(Diagnostic.Kind.NOTE, "Skipped, since its invocation method would take more than " + MAX_NUMBER_OF_SLOTS + " JVM parameter slots.", executable);
+			return;
+		}
+		TypeMirror returnType = executable.getKind() == ElementKind.CONSTRUCTOR ? null : executable.getReturnType();
+		boolean isVoid = returnType != null && returnType.getKind() == TypeKind.VOID;
+		MethodParameter returnParameter = returnType == null ? MethodParameter.OBJECT : toMethodParameter(returnType);
+		String returnTypeAsString = isVoid ? "void" : returnParameter.getTypeAsSourceCodeString();
+
+		StringBuilder key = new StringBuilder(String.format("%03d", parameterTypes.size())).append(isVoid ? 'Z' : (char) ('A' + returnParameter.ordinal()));
+		List<String> parameters = new ArrayList<>();
+		for (MethodParameter parameterType : parameterTypes) {
+			key.append((char) ('A' + parameterType.ordinal()));
+			parameters.add(parameterType.getTypeAsSourceCodeString() + " arg" + (parameters.size() + 1));
+		}
+		signatures.put(key.toString(), returnTypeAsString + " " + GenerateLambdaProcessor.getMethodName(returnTypeAsString) + "(" + String.join(", ", parameters) + ");");
+	}
+
+	private static MethodParameter toMethodParameter(TypeMirror type) {
+		return type.getKind().isPrimitive() ? MethodParameter.valueOf(type.getKind().name()) : MethodParameter.OBJECT;
+	}
+
+	private void error(Element element, String message) {
+		messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
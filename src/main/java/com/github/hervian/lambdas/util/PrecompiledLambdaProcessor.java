@@ -0,0 +1,349 @@
+package com.github.hervian.lambdas.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Generates the implementations of the functional interfaces requested by the com.github.hervian.lambdas.PrecompiledLambda annotation.
+ * <p>
+ * For each class declaring annotated methods, a registry class named &lt;declaring class&gt;{@value #REGISTRY_SUFFIX} is generated
+ * in the same package. The registry contains a nested class per annotated method and interface, and a static method,
+ * {@value #REGISTRY_METHOD}(String), which returns an instance of the nested class matching the key created by
+ * {@link #getKey(String, String, String, List)}, or null.
+ * <p>
+ * The processor is registered as a service, i.e. it is picked up automatically when lambda-factory is on the processor path.
+ * Since the annotation is referenced by name only, the processor does not depend on the classes generated by the {@link GenerateLambdaProcessor}.
+ *
+ * @author Anders Granau Høfft
+ */
+public class PrecompiledLambdaProcessor extends AbstractProcessor {
+
+	public static final String REGISTRY_SUFFIX = "$$PrecompiledLambdas";
+	public static final String REGISTRY_METHOD = "get";
+
+	private static final String ANNOTATION = "com.github.hervian.lambdas.PrecompiledLambda";
+	private static final String NEWLINE_TAB = "\n\t";
+
+	private Filer filer;
+	private Messager messager;
+	private Elements elements;
+	private Types types;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(ANNOTATION);
+	}
+
+	@Override
+	public void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		filer = processingEnv.getFiler();
+		messager = processingEnv.getMessager();
+		elements = processingEnv.getElementUtils();
+		types = processingEnv.getTypeUtils();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement annotation = elements.getTypeElement(ANNOTATION);
+		if (annotation == null || roundEnv.processingOver()) {
+			return false;
+		}
+		Map<TypeElement, List<Target>> targetsByClass = new LinkedHashMap<>();
+		for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+			ExecutableElement method = (ExecutableElement) element;
+			TypeElement declaringClass = (TypeElement) method.getEnclosingElement();
+			if (!isAccessible(method)) {
+				continue;
+			}
+			for (TypeMirror interfaceType : getInterfaces(method, annotation)) {
+				Target target = createTarget(method, (TypeElement) types.asElement(interfaceType));
+				if (target != null) {
+					targetsByClass.computeIfAbsent(declaringClass, c -> new ArrayList<>()).add(target);
+				}
+			}
+		}
+		targetsByClass.forEach(this::generateRegistry);
+		return true;
+	}
+
+	/**
+	 * @param interfaceName The binary name of the interface, fx. java.util.function.IntBinaryOperator
+	 * @param signatureName The name of the interface method, fx. applyAsInt
+	 * @param methodName The name of the method invoked by the lambda.
+	 * @param parameterTypes The binary names of the erased parameter types of the method, using [] as array suffix, i.e. as returned by {@link Class#getTypeName()}.
+	 * @return The key, which identifies a precompiled lambda in the registry of the method's declaring class.
+	 */
+	public static String getKey(String interfaceName, String signatureName, String methodName, List<String> parameterTypes) {
+		return interfaceName + "#" + signatureName + "#" + methodName + "(" + String.join(",", parameterTypes) + ")";
+	}
+
+	private boolean isAccessible(ExecutableElement method) {
+		if (method.getModifiers().contains(Modifier.PRIVATE)) {
+			error(method, "Private methods cannot be precompiled. Use LambdaFactory at runtime instead.");
+			return false;
+		}
+		for (Element enclosing = method.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+			TypeElement type = (TypeElement) enclosing;
+			if (type.getModifiers().contains(Modifier.PRIVATE) || (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)) {
+				error(method, "Methods of private, local or anonymous classes cannot be precompiled.");
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<TypeMirror> getInterfaces(ExecutableElement method, TypeElement annotation) {
+		List<TypeMirror> interfaces = new ArrayList<>();
+		for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+			if (!types.isSameType(mirror.getAnnotationType(), annotation.asType())) {
+				continue;
+			}
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+				for (Object value : (List<?>) entry.getValue().getValue()) {
+					interfaces.add((TypeMirror) ((AnnotationValue) value).getValue());
+				}
+			}
+		}
+		return interfaces;
+	}
+
+	private Target createTarget(ExecutableElement method, TypeElement interfaceElement) {
+		if (interfaceElement.getKind() != ElementKind.INTERFACE) {
+			error(method, interfaceElement + " is not an interface.");
+			return null;
+		}
+		ExecutableElement signature = getSingleAbstractMethod(interfaceElement);
+		if (signature == null) {
+			error(method, interfaceElement + " is not a functional interface, i.e. it does not have exactly one abstract method.");
+			return null;
+		}
+		boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+		List<TypeMirror> methodParameters = new ArrayList<>();
+		if (!isStatic) {
+			methodParameters.add(types.erasure(method.getEnclosingElement().asType()));
+		}
+		method.getParameters().forEach(p -> methodParameters.add(types.erasure(p.asType())));
+		List<TypeMirror> signatureParameters = new ArrayList<>();
+		signature.getParameters().forEach(p -> signatureParameters.add(types.erasure(p.asType())));
+		if (methodParameters.size() != signatureParameters.size()) {
+			error(method, signature + " of " + interfaceElement + " takes " + signatureParameters.size() + " parameter(s), but the method requires " + methodParameters.size()
+					+ (isStatic ? "." : " (the first parameter being the instance)."));
+			return null;
+		}
+		for (int i = 0; i < methodParameters.size(); i++) {
+			if (!isAdaptable(signatureParameters.get(i), methodParameters.get(i))) {
+				error(method, "Parameter " + (i+1) + " of " + signature + " in " + interfaceElement + " cannot be converted to " + methodParameters.get(i) + ".");
+				return null;
+			}
+		}
+		TypeMirror methodReturnType = types.erasure(method.getReturnType());
+		TypeMirror signatureReturnType = types.erasure(signature.getReturnType());
+		if (signatureReturnType.getKind() != TypeKind.VOID && !types.isAssignable(methodReturnType, signatureReturnType)) {
+			error(method, "The return type of the method cannot be converted to the return type of " + signature + " in " + interfaceElement + ".");
+			return null;
+		}
+		return new Target(method, interfaceElement, signature, methodParameters, signatureParameters);
+	}
+
+	/**
+	 * Follows the rules of the LambdaMetafactory: primitives must be widened, whereas references may be cast.
+	 */
+	private boolean isAdaptable(TypeMirror from, TypeMirror to) {
+		if (to.getKind().isPrimitive() || from.getKind().isPrimitive()) {
+			return types.isAssignable(from, to);
+		}
+		return types.isAssignable(from, to) || types.isSubtype(to, from);
+	}
+
+	private ExecutableElement getSingleAbstractMethod(TypeElement interfaceElement) {
+		ExecutableElement singleAbstractMethod = null;
+		for (Element member : elements.getAllMembers(interfaceElement)) {
+			if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.ABSTRACT) || isPublicObjectMethod((ExecutableElement) member)) {
+				continue;
+			}
+			if (singleAbstractMethod != null) {
+				return null;
+			}
+			singleAbstractMethod = (ExecutableElement) member;
+		}
+		return singleAbstractMethod;
+	}
+
+	private boolean isPublicObjectMethod(ExecutableElement method) {
+		String name = method.getSimpleName().toString();
+		int numberOfParams = method.getParameters().size();
+		return (name.equals("equals") && numberOfParams == 1)
+				|| (name.equals("hashCode") && numberOfParams == 0)
+				|| (name.equals("toString") && numberOfParams == 0);
+	}
+
+	private void generateRegistry(TypeElement declaringClass, List<Target> targets) {
+		String packageName = elements.getPackageOf(declaringClass).getQualifiedName().toString();
+		String binaryName = elements.getBinaryName(declaringClass).toString();
+		String registryName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + REGISTRY_SUFFIX;
+		String declaringClassName = types.erasure(declaringClass.asType()).toString();
+
+		StringBuilder javaFile = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			javaFile.append("package ").append(packageName).append(";\n\n");
+		}
+		javaFile.append("/**\n * The lambdas precompiled for methods of {@link ").append(declaringClassName).append("}.")
+				.append("\n * Generated by ").append(PrecompiledLambdaProcessor.class.getName()).append(". Do not edit.\n */");
+		javaFile.append("\n@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+		javaFile.append("\nfinal class ").append(registryName).append(" {\n");
+		javaFile.append(NEWLINE_TAB).append("private ").append(registryName).append("() {}\n");
+
+		javaFile.append(NEWLINE_TAB).append("static Object ").append(REGISTRY_METHOD).append("(String key) {");
+		javaFile.append(NEWLINE_TAB).append("\tswitch (key) {");
+		for (int i = 0; i < targets.size(); i++) {
+			javaFile.append(NEWLINE_TAB).append("\tcase \"").append(getKey(targets.get(i))).append("\": return new Lambda").append(i).append("();");
+		}
+		javaFile.append(NEWLINE_TAB).append("\tdefault: return null;");
+		javaFile.append(NEWLINE_TAB).append("\t}");
+		javaFile.append(NEWLINE_TAB).append("}\n");
+
+		boolean sneakyThrowRequired = false;
+		for (int i = 0; i < targets.size(); i++) {
+			sneakyThrowRequired |= generateLambdaClass(javaFile, "Lambda" + i, declaringClassName, targets.get(i));
+		}
+		if (sneakyThrowRequired) {
+			javaFile.append(NEWLINE_TAB).append("private static <E extends Throwable> RuntimeException sneakyThrow(Throwable t) throws E {");
+			javaFile.append(NEWLINE_TAB).append("\tthrow (E) t;");
+			javaFile.append(NEWLINE_TAB).append("}\n");
+		}
+		javaFile.append("\n}");
+
+		String fqcn = packageName.isEmpty() ? registryName : packageName + "." + registryName;
+		try (Writer writer = filer.createSourceFile(fqcn, declaringClass).openWriter()) {
+			writer.write(javaFile.toString());
+		} catch (IOException e) {
+			throw new RuntimeException("An exception occurred while generating the source file "+fqcn, e);
+		}
+	}
+
+	/**
+	 * @return true if the generated class uses the sneakyThrow method, i.e. if the method declares exceptions.
+	 */
+	private boolean generateLambdaClass(StringBuilder javaFile, String className, String declaringClassName, Target target) {
+		ExecutableElement method = target.method;
+		boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+		String interfaceName = types.erasure(target.interfaceElement.asType()).toString();
+		TypeMirror signatureReturnType = types.erasure(target.signature.getReturnType());
+
+		List<String> parameters = new ArrayList<>();
+		List<String> arguments = new ArrayList<>();
+		for (int i = 0; i < target.signatureParameters.size(); i++) {
+			TypeMirror signatureParameter = target.signatureParameters.get(i);
+			TypeMirror methodParameter = target.methodParameters.get(i);
+			String arg = "arg" + (i+1);
+			parameters.add(signatureParameter + " " + arg);
+			arguments.add(methodParameter.getKind().isPrimitive() || types.isSameType(signatureParameter, methodParameter) ? arg : "((" + methodParameter + ") " + arg + ")");
+		}
+		String receiver = isStatic ? declaringClassName : arguments.remove(0);
+		String invocation = receiver + "." + method.getSimpleName() + "(" + String.join(", ", arguments) + ")";
+		String statement = signatureReturnType.getKind() == TypeKind.VOID ? invocation + ";" : "return " + invocation + ";";
+		boolean throwsExceptions = !method.getThrownTypes().isEmpty();
+
+		javaFile.append(NEWLINE_TAB).append("private static final class ").append(className).append(" implements ").append(interfaceName).append(" {");
+		javaFile.append(NEWLINE_TAB).append("\t@Override");
+		javaFile.append(NEWLINE_TAB).append("\tpublic ").append(signatureReturnType).append(" ").append(target.signature.getSimpleName())
+				.append("(").append(String.join(", ", parameters)).append(") {");
+		if (throwsExceptions) {
+			javaFile.append(NEWLINE_TAB).append("\t\ttry {");
+			javaFile.append(NEWLINE_TAB).append("\t\t\t").append(statement);
+			javaFile.append(NEWLINE_TAB).append("\t\t} catch (Throwable t) {");
+			javaFile.append(NEWLINE_TAB).append("\t\t\tthrow ").append("sneakyThrow(t);");
+			javaFile.append(NEWLINE_TAB).append("\t\t}");
+		} else {
+			javaFile.append(NEWLINE_TAB).append("\t\t").append(statement);
+		}
+		javaFile.append(NEWLINE_TAB).append("\t}");
+		javaFile.append(NEWLINE_TAB).append("}\n");
+		return throwsExceptions;
+	}
+
+	private String getKey(Target target) {
+		List<String> parameterTypes = new ArrayList<>();
+		target.method.getParameters().forEach(p -> parameterTypes.add(getBinaryName(types.erasure(p.asType()))));
+		return getKey(elements.getBinaryName(target.interfaceElement).toString(), target.signature.getSimpleName().toString(),
+				target.method.getSimpleName().toString(), parameterTypes);
+	}
+
+	private String getBinaryName(TypeMirror type) {
+		switch (type.getKind()) {
+		case ARRAY: return getBinaryName(((ArrayType) type).getComponentType()) + "[]";
+		case DECLARED: return elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+		default: return type.toString();
+		}
+	}
+
+	private void error(Element element, String message) {
+		messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	private static final class Target {
+		private final ExecutableElement method;
+		private final TypeElement interfaceElement;
+		private final ExecutableElement signature;
+		private final List<TypeMirror> methodParameters;
+		private final List<TypeMirror> signatureParameters;
+
+		Target(ExecutableElement method, TypeElement interfaceElement, ExecutableElement signature, List<TypeMirror> methodParameters, List<TypeMirror> signatureParameters) {
+			this.method = method;
+			this.interfaceElement = interfaceElement;
+			this.signature = signature;
+			this.methodParameters = methodParameters;
+			this.signatureParameters = signatureParameters;
+		}
+	}
+
+}
@@ -1,6 +1,10 @@
 open module lambda.factory {
   requires java.compiler;
   requires safety.mirror;
+  requires static java.management;
+  requires static jdk.jfr;
   exports com.github.hervian.lambdas;
   exports com.github.hervian.lambdas.util;
+  uses com.github.hervian.lambdas.LambdaEngine;
+  provides javax.annotation.processing.Processor with com.github.hervian.lambdas.util.PrecompiledLambdaProcessor, com.github.hervian.lambdas.util.LambdaInterfaceProcessor;
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class BindTest {
+
+	public static class Service {
+		private final String name;
+		public Service(String name) { this.name = name; }
+		public String greet(String greeting) { return greeting + " " + name; }
+		public int sum(int a, int b, int c) { return a + b + c; }
+		public void fail() throws IOException { throw new IOException("checked"); }
+		static String log(String level, String message, int code) { return level + ": " + message + " (" + code + ")"; }
+		static String describe(Class<?> type, String suffix) { return type.getSimpleName() + suffix; }
+	}
+
+	public static class SubService extends Service {
+		public SubService() { super("sub"); }
+		@Override public String greet(String greeting) { return greeting + " from sub"; }
+	}
+
+	@Test
+	public void test_bind() throws Throwable {
+		Method greet = Service.class.getMethod("greet", String.class);
+		Lambda ann = LambdaFactory.bind(greet, new Service("Ann"));
+		Lambda bo = LambdaFactory.bind(greet, new Service("Bo"));
+
+		assertEquals("Hi Ann", ann.invoke_for_Object("Hi"));
+		assertEquals("Hi Bo", bo.invoke_for_Object("Hi"));
+		assertSame("The spun class is reused for other receivers", ann.getClass(), bo.getClass());
+		assertEquals("Hi from sub", LambdaFactory.bind(greet, new SubService()).invoke_for_Object("Hi"));
+	}
+
+	@Test
+	public void test_bind_primitiveParameters() throws Throwable {
+		Lambda sum = LambdaFactory.bind(Service.class.getMethod("sum", int.class, int.class, int.class), new Service("Ann"));
+		assertEquals(6, sum.invoke_for_int(1, 2, 3));
+	}
+
+	@Test
+	public void test_bind_subInterface() throws Throwable {
+		Lambda1_Object greet = LambdaFactory.bind(Service.class.getMethod("greet", String.class), new Service("Ann"), Lambda1_Object.class);
+		assertEquals("Hello Ann", greet.invoke_for_Object("Hello"));
+	}
+
+	@Test
+	public void test_partial() throws Throwable {
+		Method log = Service.class.getDeclaredMethod("log", String.class, String.class, int.class);
+
+		Lambda warn = LambdaFactory.partial(log, "WARN");
+		assertEquals("WARN: Disk full (3)", warn.invoke_for_Object("Disk full", 3));
+
+		Lambda1_Object diskFull = LambdaFactory.partialAs(log, Lambda1_Object.class, "ERROR", "Disk full");
+		assertEquals("ERROR: Disk full (7)", diskFull.invoke_for_Object(7));
+
+		Lambda all = LambdaFactory.partial(log, "INFO", null, 1);
+		assertEquals("INFO: null (1)", all.invoke_for_Object());
+
+		Lambda none = LambdaFactory.partial(log);
+		assertEquals("A: b (2)", none.invoke_for_Object("A", "b", 2));
+	}
+
+	@Test
+	public void test_partial_withoutArguments_isTheCreatedLambda() throws Throwable {
+		Method log = Service.class.getDeclaredMethod("log", String.class, String.class, int.class);
+		assertSame(LambdaFactory.create(log), LambdaFactory.partial(log));
+	}
+
+	@Test
+	public void test_partial_classArgument() throws Throwable {
+		Lambda describe = LambdaFactory.partial(Service.class.getDeclaredMethod("describe", Class.class, String.class), String.class);
+		assertEquals("String!", describe.invoke_for_Object("!"));
+	}
+
+	@Test
+	public void test_partial_instanceMethod() throws Throwable {
+		Lambda sum = LambdaFactory.partial(Service.class.getMethod("sum", int.class, int.class, int.class), new Service("Ann"), 10, 20);
+		assertEquals(33, sum.invoke_for_int(3));
+	}
+
+	@Test
+	public void test_bind_rethrowsCheckedException() throws Throwable {
+		Lambda fail = LambdaFactory.bind(Service.class.getMethod("fail"), new Service("Ann"));
+		try {
+			fail.invoke_for_void();
+			fail("Expected an IOException");
+		} catch (Exception e) {
+			assertTrue(e instanceof IOException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_bind_staticMethod() throws Throwable {
+		LambdaFactory.bind(Service.class.getDeclaredMethod("log", String.class, String.class, int.class), new Service("Ann"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_bind_nullReceiver() throws Throwable {
+		LambdaFactory.bind(Service.class.getMethod("greet", String.class), null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_bind_wrongReceiver() throws Throwable {
+		LambdaFactory.bind(Service.class.getMethod("greet", String.class), "not a service");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_partial_wrongArgumentType() throws Throwable {
+		LambdaFactory.partial(Service.class.getDeclaredMethod("log", String.class, String.class, int.class), "WARN", "message", 3L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_partial_nullPrimitive() throws Throwable {
+		LambdaFactory.partial(Service.class.getDeclaredMethod("log", String.class, String.class, int.class), "WARN", "message", null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_partial_tooManyArguments() throws Throwable {
+		LambdaFactory.partial(Service.class.getDeclaredMethod("log", String.class, String.class, int.class), "WARN", "message", 3, 4);
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Constructor;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class ConstructorLambdaTest {
+
+	static class Dto {
+		final int i;
+		final String s;
+		final double d;
+
+		private Dto() {
+			this(-1, "default", -1d);
+		}
+
+		private Dto(int i, String s) {
+			this(i, s, 0d);
+		}
+
+		Dto(int i, String s, double d) {
+			if (i == 0) {
+				throw new IllegalStateException("zero");
+			}
+			this.i = i;
+			this.s = s;
+			this.d = d;
+		}
+	}
+
+	@Test
+	public void test_create_constructorWithPrimitiveAndObjectArgs() throws Throwable {
+		Constructor<Dto> constructor = Dto.class.getDeclaredConstructor(int.class, String.class);
+
+		Lambda lambda = LambdaFactory.create(constructor);
+		Dto dto = (Dto) lambda.invoke_for_Object(42, "text");
+
+		assertEquals(42, dto.i);
+		assertEquals("text", dto.s);
+		assertNotSame(dto, lambda.invoke_for_Object(42, "text"));
+		assertSame(lambda, LambdaFactory.create(constructor));
+	}
+
+	@Test
+	public void test_create_constructorForSubInterface() throws Throwable {
+		Constructor<Dto> constructor = Dto.class.getDeclaredConstructor(int.class, String.class, double.class);
+
+		Lambda3_Object lambda = LambdaFactory.create(constructor, Lambda3_Object.class);
+		Dto dto = (Dto) lambda.invoke_for_Object(1, "a", 2.5d);
+
+		assertEquals(2.5d, dto.d, 0d);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_create_noArgConstructorAsSupplier() throws Throwable {
+		Supplier<Dto> supplier = LambdaFactory.create(Dto.class.getDeclaredConstructor(), Supplier.class, "get");
+
+		assertEquals("default", supplier.get().s);
+	}
+
+	@Test
+	public void test_createSpreading_constructor() throws Throwable {
+		SpreadingLambda lambda = LambdaFactory.createSpreading(Dto.class.getDeclaredConstructor(int.class, String.class, double.class));
+
+		Dto dto = (Dto) lambda.invoke(7, "b", 1d);
+
+		assertEquals(7, dto.i);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_create_constructorThrows() throws Throwable {
+		LambdaFactory.create(Dto.class.getDeclaredConstructor(int.class, String.class)).invoke_for_Object(0, "zero");
+	}
+
+}
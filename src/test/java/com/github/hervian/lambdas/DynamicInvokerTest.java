@@ -0,0 +1,147 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class DynamicInvokerTest {
+
+	public static class Alarm {
+		public int getPriority() { return 1; }
+	}
+
+	public static class Warning {
+		public int getPriority() { return 2; }
+	}
+
+	public static class Notice {
+		@SuppressWarnings("unused")
+		private int getPriority() { return 3; }
+	}
+
+	public static class Reminder extends Notice {
+		public String describe(String prefix, int count) { return prefix + count; }
+	}
+
+	public static class UrgentAlarm extends Alarm {
+		@Override
+		public int getPriority() { return 10; }
+	}
+
+	public static class Unrelated {}
+
+	@Test
+	public void test_invoke_monomorphic() {
+		DynamicInvoker getPriority = LambdaFactory.createDynamic("getPriority");
+
+		assertEquals(1, getPriority.invoke(new Alarm()));
+		assertEquals(1, getPriority.invoke(new Alarm()));
+		assertEquals(1, getPriority.getDepth());
+		assertFalse(getPriority.isMegamorphic());
+	}
+
+	@Test
+	public void test_invoke_polymorphic_overridingAndInheritedPrivateMethods() {
+		DynamicInvoker getPriority = LambdaFactory.createDynamic("getPriority");
+
+		assertEquals(1, getPriority.invoke(new Alarm()));
+		assertEquals(2, getPriority.invoke(new Warning()));
+		assertEquals(3, getPriority.invoke(new Notice()));
+		assertEquals(3, getPriority.invoke(new Reminder()));
+		assertEquals(10, getPriority.invoke(new UrgentAlarm()));
+		assertEquals(1, getPriority.invoke(new Alarm()));
+		assertEquals(5, getPriority.getDepth());
+	}
+
+	@Test
+	public void test_invoke_concurrently_linksEachClassOnce() throws Exception {
+		DynamicInvoker getPriority = LambdaFactory.createDynamic("getPriority");
+		int threads = 8;
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Object>> priorities = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				priorities.add(executor.submit(() -> {
+					barrier.await();
+					return getPriority.invoke(new Alarm());
+				}));
+			}
+			for (Future<Object> priority : priorities) {
+				assertEquals(1, priority.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, getPriority.getDepth());
+	}
+
+	@Test
+	public void test_invoke_megamorphic() {
+		DynamicInvoker getPriority = LambdaFactory.createDynamic(2, "getPriority");
+
+		assertEquals(1, getPriority.invoke(new Alarm()));
+		assertEquals(2, getPriority.invoke(new Warning()));
+		assertTrue(getPriority.isMegamorphic());
+		assertEquals(3, getPriority.invoke(new Notice()));
+		assertEquals(10, getPriority.invoke(new UrgentAlarm()));
+		assertEquals(1, getPriority.invoke(new Alarm()));
+		assertEquals(2, getPriority.getDepth());
+	}
+
+	@Test
+	public void test_invoke_megamorphicFromTheStart() {
+		DynamicInvoker getPriority = LambdaFactory.createDynamic(0, "getPriority");
+
+		assertEquals(2, getPriority.invoke(new Warning()));
+		assertTrue(getPriority.isMegamorphic());
+	}
+
+	@Test
+	public void test_invoke_withArguments() {
+		DynamicInvoker describe = LambdaFactory.createDynamic("describe", String.class, int.class);
+
+		assertEquals("count: 3", describe.invoke(new Reminder(), "count: ", 3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_invoke_receiverWithoutMethod() {
+		LambdaFactory.createDynamic("getPriority").invoke(new Unrelated());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void test_invoke_nullReceiver() {
+		LambdaFactory.createDynamic("getPriority").invoke((Object) null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createDynamic_negativeDepth() {
+		LambdaFactory.createDynamic(-1, "getPriority");
+	}
+
+}
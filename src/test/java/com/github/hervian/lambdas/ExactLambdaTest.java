@@ -0,0 +1,151 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.github.hervian.lambdas.util.MethodParameter;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class ExactLambdaTest {
+
+	private static final int ITERATIONS = 100_000;
+	private static final Integer BOXED = 1000; //Outside of the Integer cache, i.e. boxing would allocate.
+
+	interface BooleanFunction { boolean apply(boolean a, Integer b); }
+	interface CharFunction { char apply(char a, Integer b); }
+	interface ShortFunction { short apply(short a, Integer b); }
+	interface ByteFunction { byte apply(byte a, Integer b); }
+	interface IntFunction { int apply(int a, Integer b); }
+	interface FloatFunction { float apply(float a, Integer b); }
+	interface LongFunction { long apply(long a, Integer b); }
+	interface DoubleFunction { double apply(double a, Integer b); }
+	interface StringFunction { String apply(String a, Integer b); }
+	interface InstanceFunction { Integer apply(ExactLambdaTest instance, String a); }
+	interface NotFunctional { void a(); void b(); }
+
+	static boolean exact(boolean a, Integer b) { return a; }
+	static char exact(char a, Integer b) { return a; }
+	static short exact(short a, Integer b) { return a; }
+	static byte exact(byte a, Integer b) { return a; }
+	static int exact(int a, Integer b) { return a + b; }
+	static float exact(float a, Integer b) { return a; }
+	static long exact(long a, Integer b) { return a + b; }
+	static double exact(double a, Integer b) { return a; }
+	static String exact(String a, Integer b) { return a; }
+	private Integer length(String a) { return BOXED; }
+	static int size(String a) { return a.length(); }
+
+	@Test
+	public void test_createExact_allMethodParameterTypes() throws Throwable {
+		assertTrue(create(BooleanFunction.class, boolean.class).apply(true, BOXED));
+		assertEquals('c', create(CharFunction.class, char.class).apply('c', BOXED));
+		assertEquals((short) 3, create(ShortFunction.class, short.class).apply((short) 3, BOXED));
+		assertEquals((byte) 4, create(ByteFunction.class, byte.class).apply((byte) 4, BOXED));
+		assertEquals(1005, create(IntFunction.class, int.class).apply(5, BOXED));
+		assertEquals(6f, create(FloatFunction.class, float.class).apply(6f, BOXED), 0f);
+		assertEquals(1007L, create(LongFunction.class, long.class).apply(7L, BOXED));
+		assertEquals(8d, create(DoubleFunction.class, double.class).apply(8d, BOXED), 0d);
+		assertEquals("s", create(StringFunction.class, String.class).apply("s", BOXED));
+	}
+
+	@Test
+	public void test_createExact_instanceMethod() throws Throwable {
+		InstanceFunction function = LambdaFactory.createExact(ExactLambdaTest.class.getDeclaredMethod("length", String.class), InstanceFunction.class);
+
+		assertSame(BOXED, function.apply(this, "abc"));
+		assertSame(function, LambdaFactory.createExact(ExactLambdaTest.class.getDeclaredMethod("length", String.class), InstanceFunction.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_createExact_genericInterface() throws Throwable {
+		Function<String, Integer> function = LambdaFactory.createExact(ExactLambdaTest.class.getDeclaredMethod("size", String.class), Function.class);
+
+		assertEquals(Integer.valueOf(3), function.apply("abc"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createExact_notFunctional() throws Throwable {
+		LambdaFactory.createExact(ExactLambdaTest.class.getDeclaredMethod("exact", int.class, Integer.class), NotFunctional.class);
+	}
+
+	/**
+	 * Verifies that invoking an exact lambda does not allocate, for each of the {@link MethodParameter} types.
+	 * The test runs in the interpreter as well as in compiled code, i.e. it does not depend on escape analysis.
+	 */
+	@Test
+	public void test_createExact_invocationDoesNotAllocate() throws Throwable {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		Method getThreadAllocatedBytes = getThreadAllocatedBytesMethod();
+		Assume.assumeNotNull(getThreadAllocatedBytes);
+		BooleanFunction booleanFunction = create(BooleanFunction.class, boolean.class);
+		CharFunction charFunction = create(CharFunction.class, char.class);
+		ShortFunction shortFunction = create(ShortFunction.class, short.class);
+		ByteFunction byteFunction = create(ByteFunction.class, byte.class);
+		IntFunction intFunction = create(IntFunction.class, int.class);
+		FloatFunction floatFunction = create(FloatFunction.class, float.class);
+		LongFunction longFunction = create(LongFunction.class, long.class);
+		DoubleFunction doubleFunction = create(DoubleFunction.class, double.class);
+		StringFunction stringFunction = create(StringFunction.class, String.class);
+		assertEquals(9, MethodParameter.values().length);
+
+		long sum = 0;
+		long allocatedBefore = (long) getThreadAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += booleanFunction.apply(true, BOXED) ? 1 : 0;
+			sum += charFunction.apply('c', BOXED);
+			sum += shortFunction.apply((short) i, BOXED);
+			sum += byteFunction.apply((byte) i, BOXED);
+			sum += intFunction.apply(i, BOXED);
+			sum += floatFunction.apply(i, BOXED);
+			sum += longFunction.apply(i, BOXED);
+			sum += doubleFunction.apply(i, BOXED);
+			sum += stringFunction.apply("s", BOXED).length();
+		}
+		long allocated = (long) getThreadAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId()) - allocatedBefore;
+
+		assertTrue(sum > 0);
+		assertTrue("Allocated " + allocated + " bytes in " + ITERATIONS + " iterations", allocated < ITERATIONS);
+	}
+
+	private static <T> T create(Class<T> functionalInterface, Class<?> parameterType) throws Throwable {
+		return LambdaFactory.createExact(ExactLambdaTest.class.getDeclaredMethod("exact", parameterType, Integer.class), functionalInterface);
+	}
+
+	/**
+	 * The per thread allocation counter is declared by com.sun.management.ThreadMXBean, whose module (jdk.management) lambda.factory does not require, i.e. it is accessed reflectively.
+	 * @return The getThreadAllocatedBytes(long) Method, or null if the JVM does not provide it.
+	 */
+	private static Method getThreadAllocatedBytesMethod() {
+		try {
+			return Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.invoke.MethodHandles;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class FieldAccessorTest {
+
+	private int intField = 1;
+	private double doubleField = 2d;
+	private boolean booleanField;
+	private String stringField = "a";
+	private Integer boxedField = 3;
+	private final long finalField = 4L;
+	private static long staticLongField = 5L;
+	static char staticCharField = 'c';
+
+	@Test
+	public void test_instanceFields_primitive() throws Exception {
+		FieldAccessor intAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("intField"));
+		FieldAccessor doubleAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("doubleField"));
+		FieldAccessor booleanAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("booleanField"));
+
+		assertEquals(1, intAccessor.get_for_int(this));
+		intAccessor.set_for_int(this, 42);
+		assertEquals(42, intField);
+		doubleAccessor.set_for_double(this, doubleAccessor.get_for_double(this) * 2);
+		assertEquals(4d, doubleField, 0d);
+		booleanAccessor.set_for_boolean(this, true);
+		assertTrue(booleanAccessor.get_for_boolean(this));
+	}
+
+	@Test
+	public void test_instanceFields_reference() throws Exception {
+		FieldAccessor stringAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("stringField"));
+		FieldAccessor boxedAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("boxedField"));
+
+		assertEquals("a", stringAccessor.get_for_Object(this));
+		stringAccessor.set_for_Object(this, "b");
+		assertEquals("b", stringField);
+		boxedAccessor.set_for_Object(this, null);
+		assertNull(boxedAccessor.get_for_Object(this));
+	}
+
+	@Test
+	public void test_staticFields() throws Exception {
+		FieldAccessor longAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("staticLongField"));
+		FieldAccessor charAccessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("staticCharField"), MethodHandles.lookup());
+
+		assertEquals(5L, longAccessor.get_for_long(null));
+		longAccessor.set_for_long(this, 6L);
+		assertEquals(6L, staticLongField);
+		assertEquals('c', charAccessor.get_for_char(null));
+	}
+
+	@Test
+	public void test_create_isCached() throws Exception {
+		assertSame(FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("intField")),
+				FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("intField")));
+	}
+
+	@Test
+	public void test_finalField_isReadOnly() throws Exception {
+		FieldAccessor accessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("finalField"));
+
+		assertEquals(4L, accessor.get_for_long(this));
+		try {
+			accessor.set_for_long(this, 5L);
+			fail("Expected an UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			assertTrue(e.getMessage().contains("finalField"));
+		}
+	}
+
+	@Test
+	public void test_wrongType() throws Exception {
+		FieldAccessor accessor = FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("intField"));
+		try {
+			accessor.get_for_long(this);
+			fail("Expected a ClassCastException");
+		} catch (ClassCastException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("get_for_int"));
+		}
+		try {
+			accessor.set_for_Object(this, 1);
+			fail("Expected a ClassCastException");
+		} catch (ClassCastException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("set_for_int"));
+		}
+	}
+
+	@Test
+	public void test_accessorClassIsSpunOnce() throws Exception {
+		assertSame(FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("intField")).getClass(),
+				FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("stringField")).getClass());
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void test_wrongReferenceType() throws Exception {
+		FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("stringField")).set_for_Object(this, 42);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void test_instanceField_nullInstance() throws Exception {
+		FieldAccessorFactory.create(FieldAccessorTest.class.getDeclaredField("intField")).get_for_int(null);
+	}
+
+}
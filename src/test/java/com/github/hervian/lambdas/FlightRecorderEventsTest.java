@@ -0,0 +1,95 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.github.hervian.reflection.Fun;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class FlightRecorderEventsTest {
+
+	@SuppressWarnings("unused")
+	private int add(int a, int b) { return a + b; }
+
+	@SuppressWarnings("unused")
+	private static int sum(int a1, int a2, int a3, int a4, int a5, int a6, int a7, int a8, int a9,
+			int a10, int a11, int a12, int a13, int a14, int a15, int a16, int a17) {
+		return a1 + a2 + a3 + a4 + a5 + a6 + a7 + a8 + a9 + a10 + a11 + a12 + a13 + a14 + a15 + a16 + a17;
+	}
+
+	static void consume(String value) {}
+
+	@Test
+	public void test_events() throws Throwable {
+		Method add = FlightRecorderEventsTest.class.getDeclaredMethod("add", int.class, int.class);
+		Method sum = FlightRecorderEventsTest.class.getDeclaredMethod("sum", int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class,
+				int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class);
+		Path file = Files.createTempFile("lambda-factory", ".jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable(FlightRecorderEvents.LAMBDA_CREATED);
+			recording.enable(FlightRecorderEvents.METHOD_REFERENCE_RESOLVED);
+			recording.enable(FlightRecorderEvents.LAMBDA_FALLBACK);
+			recording.start();
+			try (LambdaScope scope = LambdaFactory.openScope()) {
+				scope.createSpecial(add);
+				scope.createSpecial(add);
+				scope.createSpreading(sum);
+			}
+			LambdaFactory.create((Fun.With1ParamAndVoid<String>) FlightRecorderEventsTest::consume);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+		List<RecordedEvent> created = getEvents(events, FlightRecorderEvents.LAMBDA_CREATED);
+		RecordedEvent special = created.stream().filter(event -> event.getString("method").startsWith("add")).findFirst().get();
+		assertEquals("add(II)I", special.getString("method"));
+		assertEquals(FlightRecorderEventsTest.class.getName(), special.getClass("declaringClass").getName());
+		assertEquals(Lambda.class.getName(), special.getClass("interfaceClass").getName());
+		assertEquals("invoke_for_int", special.getString("signatureName"));
+		assertTrue(special.getBoolean("special"));
+		assertEquals(1, created.stream().filter(event -> event.getString("method").startsWith("add")).count());
+
+		RecordedEvent fallback = getEvents(events, FlightRecorderEvents.LAMBDA_FALLBACK).get(0);
+		assertTrue(fallback.getString("method").startsWith("sum("));
+		assertTrue(fallback.getString("reason").contains("17 parameters"));
+
+		RecordedEvent resolved = getEvents(events, FlightRecorderEvents.METHOD_REFERENCE_RESOLVED).get(0);
+		assertEquals("consume(Ljava/lang/String;)V", resolved.getString("method"));
+	}
+
+	private static List<RecordedEvent> getEvents(List<RecordedEvent> events, String name) {
+		return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,239 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaBatchTest {
+
+	static double scale(double value) { return value * 1.5 + 1; }
+	static long weighted(int weight, int value) { return (long) weight * value; }
+	static String name(Object value) { return "#" + value; }
+	static void fail(String message) throws IOException { throw new IOException(message); }
+	static final Set<String> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	static int square(int value) { threads.add(Thread.currentThread().getName()); return value * value; }
+
+	static class Account {
+		private final double balance;
+		Account(double balance) { this.balance = balance; }
+		private double getBalance() { return balance; } //A private method.
+		double interest(double rate) { return balance * rate; }
+	}
+
+	static class Log {
+		final List<String> lines = new ArrayList<>();
+		void add(String line) { lines.add(line); }
+	}
+
+	@Test
+	public void apply_primitiveArrays() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		double[] inputs = {0, 1, 2, -4};
+		double[] outputs = new double[inputs.length];
+		batch.apply(inputs, outputs);
+		assertArrayEquals(new double[] {1, 2.5, 4, -5}, outputs, 0);
+	}
+
+	@Test
+	public void apply_receivers() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(Account.class.getDeclaredMethod("getBalance"));
+		Account[] accounts = {new Account(10), new Account(20.5)};
+		double[] balances = new double[accounts.length];
+		batch.apply(accounts, balances);
+		assertArrayEquals(new double[] {10, 20.5}, balances, 0);
+	}
+
+	@Test
+	public void apply_boundReceiver() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(Account.class.getDeclaredMethod("interest", double.class), new Account(200));
+		double[] interests = new double[2];
+		batch.apply(new double[] {0.01, 0.5}, interests);
+		assertArrayEquals(new double[] {2, 100}, interests, 0);
+	}
+
+	@Test
+	public void apply_leadingArgumentAndWidenedReturnType() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("weighted", int.class, int.class), 3);
+		long[] outputs = new long[3];
+		batch.apply(new int[] {1, 2, Integer.MAX_VALUE}, outputs);
+		assertArrayEquals(new long[] {3, 6, 3L * Integer.MAX_VALUE}, outputs);
+	}
+
+	@Test
+	public void apply_referenceTypes() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("name", Object.class));
+		String[] outputs = new String[2];
+		batch.apply(new Integer[] {1, 2}, outputs);
+		assertArrayEquals(new String[] {"#1", "#2"}, outputs);
+	}
+
+	@Test
+	public void apply_voidMethod_outputsIgnored() throws Throwable {
+		Log log = new Log();
+		LambdaBatch batch = LambdaFactory.createBatch(Log.class.getDeclaredMethod("add", String.class), log);
+		batch.apply(new String[] {"a", "b", "c"}, null);
+		assertEquals(Arrays.asList("a", "b", "c"), log.lines);
+	}
+
+	@Test
+	public void apply_range() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		double[] outputs = new double[4];
+		batch.apply(new double[] {0, 1, 2, 3}, outputs, 1, 3);
+		assertArrayEquals(new double[] {0, 2.5, 4, 0}, outputs, 0);
+	}
+
+	@Test
+	public void apply_rangeOutOfBounds_methodNotInvoked() throws Throwable {
+		Log log = new Log();
+		LambdaBatch batch = LambdaFactory.createBatch(Log.class.getDeclaredMethod("add", String.class), log);
+		try {
+			batch.apply(new String[] {"a", "b"}, null, 0, 3);
+			fail("Expected an IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+			assertTrue(log.lines.isEmpty());
+		}
+		LambdaBatch scale = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		try {
+			scale.apply(new double[3], new double[2]);
+			fail("Expected an IndexOutOfBoundsException, since the output array is too short");
+		} catch (IndexOutOfBoundsException e) {
+			//Expected
+		}
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void apply_wrongArrayType() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		batch.apply(new int[2], new double[2]);
+	}
+
+	@Test(expected = IOException.class)
+	public void apply_checkedExceptionIsNotWrapped() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("fail", String.class));
+		batch.apply(new String[] {"checked"}, null);
+	}
+
+	@Test
+	public void applyParallel_forkJoinPool() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("square", int.class));
+		int[] inputs = new int[10_000];
+		for (int i = 0; i < inputs.length; i++) {
+			inputs[i] = i;
+		}
+		int[] outputs = new int[inputs.length];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			threads.clear();
+			batch.applyParallel(inputs, outputs, pool, 100);
+		} finally {
+			pool.shutdown();
+		}
+		for (int i = 0; i < inputs.length; i++) {
+			assertEquals(i * i, outputs[i]);
+		}
+		assertFalse(threads.contains(Thread.currentThread().getName()));
+	}
+
+	@Test
+	public void applyParallel_executor() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		double[] inputs = new double[1000];
+		Arrays.fill(inputs, 2);
+		double[] outputs = new double[inputs.length];
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			batch.applyParallel(inputs, outputs, executor, 10);
+		} finally {
+			executor.shutdown();
+		}
+		for (double output : outputs) {
+			assertEquals(4, output, 0);
+		}
+	}
+
+	@Test
+	public void applyParallel_belowThreshold_sequentialInCallingThread() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("square", int.class));
+		int[] outputs = new int[3];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			threads.clear();
+			batch.applyParallel(new int[] {1, 2, 3}, outputs, pool, 4);
+		} finally {
+			pool.shutdown();
+		}
+		assertArrayEquals(new int[] {1, 4, 9}, outputs);
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), threads);
+	}
+
+	@Test(expected = IOException.class)
+	public void applyParallel_checkedExceptionIsNotWrapped() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("fail", String.class));
+		String[] inputs = new String[100];
+		Arrays.fill(inputs, "checked");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			batch.applyParallel(inputs, null, executor, 10);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void applyParallel_outputsTooShort() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		batch.applyParallel(new double[100], new double[99]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void applyParallel_thresholdNotPositive() throws Throwable {
+		LambdaBatch batch = LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("scale", double.class));
+		batch.applyParallel(new double[100], new double[100], ForkJoinPool.commonPool(), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void createBatch_moreThanOneRemainingParameter() throws Throwable {
+		LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("weighted", int.class, int.class));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void createBatch_noRemainingParameter() throws Throwable {
+		LambdaFactory.createBatch(Account.class.getDeclaredMethod("getBalance"), new Account(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void createBatch_wrongLeadingArgument() throws Throwable {
+		LambdaFactory.createBatch(LambdaBatchTest.class.getDeclaredMethod("weighted", int.class, int.class), "3");
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.function.IntBinaryOperator;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaCacheTest {
+
+	@SuppressWarnings("unused")
+	private static int add(int a, int b){ return a+b; }
+	@SuppressWarnings("unused")
+	private static int subtract(int a, int b){ return a-b; }
+	@SuppressWarnings("unused")
+	private static int multiply(int a, int b){ return a*b; }
+	public String hello(){ return "hello"; }
+
+	@Test
+	public void test_create_returnsCachedLambda() throws Throwable {
+		Method method = LambdaCacheTest.class.getDeclaredMethod("add", int.class, int.class);
+
+		Lambda lambda = LambdaFactory.create(method);
+
+		assertSame(lambda, LambdaFactory.create(method));
+		assertEquals(3+11, lambda.invoke_for_int(3, 11));
+	}
+
+	@Test
+	public void test_create_keyIncludesSpecialFlagAndInterface() throws Throwable {
+		Method instanceMethod = LambdaCacheTest.class.getDeclaredMethod("hello");
+		Method staticMethod = LambdaCacheTest.class.getDeclaredMethod("add", int.class, int.class);
+
+		Lambda lambda = LambdaFactory.create(instanceMethod);
+		Lambda specialLambda = LambdaFactory.createSpecial(instanceMethod);
+		IntBinaryOperator sam = LambdaFactory.create(staticMethod, IntBinaryOperator.class, "applyAsInt");
+
+		assertNotSame(lambda, specialLambda);
+		assertSame(specialLambda, LambdaFactory.createSpecial(instanceMethod));
+		assertNotSame(sam, LambdaFactory.create(staticMethod));
+		assertSame(sam, LambdaFactory.create(staticMethod, IntBinaryOperator.class, "applyAsInt"));
+	}
+
+	@Test
+	public void test_putIfAbsent_evictsOldestEntryWhenFull() throws Throwable {
+		LambdaCache cache = new LambdaCache(2);
+		LambdaCache.Key add = key("add");
+		LambdaCache.Key subtract = key("subtract");
+		LambdaCache.Key multiply = key("multiply");
+
+		cache.putIfAbsent(add, "add");
+		cache.putIfAbsent(subtract, "subtract");
+		cache.putIfAbsent(multiply, "multiply");
+
+		assertEquals(2, cache.size(LambdaCacheTest.class));
+		assertNull(cache.get(add));
+		assertEquals("subtract", cache.get(subtract));
+		assertEquals("multiply", cache.get(multiply));
+	}
+
+	@Test
+	public void test_putIfAbsent_keepsFirstEntry() throws Throwable {
+		LambdaCache cache = new LambdaCache(2);
+		LambdaCache.Key add = key("add");
+
+		assertEquals("first", cache.putIfAbsent(add, "first"));
+		assertEquals("first", cache.putIfAbsent(add, "second"));
+	}
+
+	@Test
+	public void test_disabledCache() throws Throwable {
+		LambdaCache cache = new LambdaCache(0);
+		LambdaCache.Key add = key("add");
+
+		cache.putIfAbsent(add, "add");
+
+		assertNull(cache.get(add));
+	}
+
+	private static LambdaCache.Key key(String methodName) throws NoSuchMethodException {
+		Method method = LambdaCacheTest.class.getDeclaredMethod(methodName, int.class, int.class);
+		return new LambdaCache.Key(method, false, Lambda.class, "invoke_for_int");
+	}
+
+}
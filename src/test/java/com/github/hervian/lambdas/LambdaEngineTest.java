@@ -0,0 +1,242 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * Each test creates lambdas for its own Methods, since the lambdas are cached regardless of their engine.
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaEngineTest {
+
+	private static int add(int a, int b) { return a + b; } //A private method.
+	static int subtract(int a, int b) { return a - b; }
+	static int multiply(int a, int b) { return a * b; }
+	static int divide(int a, int b) { return a / b; }
+	static int modulo(int a, int b) { return a % b; }
+	static int max(int a, int b) { return Math.max(a, b); }
+	static int min(int a, int b) { return Math.min(a, b); }
+	static int throwChecked(int a, int b) throws IOException { throw new IOException("checked"); }
+	static int throwUnchecked(int a, int b) { throw new IllegalStateException("unchecked"); }
+	static int throwUncheckedReflectively(int a, int b) { throw new IllegalStateException("unchecked"); }
+	static Object identity(Object value) { return value; }
+
+	static class Parent {
+		int value(int a) { return a; }
+	}
+
+	static class Child extends Parent {
+		@Override
+		int value(int a) { return -a; }
+	}
+
+	static class Point {
+		final int x;
+		Point(int x) { this.x = x; }
+	}
+
+	@After
+	public void resetPolicy() {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.fromSystemProperties());
+	}
+
+	@Test
+	public void getEngines_builtInEngines() {
+		List<String> names = LambdaFactory.getEngines().stream().map(LambdaEngine::getName).collect(Collectors.toList());
+		assertEquals(LambdaEngine.METAFACTORY, names.get(0));
+		assertTrue(names.contains(LambdaEngine.METHOD_HANDLE));
+		assertTrue(names.contains(LambdaEngine.REFLECTION));
+	}
+
+	@Test
+	public void defaultPolicy_metafactory() throws Throwable {
+		Lambda2_int lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("add", int.class, int.class), Lambda2_int.class);
+		assertEquals(5, lambda.invoke_for_int(2, 3));
+		assertFalse(Proxy.isProxyClass(lambda.getClass()));
+	}
+
+	@Test
+	public void defaultPolicy_unknownEngine_metafactory() throws Throwable {
+		System.setProperty(LambdaEnginePolicy.ENGINE_PROPERTY, "unknown");
+		LambdaEnginePolicy policy;
+		try {
+			policy = LambdaEnginePolicy.fromSystemProperties();
+		} finally {
+			System.clearProperty(LambdaEnginePolicy.ENGINE_PROPERTY);
+		}
+		Method add = LambdaEngineTest.class.getDeclaredMethod("add", int.class, int.class);
+		assertSame(LambdaFactory.getEngines().get(0), policy.select(add, Lambda2_int.class, LambdaFactory.getEngines()));
+	}
+
+	@Test
+	public void methodHandleEngine() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.METHOD_HANDLE));
+		Lambda2_int lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("subtract", int.class, int.class), Lambda2_int.class);
+		assertEquals(-1, lambda.invoke_for_int(2, 3));
+		assertTrue(Proxy.isProxyClass(lambda.getClass()));
+		assertEquals(lambda, lambda);
+		assertTrue(lambda.toString().startsWith(LambdaEngine.METHOD_HANDLE));
+	}
+
+	@Test
+	public void methodHandleEngine_special() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.METHOD_HANDLE));
+		Lambda2_int lambda = LambdaFactory.createSpecial(Parent.class.getDeclaredMethod("value", int.class), Lambda2_int.class);
+		assertEquals(4, lambda.invoke_for_int(new Child(), 4));
+		assertTrue(Proxy.isProxyClass(lambda.getClass()));
+	}
+
+	@Test
+	public void reflectionEngine() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.REFLECTION));
+		Lambda2_int lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("multiply", int.class, int.class), Lambda2_int.class);
+		assertEquals(6, lambda.invoke_for_int(2, 3));
+		Lambda2_int instanceLambda = LambdaFactory.create(Parent.class.getDeclaredMethod("value", int.class), Lambda2_int.class);
+		assertEquals(-4, instanceLambda.invoke_for_int(new Child(), 4));
+		Lambda1_Object constructorLambda = LambdaFactory.create(Point.class.getDeclaredConstructor(int.class), Lambda1_Object.class);
+		assertEquals(7, ((Point) constructorLambda.invoke_for_Object(7)).x);
+		assertTrue(Proxy.isProxyClass(lambda.getClass()));
+	}
+
+	@Test
+	public void reflectionEngine_specialNotSupported_metafactory() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.REFLECTION));
+		Lambda2_int lambda = LambdaFactory.createSpecial(Child.class.getDeclaredMethod("value", int.class), Lambda2_int.class);
+		assertEquals(-4, lambda.invoke_for_int(new Child(), 4));
+		assertFalse(Proxy.isProxyClass(lambda.getClass()));
+	}
+
+	@Test
+	public void proxyEngines_lambdaInterfaceNotSupported_metafactory() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.METHOD_HANDLE));
+		Lambda lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("divide", int.class, int.class));
+		assertEquals(3, lambda.invoke_for_int(7, 2));
+		assertFalse(Proxy.isProxyClass(lambda.getClass()));
+	}
+
+	@Test
+	public void proxyEngines_exceptions() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.METHOD_HANDLE));
+		assertThrowsUnchecked(LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("throwUnchecked", int.class, int.class), Lambda2_int.class));
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.REFLECTION));
+		assertThrowsUnchecked(LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("throwUncheckedReflectively", int.class, int.class), Lambda2_int.class));
+		Lambda2_int checked = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("throwChecked", int.class, int.class), Lambda2_int.class);
+		try {
+			checked.invoke_for_int(1, 2);
+			fail("Expected an UndeclaredThrowableException");
+		} catch (UndeclaredThrowableException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	private static void assertThrowsUnchecked(Lambda2_int lambda) {
+		try {
+			lambda.invoke_for_int(1, 2);
+			fail("Expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertEquals("unchecked", e.getMessage());
+		}
+	}
+
+	@Test(expected = AbstractMethodError.class)
+	public void proxyEngines_unimplementedMethod() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.named(LambdaEngine.METHOD_HANDLE));
+		Lambda1_Object lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("identity", Object.class), Lambda1_Object.class);
+		lambda.invoke_for_Object(1);
+	}
+
+	@Test
+	public void byArity() throws Throwable {
+		LambdaFactory.setEnginePolicy(LambdaEnginePolicy.byArity(1, LambdaEngine.METHOD_HANDLE));
+		Lambda1_Object oneParameter = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("identity", Object.class), Lambda1_Object.class);
+		Lambda2_int twoParameters = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("max", int.class, int.class), Lambda2_int.class);
+		assertEquals("a", oneParameter.invoke_for_Object("a"));
+		assertEquals(3, twoParameters.invoke_for_int(2, 3));
+		assertTrue(Proxy.isProxyClass(oneParameter.getClass()));
+		assertFalse(Proxy.isProxyClass(twoParameters.getClass()));
+	}
+
+	@Test
+	public void customEngine() throws Throwable {
+		List<Executable> created = new ArrayList<>();
+		LambdaEngine metafactory = LambdaEngines.find(LambdaEngine.METAFACTORY);
+		LambdaEngine recording = new LambdaEngine() {
+			@Override
+			public String getName() {
+				return "recording";
+			}
+
+			@Override
+			public boolean supports(Executable executable, Class<?> interfaceClass, boolean invokeSpecial) {
+				return !(executable instanceof Constructor);
+			}
+
+			@Override
+			public <T> T create(Executable executable, MethodHandles.Lookup lookup, MethodHandle methodHandle, Class<T> interfaceClass, String signatureName) throws Throwable {
+				created.add(executable);
+				return metafactory.create(executable, lookup, methodHandle, interfaceClass, signatureName);
+			}
+		};
+		LambdaFactory.setEnginePolicy((executable, interfaceClass, engines) -> recording);
+		Lambda2_int lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("min", int.class, int.class), Lambda2_int.class);
+		assertEquals(2, lambda.invoke_for_int(2, 3));
+		assertEquals(1, created.size());
+	}
+
+	@Test
+	public void find_builtInEngines_sameAsGetEngines() {
+		for (String name : new String[] {LambdaEngine.METAFACTORY, LambdaEngine.METHOD_HANDLE, LambdaEngine.REFLECTION}) {
+			LambdaEngine engine = LambdaEngines.find(name);
+			assertEquals(name, engine.getName());
+			assertTrue(LambdaFactory.getEngines().stream().anyMatch(e -> e == engine));
+		}
+	}
+
+	@Test
+	public void customPolicy_readsEngines() throws Throwable {
+		List<List<LambdaEngine>> given = new ArrayList<>();
+		LambdaFactory.setEnginePolicy((executable, interfaceClass, engines) -> {
+			given.add(engines);
+			return engines.get(engines.size() - 1);
+		});
+		Lambda2_int lambda = LambdaFactory.create(LambdaEngineTest.class.getDeclaredMethod("modulo", int.class, int.class), Lambda2_int.class);
+		assertEquals(1, lambda.invoke_for_int(7, 3));
+		assertEquals(LambdaFactory.getEngines(), given.get(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void named_unknownEngine() {
+		LambdaEnginePolicy.named("unknown");
+	}
+
+}
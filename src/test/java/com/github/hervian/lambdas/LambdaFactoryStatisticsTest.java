@@ -0,0 +1,130 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaFactoryStatisticsTest {
+
+	private LambdaFactoryStatistics statistics;
+
+	@SuppressWarnings("unused")
+	private static int add(int a, int b) { return a + b; }
+	@SuppressWarnings("unused")
+	private String describe(long value) { return "value: " + value; }
+
+	@Before
+	public void addListener() {
+		statistics = new LambdaFactoryStatistics();
+		LambdaFactory.addListener(statistics);
+	}
+
+	@After
+	public void removeListener() {
+		assertTrue(LambdaFactory.removeListener(statistics));
+		assertFalse(LambdaFactory.removeListener(statistics));
+	}
+
+	@Test
+	public void test_listener_countsCreationsAndCacheHits() throws Throwable {
+		Method add = LambdaFactoryStatisticsTest.class.getDeclaredMethod("add", int.class, int.class);
+		Method describe = LambdaFactoryStatisticsTest.class.getDeclaredMethod("describe", long.class);
+
+		try (LambdaScope scope = LambdaFactory.openScope()) {
+			scope.create(add);
+			scope.create(add);
+			scope.create(describe, Lambda2_Object.class);
+			scope.createSpreading(add);
+		}
+
+		assertEquals(3, statistics.getCreated());
+		assertEquals(1, statistics.getCacheHits());
+		assertEquals(3, statistics.getCacheMisses());
+		assertEquals(0, statistics.getFailures());
+		assertEquals(Long.valueOf(2), statistics.getCreatedByArityAndReturnType().get("Lambda2_int"));
+		assertEquals(Long.valueOf(1), statistics.getCreatedByArityAndReturnType().get("Lambda2_Object"));
+		assertEquals(3, Arrays.stream(statistics.getCreationTimeHistogram()).sum());
+		assertTrue(statistics.getMaxCreationTimeNanos() > 0);
+		assertTrue(statistics.getTotalCreationTimeNanos() >= statistics.getMaxCreationTimeNanos());
+	}
+
+	@Test
+	public void test_listener_countsFailures() throws Throwable {
+		Method add = LambdaFactoryStatisticsTest.class.getDeclaredMethod("add", int.class, int.class);
+
+		try {
+			LambdaFactory.createExact(add, Runnable.class);
+			fail("Expected a LambdaConversionException");
+		} catch (LambdaConversionException e) {
+			//Expected
+		}
+
+		assertEquals(1, statistics.getFailures());
+		assertEquals(0, statistics.getCreated());
+		assertEquals(Long.valueOf(1), statistics.getFailuresByType().get(LambdaConversionException.class.getName()));
+	}
+
+	@Test
+	public void test_registerMBean() throws Throwable {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(LambdaFactoryStatistics.OBJECT_NAME);
+
+		statistics.registerMBean();
+		try {
+			try (LambdaScope scope = LambdaFactory.openScope()) {
+				scope.create(LambdaFactoryStatisticsTest.class.getDeclaredMethod("add", int.class, int.class));
+			}
+			assertEquals(1L, server.getAttribute(name, "Created"));
+			assertTrue((Long) server.getAttribute(name, "MetaspaceUsed") > 0);
+			assertNotNull(server.getAttribute(name, "CreatedByArityAndReturnType"));
+			server.invoke(name, "reset", new Object[0], new String[0]);
+			assertEquals(0L, server.getAttribute(name, "Created"));
+		} finally {
+			statistics.unregisterMBean();
+		}
+		assertFalse(server.isRegistered(name));
+	}
+
+	@Test
+	public void test_reset() {
+		statistics.onCacheHit(null, Lambda.class);
+		statistics.onFailure(null, Lambda.class, new IllegalAccessException());
+
+		statistics.reset();
+
+		assertEquals(0, statistics.getCacheHits());
+		assertEquals(0, statistics.getFailures());
+		Map<String, Long> failuresByType = statistics.getFailuresByType();
+		assertTrue(failuresByType.isEmpty());
+	}
+
+}
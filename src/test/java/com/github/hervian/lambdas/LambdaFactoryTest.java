@@ -5,6 +5,8 @@ import java.util.function.IntBinaryOperator;
 
 import org.junit.Test;
 
+import com.github.hervian.reflection.Fun;
+
 import junit.framework.TestCase;
 
 /**
@@ -39,6 +41,25 @@ public class LambdaFactoryTest extends TestCase {
 		assertTrue(3+11==result);
 	}
 	
+	@Test
+	public void test_create_forSubInterface() throws Throwable{
+		Method method = LambdaFactoryTest.class.getDeclaredMethod("staticIntMethod", int.class, int.class);
+		Lambda2_int lambda = LambdaFactory.create(method, Lambda2_int.class);
+		
+		int result = lambda.invoke_for_int(3, 11);
+		
+		assertTrue(3+11==result);
+		assertFalse(lambda instanceof Lambda);
+	}
+	
+	@Test
+	public void test_create_forSubInterface_instanceMethod() throws Throwable{
+		Method method = LambdaFactoryTest.class.getDeclaredMethod("returnString1Param", String.class);
+		Lambda2_Object lambda = LambdaFactory.create(method, Lambda2_Object.class);
+		
+		assertEquals("hello", lambda.invoke_for_Object(new LambdaFactoryTest(), "hello"));
+	}
+	
 	@SuppressWarnings("unused")
 	private static int staticIntMethod(int a, int b){
 		return a+b;
@@ -50,6 +71,21 @@ public class LambdaFactoryTest extends TestCase {
 		assertEquals("hello world", lambda.invoke_for_Object(new LambdaFactoryTest()));
 	}
 
+	@Test
+	public void test_create_fromMethodReference_resolvesMethodOncePerCallSite() throws Throwable {
+		Method first = MethodReferences.toMethod(methodReference(new LambdaFactoryTest()));
+		Method second = MethodReferences.toMethod(methodReference(new LambdaFactoryTest()));
+
+		assertSame(first, second); //Fun.toMethod() returns a new Method object on every call.
+		assertEquals("returnString1Param", first.getName());
+		assertSame(LambdaFactory.create(methodReference(this)), LambdaFactory.create(methodReference(this)));
+		assertNotSame(first, MethodReferences.toMethod((Fun.With1ParamAndVoid<String>) new LambdaFactoryTest()::returnString1Param));
+	}
+
+	private static Fun.With1ParamAndVoid<String> methodReference(LambdaFactoryTest instance) {
+		return instance::returnString1Param;
+	}
+
 	public String returnString0Params(){ return "hello world";}
 	public String returnString1Param(String p1){ return p1;}
 	public String returnString2Params(String p1, String p2){ return p1 + p2;}
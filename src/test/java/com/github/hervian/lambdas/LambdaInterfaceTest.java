@@ -0,0 +1,109 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+@LambdaInterface(name = "TestLambda", targets = LambdaInterfaceTest.Target.class)
+public class LambdaInterfaceTest {
+
+	public static class Target {
+		private String value = "";
+
+		public Target() {}
+		public Target(String value) { this.value = value; }
+
+		static int add(int a, int b) { return a + b; }
+		static int multiply(int a, int b) { return a * b; } //Same signature as add.
+		public String concat(String suffix, Integer times) { return value + suffix + times; }
+		void setValue(String value) { this.value = value; }
+		public double average(double a, double b, double c, double d, double e, double f) { return (a + b + c + d + e + f) / 6; }
+	}
+
+	@LambdaInterface(name = "SmallTestLambda", targets = Target.class, maxNumberOfParameters = 2)
+	static class SmallTestLambdaConfiguration {}
+
+	/**
+	 * Both methods fit the 255 parameter slots of a static JVM method, but the invocation method of the second would take 256, since it is an instance method.
+	 */
+	@LambdaInterface(name = "WideTestLambda")
+	static class WideTarget {
+		static void kept(long a1, long a2, long a3, long a4, long a5, long a6, long a7, long a8, long a9, long a10, long a11, long a12, long a13, long a14, long a15, long a16, long a17, long a18, long a19, long a20, long a21, long a22, long a23, long a24, long a25, long a26, long a27, long a28, long a29, long a30, long a31, long a32, long a33, long a34, long a35, long a36, long a37, long a38, long a39, long a40, long a41, long a42, long a43, long a44, long a45, long a46, long a47, long a48, long a49, long a50, long a51, long a52, long a53, long a54, long a55, long a56, long a57, long a58, long a59, long a60, long a61, long a62, long a63, long a64, long a65, long a66, long a67, long a68, long a69, long a70, long a71, long a72, long a73, long a74, long a75, long a76, long a77, long a78, long a79, long a80, long a81, long a82, long a83, long a84, long a85, long a86, long a87, long a88, long a89, long a90, long a91, long a92, long a93, long a94, long a95, long a96, long a97, long a98, long a99, long a100, long a101, long a102, long a103, long a104, long a105, long a106, long a107, long a108, long a109, long a110, long a111, long a112, long a113, long a114, long a115, long a116, long a117, long a118, long a119, long a120, long a121, long a122, long a123, long a124, long a125, long a126, long a127) {}
+		static void skipped(long a1, long a2, long a3, long a4, long a5, long a6, long a7, long a8, long a9, long a10, long a11, long a12, long a13, long a14, long a15, long a16, long a17, long a18, long a19, long a20, long a21, long a22, long a23, long a24, long a25, long a26, long a27, long a28, long a29, long a30, long a31, long a32, long a33, long a34, long a35, long a36, long a37, long a38, long a39, long a40, long a41, long a42, long a43, long a44, long a45, long a46, long a47, long a48, long a49, long a50, long a51, long a52, long a53, long a54, long a55, long a56, long a57, long a58, long a59, long a60, long a61, long a62, long a63, long a64, long a65, long a66, long a67, long a68, long a69, long a70, long a71, long a72, long a73, long a74, long a75, long a76, long a77, long a78, long a79, long a80, long a81, long a82, long a83, long a84, long a85, long a86, long a87, long a88, long a89, long a90, long a91, long a92, long a93, long a94, long a95, long a96, long a97, long a98, long a99, long a100, long a101, long a102, long a103, long a104, long a105, long a106, long a107, long a108, long a109, long a110, long a111, long a112, long a113, long a114, long a115, long a116, long a117, long a118, long a119, long a120, long a121, long a122, long a123, long a124, long a125, long a126, long a127, int b) {}
+	}
+
+	@Test
+	public void test_generatedSignatures() {
+		List<String> signatures = Arrays.stream(TestLambda.class.getMethods())
+				.map(m -> m.getReturnType().getName() + " " + m.getName() + Arrays.stream(m.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",", "(", ")")))
+				.sorted()
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList(
+				"double invoke_for_double(java.lang.Object,double,double,double,double,double,double)",
+				"int invoke_for_int(int,int)",
+				"java.lang.Object invoke_for_Object()",
+				"java.lang.Object invoke_for_Object(java.lang.Object)",
+				"java.lang.Object invoke_for_Object(java.lang.Object,java.lang.Object,java.lang.Object)",
+				"void invoke_for_void(java.lang.Object,java.lang.Object)"), signatures);
+		assertTrue(TestLambda.class.isInterface());
+	}
+
+	@Test
+	public void test_maxNumberOfParameters() throws NoSuchMethodException {
+		assertEquals(4, SmallTestLambda.class.getMethods().length);
+		assertEquals(int.class, SmallTestLambda.class.getMethod("invoke_for_int", int.class, int.class).getReturnType());
+	}
+
+	@Test
+	public void test_maxNumberOfSlots() throws NoSuchMethodException {
+		Class<?>[] longs = new Class<?>[127];
+		Arrays.fill(longs, long.class);
+		assertEquals(void.class, WideTestLambda.class.getMethod("invoke_for_void", longs).getReturnType());
+		assertEquals(Arrays.asList("invoke_for_Object", "invoke_for_void"), Arrays.stream(WideTestLambda.class.getMethods()).map(Method::getName).sorted().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void test_create() throws Throwable {
+		TestLambda add = LambdaFactory.create(Target.class.getDeclaredMethod("add", int.class, int.class), TestLambda.class);
+		assertEquals(5, add.invoke_for_int(2, 3));
+
+		Target target = new Target("a");
+		TestLambda concat = LambdaFactory.create(Target.class.getMethod("concat", String.class, Integer.class), TestLambda.class);
+		assertEquals("ab3", concat.invoke_for_Object(target, "b", 3));
+
+		TestLambda setValue = LambdaFactory.create(Target.class.getDeclaredMethod("setValue", String.class), TestLambda.class);
+		setValue.invoke_for_void(target, "c");
+		assertEquals("cb1", concat.invoke_for_Object(target, "b", 1));
+
+		Method average = Target.class.getMethod("average", double.class, double.class, double.class, double.class, double.class, double.class);
+		TestLambda averageLambda = LambdaFactory.create(average, TestLambda.class);
+		assertEquals(3.5, averageLambda.invoke_for_double(target, 1, 2, 3, 4, 5, 6), 0);
+
+		TestLambda constructor = LambdaFactory.create(Target.class.getConstructor(String.class), TestLambda.class, "invoke_for_Object");
+		assertEquals("db2", concat.invoke_for_Object(constructor.invoke_for_Object("d"), "b", 2));
+	}
+
+}
@@ -0,0 +1,219 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntBinaryOperator;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaProfileTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private LambdaProfile profile;
+	private LambdaFactoryListener listener;
+
+	public static class Service {
+		private final String name;
+		public Service(String name) { this.name = name; }
+		public String greet(String greeting, int times) { return greeting + " " + name + times; }
+		static int add(int a, int b) { return a + b; }
+		static void log(String[] lines, long[] timestamps) {}
+	}
+
+	@After
+	public void tearDown() {
+		if (profile != null) {
+			profile.stopRecording();
+		}
+		if (listener != null) {
+			LambdaFactory.removeListener(listener);
+		}
+	}
+
+	@Test
+	public void test_recordWriteReadReplay() throws Throwable {
+		profile = LambdaProfile.startRecording();
+		Method greet = Service.class.getMethod("greet", String.class, int.class);
+		LambdaFactory.create(greet);
+		LambdaFactory.createSpecial(greet);
+		LambdaFactory.createSpreading(Service.class.getDeclaredMethod("log", String[].class, long[].class));
+		LambdaFactory.createExact(Service.class.getDeclaredMethod("add", int.class, int.class), IntBinaryOperator.class);
+		LambdaFactory.create(Service.class.getConstructor(String.class));
+		LambdaFactory.create(greet); //A cache hit, or a duplicate if the cache is disabled, is not recorded again.
+		try (LambdaScope scope = LambdaFactory.openScope()) {
+			scope.create(Service.class.getDeclaredMethod("add", int.class, int.class));
+		}
+		profile.stopRecording();
+		LambdaFactory.create(Service.class.getDeclaredMethod("add", int.class, int.class));
+		assertEquals(5, profile.size());
+
+		Path file = folder.newFile("lambdas.profile").toPath();
+		profile.write(file);
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		assertEquals("# lambda-factory profile 1", lines.get(0));
+		assertEquals("LAMBDA\tfalse\t" + Service.class.getName() + "\tgreet\tjava.lang.String,int\t" + Lambda.class.getName() + "\t" + LambdaFactory.getSignatureName(greet), lines.get(1));
+		assertEquals("SPREADING\tfalse\t" + Service.class.getName() + "\tlog\t[Ljava.lang.String;,[J\t" + SpreadingLambda.class.getName() + "\tinvoke", lines.get(3));
+
+		List<Executable> replayed = new ArrayList<>();
+		listener = new LambdaFactoryListener() {
+			@Override public void onCacheHit(Executable executable, Class<?> interfaceClass) { replayed.add(executable); }
+			@Override public void onCreated(Executable executable, Class<?> interfaceClass, long nanos) { replayed.add(executable); }
+		};
+		LambdaFactory.addListener(listener);
+		assertEquals(5, LambdaProfile.read(file).replay());
+		assertEquals(Arrays.asList(greet, greet, Service.class.getDeclaredMethod("log", String[].class, long[].class),
+				Service.class.getDeclaredMethod("add", int.class, int.class), Service.class.getConstructor(String.class)), replayed);
+	}
+
+	@Test
+	public void test_recordReplay_partial() throws Throwable {
+		profile = LambdaProfile.startRecording();
+		Method greet = Service.class.getMethod("greet", String.class, int.class);
+		LambdaFactory.partial(greet, new Service("Ann"), "Hello");
+		LambdaFactory.partial(greet, new Service("Bob"), "Hi"); //The same factory, i.e. not recorded again.
+		profile.stopRecording();
+		assertEquals(1, profile.size());
+
+		Path file = folder.newFile("partial.profile").toPath();
+		profile.write(file);
+		assertEquals("PARTIAL\tfalse\t" + Service.class.getName() + "\tgreet\tjava.lang.String,int\t" + Lambda.class.getName() + "\t" + LambdaFactory.getSignatureName(greet) + "\t2",
+				Files.readAllLines(file, StandardCharsets.UTF_8).get(1));
+
+		List<Executable> replayed = new ArrayList<>();
+		listener = new LambdaFactoryListener() {
+			@Override public void onCacheHit(Executable executable, Class<?> interfaceClass) { replayed.add(executable); }
+			@Override public void onCreated(Executable executable, Class<?> interfaceClass, long nanos) { replayed.add(executable); }
+		};
+		LambdaFactory.addListener(listener);
+		assertEquals(1, LambdaProfile.read(file).replay());
+		assertEquals(Arrays.asList(greet), replayed);
+	}
+
+	@Test
+	public void test_replay_skipsStaleEntries() throws Throwable {
+		Path file = folder.newFile("stale.profile").toPath();
+		Files.write(file, Arrays.asList(
+				"# lambda-factory profile 1",
+				"LAMBDA\tfalse\tcom.example.Removed\trun\t\t" + Lambda.class.getName() + "\tinvoke_for_void",
+				"LAMBDA\tfalse\t" + Service.class.getName() + "\tremoved\tint\t" + Lambda.class.getName() + "\tinvoke_for_void",
+				"SPREADING\tfalse\t" + Service.class.getName() + "\tadd\tint,int\t" + SpreadingLambda.class.getName() + "\tinvoke"), StandardCharsets.UTF_8);
+
+		assertEquals(1, LambdaProfile.read(file).replay());
+	}
+
+	@Test
+	public void test_replay_skipsInvalidEntries() throws Throwable {
+		Path file = folder.newFile("invalid.profile").toPath();
+		Files.write(file, Arrays.asList(
+				"# lambda-factory profile 1",
+				"UNKNOWN\tfalse\t" + Service.class.getName() + "\tadd\tint,int\t" + SpreadingLambda.class.getName() + "\tinvoke",
+				"SPREADING\tfalse",
+				"LAMBDA\tfalse\t" + Service.class.getName() + "\tadd\tint,int\t" + String.class.getName() + "\tinvoke_for_int", //Not an interface, i.e. the lambda cannot be created.
+				"SPREADING\tfalse\t" + Service.class.getName() + "\tadd\tint,int\t" + SpreadingLambda.class.getName() + "\tinvoke"), StandardCharsets.UTF_8);
+
+		assertEquals(1, LambdaProfile.read(file).replay());
+	}
+
+	@Test
+	public void test_replayAsync() throws Throwable {
+		Path file = folder.newFile("async.profile").toPath();
+		Files.write(file, Arrays.asList(
+				"# lambda-factory profile 1",
+				"SPREADING\tfalse\t" + Service.class.getName() + "\tgreet\tjava.lang.String,int\t" + SpreadingLambda.class.getName() + "\tinvoke",
+				"LAMBDA\tfalse\t" + Service.class.getName() + "\tmissing\t\t" + Lambda.class.getName() + "\tinvoke_for_void"), StandardCharsets.UTF_8);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertEquals(1, (int) LambdaProfile.read(file).replayAsync(executor).get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void test_replayProperty_missingFile() {
+		System.setProperty(LambdaProfile.REPLAY_PROPERTY, folder.getRoot().toPath().resolve("missing.profile").toString());
+		CompletableFuture<Integer> replay;
+		try {
+			replay = LambdaProfile.fromSystemProperties();
+		} finally {
+			System.clearProperty(LambdaProfile.REPLAY_PROPERTY);
+		}
+		assertEquals(0, (int) replay.join());
+	}
+
+	@Test
+	public void test_replayProperty() throws Throwable {
+		Path file = folder.newFile("replay.profile").toPath();
+		Files.write(file, Arrays.asList(
+				"# lambda-factory profile 1",
+				"SPREADING\tfalse\t" + Service.class.getName() + "\tgreet\tjava.lang.String,int\t" + SpreadingLambda.class.getName() + "\tinvoke"), StandardCharsets.UTF_8);
+		List<Executable> replayed = new CopyOnWriteArrayList<>();
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		listener = new LambdaFactoryListener() {
+			@Override public void onCacheHit(Executable executable, Class<?> interfaceClass) { replayed.add(executable); threads.add(Thread.currentThread()); }
+			@Override public void onCreated(Executable executable, Class<?> interfaceClass, long nanos) { replayed.add(executable); threads.add(Thread.currentThread()); }
+		};
+		LambdaFactory.addListener(listener);
+		System.setProperty(LambdaProfile.REPLAY_PROPERTY, file.toString());
+		CompletableFuture<Integer> replay;
+		try {
+			replay = LambdaProfile.fromSystemProperties();
+		} finally {
+			System.clearProperty(LambdaProfile.REPLAY_PROPERTY);
+		}
+		assertEquals(1, (int) replay.join());
+		assertEquals(Arrays.asList(Service.class.getMethod("greet", String.class, int.class)), replayed);
+		assertNotSame(Thread.currentThread(), threads.get(0));
+		assertTrue(threads.get(0).isDaemon());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_startRecording_twice() {
+		profile = LambdaProfile.startRecording();
+		LambdaProfile.startRecording();
+	}
+
+	@Test(expected = IOException.class)
+	public void test_read_notAProfile() throws IOException {
+		Path file = folder.newFile("other.txt").toPath();
+		Files.write(file, Arrays.asList("something else"), StandardCharsets.UTF_8);
+		LambdaProfile.read(file);
+	}
+
+}
@@ -0,0 +1,195 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaScopeTest {
+
+	private static final int RELOAD_CYCLES = 20;
+
+	/**
+	 * Loaded by a new {@link PluginClassLoader} per reload cycle.
+	 */
+	public static class Plugin {
+		private int base = 40;
+		@SuppressWarnings("unused")
+		private static int increment(int value) { return value + 1; }
+		public int priority(int offset) { return base + offset; }
+		public static MethodHandles.Lookup lookup() { return MethodHandles.lookup(); }
+	}
+
+	@Test
+	public void test_create_cachedInScopeOnly() throws Throwable {
+		Method method = Plugin.class.getDeclaredMethod("increment", int.class);
+
+		try (LambdaScope scope = LambdaFactory.openScope()) {
+			Lambda lambda = scope.create(method);
+
+			assertSame(lambda, scope.create(method));
+			assertNotSame(lambda, LambdaFactory.create(method));
+			assertEquals(3, lambda.invoke_for_int(2));
+			assertTrue(scope.getLambdaClasses().contains(lambda.getClass()));
+		}
+	}
+
+	@Test
+	public void test_close_dropsReferencesAndRejectsFurtherCreation() throws Throwable {
+		Method method = Plugin.class.getDeclaredMethod("increment", int.class);
+		LambdaScope scope = LambdaFactory.openScope();
+		IntUnaryOperator lambda = scope.create(method, IntUnaryOperator.class, "applyAsInt");
+
+		scope.close();
+		scope.close();
+
+		assertTrue(scope.isClosed());
+		assertTrue(scope.getLambdaClasses().isEmpty());
+		assertEquals(6, lambda.applyAsInt(5));
+		try {
+			scope.create(method);
+			fail("Expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			//Expected
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_openScope_lookupWithoutFullPrivilegeAccess() {
+		LambdaFactory.openScope(MethodHandles.publicLookup());
+	}
+
+	@Test
+	public void test_close_pluginClassLoaderAndLambdaClassesAreUnloaded() throws Throwable {
+		List<WeakReference<?>> references = new ArrayList<>();
+		for (int i = 0; i < RELOAD_CYCLES; i++) {
+			reloadPlugin(references);
+		}
+
+		for (int i = 0; i < 50 && references.stream().anyMatch(reference -> reference.get() != null); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+
+		for (WeakReference<?> reference : references) {
+			assertNull("Not unloaded: " + reference.get(), reference.get());
+		}
+	}
+
+	/**
+	 * The negative control of the test above: while the scope is open, it holds its lambdas, i.e. the plugin's classes cannot be unloaded.
+	 * The lambdas are only released by {@link LambdaScope#close()}.
+	 */
+	@Test
+	public void test_openScope_holdsPluginClassLoaderUntilClosed() throws Throwable {
+		List<WeakReference<?>> references = new ArrayList<>();
+		ClassLoader loader = new PluginClassLoader();
+		Class<?> pluginClass = loader.loadClass(Plugin.class.getName());
+		LambdaScope scope = LambdaFactory.openScope((MethodHandles.Lookup) pluginClass.getMethod("lookup").invoke(null));
+		scope.create(pluginClass.getDeclaredMethod("increment", int.class));
+		for (Class<?> lambdaClass : scope.getLambdaClasses()) {
+			references.add(new WeakReference<>(lambdaClass));
+		}
+		references.add(new WeakReference<>(pluginClass));
+		references.add(new WeakReference<>(loader));
+		pluginClass = null;
+		loader = null;
+
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		for (WeakReference<?> reference : references) {
+			assertNotNull("Unloaded while the scope is open", reference.get());
+		}
+
+		scope.close();
+		for (int i = 0; i < 50 && references.stream().anyMatch(reference -> reference.get() != null); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		for (WeakReference<?> reference : references) {
+			assertNull("Not unloaded: " + reference.get(), reference.get());
+		}
+	}
+
+	private static void reloadPlugin(List<WeakReference<?>> references) throws Throwable {
+		ClassLoader loader = new PluginClassLoader();
+		Class<?> pluginClass = loader.loadClass(Plugin.class.getName());
+		assertNotSame(Plugin.class, pluginClass);
+		Object plugin = pluginClass.getConstructor().newInstance();
+
+		MethodHandles.Lookup pluginLookup = (MethodHandles.Lookup) pluginClass.getMethod("lookup").invoke(null);
+
+		try (LambdaScope scope = LambdaFactory.openScope(pluginLookup)) {
+			Lambda priority = scope.create(pluginClass.getMethod("priority", int.class));
+			Lambda increment = scope.create(pluginClass.getDeclaredMethod("increment", int.class));
+			SpreadingLambda spreadingPriority = scope.createSpreading(pluginClass.getMethod("priority", int.class));
+
+			assertEquals(42, priority.invoke_for_int(plugin, 2));
+			assertEquals(8, increment.invoke_for_int(7));
+			assertEquals(43, spreadingPriority.invoke(plugin, 3));
+			for (Class<?> lambdaClass : scope.getLambdaClasses()) {
+				references.add(new WeakReference<>(lambdaClass));
+			}
+		}
+		references.add(new WeakReference<>(pluginClass));
+		references.add(new WeakReference<>(loader));
+	}
+
+	/**
+	 * Defines its own copy of {@link Plugin}, i.e. a class that can be unloaded together with the loader.
+	 */
+	private static final class PluginClassLoader extends ClassLoader {
+
+		PluginClassLoader() {
+			super(LambdaScopeTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(Plugin.class.getName())) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded == null) {
+					try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+						byte[] bytes = in.readAllBytes();
+						loaded = defineClass(name, bytes, 0, bytes.length);
+					} catch (IOException e) {
+						throw new ClassNotFoundException(name, e);
+					}
+				}
+				return loaded;
+			}
+		}
+	}
+
+}
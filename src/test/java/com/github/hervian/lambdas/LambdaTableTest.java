@@ -0,0 +1,140 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LambdaTableTest {
+
+	@SuppressWarnings("unused")
+	public static class Bean implements Supplier<String> {
+		private String name = "bean";
+		private int age = 7;
+		private boolean active;
+
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+		public int getAge() { return age; }
+		public void setAge(int age) { this.age = age; }
+		public boolean isActive() { return active; }
+		public void setActive(boolean active) { this.active = active; }
+		@Override
+		public String get() { return name; } //Also generates a bridge method returning Object.
+		private static long sum(long a, long b, long c, long d, long e) { return a+b+c+d+e; }
+		private int compute(Object a, int b, int c) { return b*c; }
+	}
+
+	@Test
+	public void test_createAll_getters() throws Throwable {
+		LambdaTable table = LambdaFactory.createAll(Bean.class, MethodFilters.getters());
+		Bean bean = new Bean();
+
+		List<String> names = table.getMethods().stream().map(Method::getName).collect(Collectors.toList());
+		assertEquals(Arrays.asList("getAge", "getName", "isActive"), names);
+		assertEquals(7, table.get(table.indexOf("getAge"), Lambda1_int.class).invoke_for_int(bean));
+		assertEquals("bean", table.get(table.indexOf("getName"), Lambda1_Object.class).invoke_for_Object(bean));
+		assertFalse(table.get(table.indexOf("isActive"), Lambda1_boolean.class).invoke_for_boolean(bean));
+	}
+
+	@Test
+	public void test_createAll_setters() throws Throwable {
+		LambdaTable table = LambdaFactory.createAll(Bean.class, MethodFilters.setters());
+		Bean bean = new Bean();
+
+		table.get(table.indexOf("setAge", int.class), Lambda2_void.class).invoke_for_void(bean, 42);
+		table.get(table.indexOf("setName", String.class), Lambda2_void.class).invoke_for_void(bean, "renamed");
+
+		assertEquals(3, table.size());
+		assertEquals(42, bean.getAge());
+		assertEquals("renamed", bean.getName());
+	}
+
+	@Test
+	public void test_createAll_allDeclaredMethods() throws Throwable {
+		LambdaTable table = LambdaFactory.createAll(Bean.class, MethodFilters.all());
+		Bean bean = new Bean();
+
+		assertEquals(1, table.getMethods().stream().filter(method -> method.getName().equals("get")).count());
+		assertEquals(15L, ((SpreadingLambda) table.get(table.indexOf("sum", long.class, long.class, long.class, long.class, long.class))).invoke(1L, 2L, 3L, 4L, 5L));
+		assertEquals(6, table.get(table.indexOf("compute", Object.class, int.class, int.class), Lambda4_int.class).invoke_for_int(bean, null, 2, 3));
+		assertEquals(-1, table.indexOf("doesNotExist"));
+	}
+
+	@Test
+	public void test_createAll_usesCache() throws Throwable {
+		LambdaTable table = LambdaFactory.createAll(Bean.class, MethodFilters.getters());
+		Method getName = Bean.class.getMethod("getName");
+
+		assertSame(table.get(table.indexOf("getName")), LambdaFactory.create(getName, Lambda1_Object.class));
+	}
+
+	@Test
+	public void test_createAll_collectionInParallel_keepsOrder() throws Throwable {
+		List<Method> methods = new ArrayList<>();
+		for (int i = 0; i < 2 * LambdaFactory.BULK_TASK_SIZE + 1; i++) {
+			methods.add(Bean.class.getMethod(i % 2 == 0 ? "getAge" : "getName"));
+		}
+		methods.add(Bean.class.getDeclaredMethod("sum", long.class, long.class, long.class, long.class, long.class));
+		methods.add(LambdaTableTest.class.getDeclaredMethod("test_createAll_usesCache"));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		Bean bean = new Bean();
+
+		LambdaTable table;
+		try {
+			table = LambdaFactory.createAll(methods, executor);
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(methods, table.getMethods());
+		assertEquals(7, table.get(0, Lambda1_int.class).invoke_for_int(bean));
+		assertEquals("bean", table.get(1, Lambda1_Object.class).invoke_for_Object(bean));
+		assertSame(table.get(0), table.get(2));
+		assertEquals(15L, table.get(methods.size() - 2, SpreadingLambda.class).invoke(1L, 2L, 3L, 4L, 5L));
+		assertTrue(table.get(methods.size() - 1) instanceof Lambda1_void);
+		assertEquals(4, table.toMap().size());
+	}
+
+	@Test
+	public void test_createAllAsync() throws Throwable {
+		List<Method> methods = Arrays.asList(Bean.class.getMethod("getName"), Bean.class.getMethod("setName", String.class));
+
+		LambdaTable table = LambdaFactory.createAllAsync(methods, ForkJoinPool.commonPool()).get();
+
+		assertEquals(Arrays.asList("getName", "setName"), table.toMap().keySet().stream().map(Method::getName).collect(Collectors.toList()));
+	}
+
+	@Test(expected = IllegalAccessException.class)
+	public void test_createAll_collection_rethrowsFailure() throws Throwable {
+		LambdaFactory.createAll(Arrays.asList(Bean.class.getMethod("getName"), String.class.getDeclaredMethod("isLatin1")));
+	}
+
+}
@@ -0,0 +1,236 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class LazyLambdaTest {
+
+	public static class Base {
+		public String name() { return "base"; }
+	}
+
+	public static class Derived extends Base {
+		@Override
+		public String name() { return "derived"; }
+	}
+
+	private final int offset;
+
+	public LazyLambdaTest() {
+		this(0);
+	}
+
+	private LazyLambdaTest(int offset) {
+		this.offset = offset;
+	}
+
+	@SuppressWarnings("unused")
+	private long add(int a, long b) { return offset + a + b; }
+
+	@SuppressWarnings("unused")
+	private static int multiply(int a, int b) { return a * b; }
+
+	@SuppressWarnings("unused")
+	private static long twice(long a) { return 2 * a; }
+
+	@SuppressWarnings("unused")
+	private static String greet(String name) { return "Hello " + name; }
+
+	@SuppressWarnings("unused")
+	private static int subtract(int a, int b) { return a - b; }
+
+	@SuppressWarnings("unused")
+	private static void throwChecked() throws IOException {
+		throw new IOException("checked");
+	}
+
+	@Test
+	public void test_inflationFails_keepsInvokingTheMethodHandle() throws Throwable {
+		Method method = LazyLambdaTest.class.getDeclaredMethod("multiply", int.class, int.class);
+		AtomicInteger inflations = new AtomicInteger();
+		LambdaFactoryListener listener = new LambdaFactoryListener() {
+			@Override public void onCacheHit(Executable executable, Class<?> interfaceClass) { if (executable.equals(method)) inflations.incrementAndGet(); }
+			@Override public void onCreated(Executable executable, Class<?> interfaceClass, long nanos) {
+				if (executable.equals(method)) {
+					inflations.incrementAndGet();
+					throw new IllegalStateException("Simulates a failure to spin the lambda");
+				}
+			}
+		};
+		LambdaFactory.addListener(listener);
+		try {
+			LazyLambda lambda = LambdaFactory.createLazy(method, 1);
+			for (int i = 0; i < 5; i++) {
+				assertEquals(6 * i, lambda.invoke(6, i));
+			}
+			assertFalse(lambda.isInflated());
+			assertEquals(1, inflations.get());
+			assertNotNull(lambda.inflate());
+			assertEquals(1, inflations.get());
+		} finally {
+			LambdaFactory.removeListener(listener);
+		}
+	}
+
+	@Test
+	public void test_createLazy_inflatesAfterThreshold() throws Throwable {
+		Method method = LazyLambdaTest.class.getDeclaredMethod("add", int.class, long.class);
+		LazyLambda lambda = LambdaFactory.createLazy(method, 3);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(3L + i, lambda.invoke(this, 1, 2L + i));
+			assertFalse(lambda.isInflated());
+		}
+		assertEquals(42L, lambda.invoke(this, 40, 2L));
+		assertTrue(lambda.isInflated());
+		assertEquals(5L, lambda.invoke(this, 2, 3L));
+		assertSame(LambdaFactory.createSpreading(method), lambda.inflate());
+	}
+
+	@Test
+	public void test_createLazy_mistypedArgument_failsInBothTiers() throws Throwable {
+		LazyLambda lambda = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("twice", long.class), 2);
+
+		for (int i = 0; i < 4; i++) {
+			try {
+				lambda.invoke(21); //An Integer for the long parameter.
+				fail("Expected a ClassCastException");
+			} catch (ClassCastException e) {
+				//Expected, before and after the inflation.
+			}
+		}
+		assertTrue(lambda.isInflated());
+		assertEquals(42L, lambda.invoke(21L));
+	}
+
+	@Test
+	public void test_createLazyInterface_inflatesAfterThreshold() throws Throwable {
+		Method method = LazyLambdaTest.class.getDeclaredMethod("add", int.class, long.class);
+		AtomicInteger creations = new AtomicInteger();
+		LambdaFactoryListener listener = new LambdaFactoryListener() {
+			@Override public void onCacheHit(Executable executable, Class<?> interfaceClass) { if (executable.equals(method)) creations.incrementAndGet(); }
+			@Override public void onCreated(Executable executable, Class<?> interfaceClass, long nanos) { if (executable.equals(method)) creations.incrementAndGet(); }
+		};
+		LambdaFactory.addListener(listener);
+		try {
+			Lambda3_long lambda = LambdaFactory.createLazy(method, Lambda3_long.class, 3);
+			for (int i = 0; i < 3; i++) {
+				assertEquals(3L + i, lambda.invoke_for_long(this, 1, 2L + i));
+			}
+			assertEquals(0, creations.get());
+			assertEquals(42L, lambda.invoke_for_long(this, 40, 2L));
+			assertEquals(1, creations.get());
+			assertEquals(5L, lambda.invoke_for_long(this, 2, 3L));
+			assertEquals(1, creations.get());
+		} finally {
+			LambdaFactory.removeListener(listener);
+		}
+	}
+
+	@Test
+	public void test_createLazyInterface_lambdaInterface() throws Throwable {
+		Lambda lambda = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("multiply", int.class, int.class), Lambda.class, 0);
+
+		assertEquals(42, lambda.invoke_for_int(6, 7));
+		assertEquals(42, lambda.invoke_for_int(7, 6));
+	}
+
+	@Test
+	public void test_createLazyInterface_classIsSpunPerInterfaceMethod() throws Throwable {
+		Lambda2_int multiply = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("multiply", int.class, int.class), Lambda2_int.class);
+		Lambda2_int subtract = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("subtract", int.class, int.class), Lambda2_int.class);
+
+		assertSame(multiply.getClass(), subtract.getClass());
+		assertEquals(12, multiply.invoke_for_int(3, 4));
+		assertEquals(-1, subtract.invoke_for_int(3, 4));
+	}
+
+	@Test
+	public void test_createLazyInterface_mistypedArgument_failsInBothTiers() throws Throwable {
+		Lambda1_Object lambda = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("greet", String.class), Lambda1_Object.class, 1);
+
+		for (int i = 0; i < 3; i++) {
+			try {
+				lambda.invoke_for_Object((Object) 42);
+				fail("Expected a ClassCastException");
+			} catch (ClassCastException e) {
+				//Expected, before and after the inflation.
+			}
+		}
+		assertEquals("Hello Ann", lambda.invoke_for_Object("Ann"));
+	}
+
+	@Test
+	public void test_createLazy_zeroThresholdInflatesOnFirstInvocation() throws Throwable {
+		LazyLambda lambda = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("add", int.class, long.class), 0);
+
+		assertEquals(3L, lambda.invoke(this, 1, 2L));
+		assertTrue(lambda.isInflated());
+	}
+
+	@Test
+	public void test_createLazySpecial() throws Throwable {
+		LazyLambda lambda = LambdaFactory.createLazySpecial(Base.class.getMethod("name"));
+
+		assertEquals("base", lambda.invoke(new Derived()));
+		lambda.inflate();
+		assertEquals("base", lambda.invoke(new Derived()));
+		assertEquals("derived", LambdaFactory.createLazy(Base.class.getMethod("name")).invoke(new Derived()));
+	}
+
+	@Test
+	public void test_createLazy_constructor() throws Throwable {
+		Constructor<LazyLambdaTest> constructor = LazyLambdaTest.class.getDeclaredConstructor(int.class);
+		LazyLambda lambda = LambdaFactory.createLazy(constructor);
+
+		assertEquals(7, ((LazyLambdaTest) lambda.invoke(7)).offset);
+		lambda.inflate();
+		assertEquals(8, ((LazyLambdaTest) lambda.invoke(8)).offset);
+	}
+
+	@Test
+	public void test_createLazy_rethrowsCheckedExceptionInBothTiers() throws Throwable {
+		LazyLambda lambda = LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("throwChecked"), 1);
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				lambda.invoke();
+				fail("Expected an IOException");
+			} catch (Exception e) {
+				assertTrue(e instanceof IOException);
+			}
+		}
+		assertTrue(lambda.isInflated());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createLazy_negativeThreshold() throws Throwable {
+		LambdaFactory.createLazy(LazyLambdaTest.class.getDeclaredMethod("throwChecked"), -1);
+	}
+
+}
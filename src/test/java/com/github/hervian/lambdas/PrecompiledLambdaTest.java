@@ -0,0 +1,100 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToIntBiFunction;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class PrecompiledLambdaTest {
+
+	@PrecompiledLambda(IntBinaryOperator.class)
+	static int add(int a, int b){ return a+b; }
+
+	@PrecompiledLambda({ToIntBiFunction.class, BiFunction.class})
+	int length(String s){ return s.length(); }
+
+	@PrecompiledLambda(Callable.class)
+	static String throwChecked() throws IOException { throw new IOException("checked"); }
+
+	static int subtract(int a, int b){ return a-b; }
+
+	@Test
+	public void test_create_staticMethod_returnsPrecompiledLambda() throws Throwable {
+		Method method = PrecompiledLambdaTest.class.getDeclaredMethod("add", int.class, int.class);
+
+		IntBinaryOperator sam = LambdaFactory.create(method, IntBinaryOperator.class, "applyAsInt");
+
+		assertEquals(3+11, sam.applyAsInt(3, 11));
+		assertTrue(sam.getClass().getName().contains("$$PrecompiledLambdas"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_create_instanceMethod_returnsPrecompiledLambda() throws Throwable {
+		Method method = PrecompiledLambdaTest.class.getDeclaredMethod("length", String.class);
+
+		ToIntBiFunction<PrecompiledLambdaTest, String> toInt = LambdaFactory.create(method, ToIntBiFunction.class, "applyAsInt");
+		BiFunction<PrecompiledLambdaTest, String, Integer> biFunction = LambdaFactory.create(method, BiFunction.class, "apply");
+
+		assertTrue(toInt.getClass().getName().contains("$$PrecompiledLambdas"));
+		assertTrue(biFunction.getClass().getName().contains("$$PrecompiledLambdas"));
+		assertEquals(5, toInt.applyAsInt(this, "hello"));
+		assertEquals(Integer.valueOf(5), biFunction.apply(this, "hello"));
+	}
+
+	@Test
+	public void test_create_rethrowsCheckedException() throws Throwable {
+		Method method = PrecompiledLambdaTest.class.getDeclaredMethod("throwChecked");
+		Callable<?> callable = LambdaFactory.create(method, Callable.class, "call");
+		try {
+			callable.call();
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			assertEquals("checked", e.getMessage());
+		}
+	}
+
+	@Test
+	public void test_create_notPrecompiled_fallsBackToLambdaMetafactory() throws Throwable {
+		Method method = PrecompiledLambdaTest.class.getDeclaredMethod("subtract", int.class, int.class);
+
+		IntBinaryOperator sam = LambdaFactory.create(method, IntBinaryOperator.class, "applyAsInt");
+
+		assertEquals(11-3, sam.applyAsInt(11, 3));
+		assertFalse(sam.getClass().getName().contains("$$PrecompiledLambdas"));
+	}
+
+	@Test
+	public void test_createSpecial_isNeverPrecompiled() throws Throwable {
+		Method method = PrecompiledLambdaTest.class.getDeclaredMethod("length", String.class);
+
+		BiFunction<?, ?, ?> biFunction = LambdaFactory.createSpecial(method, BiFunction.class, "apply");
+
+		assertFalse(biFunction.getClass().getName().contains("$$PrecompiledLambdas"));
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class PropertyPathTest {
+
+	static class Address {
+		private final String zip;
+		private final int number;
+		Address(String zip, int number) { this.zip = zip; this.number = number; }
+		public String getZip() { return zip; }
+		int number() { return number; } //An accessor, which is not public.
+	}
+
+	static class Person {
+		Address address; //A field without a getter.
+		boolean active;
+		public boolean isActive() { return active; }
+	}
+
+	static class Customer extends Person {
+		private final String name;
+		Customer(String name, Address address) { this.name = name; this.address = address; }
+		public String getName() { return name; }
+		public Address getMissing() throws IOException { throw new IOException("checked"); }
+	}
+
+	public static class Order {
+		private final Customer customer;
+		private final long id;
+		Order(long id, Customer customer) { this.id = id; this.customer = customer; }
+		public Customer getCustomer() { return customer; }
+		public long getId() { return id; }
+		public List<String> getItems() { return Arrays.asList("book"); }
+	}
+
+	private final Order order = new Order(7, new Customer("Ann", new Address("2100", 42)));
+
+	@Test
+	public void createPath_throughJdkTypes() throws Throwable {
+		Lambda1_boolean empty = LambdaFactory.createPath(Order.class, "items.empty", Lambda1_boolean.class);
+		Lambda1_Object bytes = LambdaFactory.createPath(Order.class, "customer.name.bytes", Lambda1_Object.class);
+		Lambda1_int length = LambdaFactory.createPath(Order.class, "customer.name.length", Lambda1_int.class);
+		assertFalse(empty.invoke_for_boolean(order));
+		assertArrayEquals("Ann".getBytes(StandardCharsets.UTF_8), (byte[]) bytes.invoke_for_Object(order));
+		assertEquals(3, length.invoke_for_int(order));
+	}
+
+	@Test
+	public void test_createPath_referenceType() throws Throwable {
+		Lambda1_Object zip = LambdaFactory.createPath(Order.class, "customer.address.zip", Lambda1_Object.class);
+		assertEquals("2100", zip.invoke_for_Object(order));
+
+		Lambda1_Object name = LambdaFactory.createPath(Order.class, "customer.name", Lambda1_Object.class);
+		assertEquals("Ann", name.invoke_for_Object(order));
+	}
+
+	@Test
+	public void test_createPath_primitiveType() throws Throwable {
+		Lambda1_int number = LambdaFactory.createPath(Order.class, "customer.address.number", Lambda1_int.class);
+		assertEquals(42, number.invoke_for_int(order));
+
+		Lambda1_long id = LambdaFactory.createPath(Order.class, "id", Lambda1_long.class);
+		assertEquals(7L, id.invoke_for_long(order));
+
+		Lambda1_boolean active = LambdaFactory.createPath(Order.class, "customer.active", Lambda1_boolean.class);
+		assertFalse(active.invoke_for_boolean(order));
+	}
+
+	@Test
+	public void test_createPath_classIsSpunPerInterfaceMethod() throws Throwable {
+		Lambda1_Object zip = LambdaFactory.createPath(Order.class, "customer.address.zip", Lambda1_Object.class);
+		Lambda1_Object name = LambdaFactory.createPath(Order.class, "customer.name", Lambda1_Object.class);
+		assertSame(zip.getClass(), name.getClass());
+		assertEquals("2100", zip.invoke_for_Object(order));
+		assertEquals("Ann", name.invoke_for_Object(order));
+
+		Lambda1_long id = LambdaFactory.createPath(Order.class, "id", Lambda1_long.class);
+		assertNotSame(zip.getClass(), id.getClass());
+	}
+
+	@Test
+	public void test_createPath_implementsLambda() throws Throwable {
+		Lambda zip = LambdaFactory.createPath(Order.class, "customer.address.zip", Lambda.class);
+		assertEquals("2100", zip.invoke_for_Object(order));
+	}
+
+	@Test
+	public void test_createPath_nullSafe() throws Throwable {
+		Lambda1_Object zip = LambdaFactory.createPath(Order.class, "customer.address.zip", Lambda1_Object.class);
+		Lambda1_int number = LambdaFactory.createPath(Order.class, "customer.address.number", Lambda1_int.class);
+
+		assertNull(zip.invoke_for_Object(null));
+		assertNull(zip.invoke_for_Object(new Order(1, null)));
+		assertNull(zip.invoke_for_Object(new Order(1, new Customer("Bo", null))));
+		assertEquals(0, number.invoke_for_int(new Order(1, new Customer("Bo", null))));
+	}
+
+	@Test
+	public void test_createPath_rethrowsCheckedException() throws Throwable {
+		Lambda1_Object missing = LambdaFactory.createPath(Order.class, "customer.missing.zip", Lambda1_Object.class);
+		try {
+			missing.invoke_for_Object(order);
+			fail("Expected an IOException");
+		} catch (Exception e) {
+			assertTrue(e instanceof IOException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createPath_unknownProperty() throws Throwable {
+		LambdaFactory.createPath(Order.class, "customer.phone", Lambda1_Object.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createPath_propertyOfPrimitive() throws Throwable {
+		LambdaFactory.createPath(Order.class, "id.value", Lambda1_Object.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createPath_emptyProperty() throws Throwable {
+		LambdaFactory.createPath(Order.class, "customer..name", Lambda1_Object.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createPath_wrongInterface() throws Throwable {
+		LambdaFactory.createPath(Order.class, "id", Lambda1_Object.class);
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.github.hervian.lambdas;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class SpreadingLambdaTest {
+
+	private String prefix = "instance";
+
+	@SuppressWarnings("unused")
+	private static long sum(int a, long b, short c, byte d, double e, float f, char g, boolean h, Integer i, String j, Object k, long l) {
+		return a + b + c + d + (long) e + (long) f + g + (h ? 1 : 0) + i + j.length() + (k == null ? 0 : 1) + l;
+	}
+
+	public String concat(String a, String b, String c, String d, String e) {
+		return prefix + a + b + c + d + e;
+	}
+
+	static int max(int a1, int a2, int a3, int a4, int a5, int a6, int a7, int a8, int a9, int a10,
+			int a11, int a12, int a13, int a14, int a15, int a16, int a17, int a18) {
+		return IntStream.of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18).max().getAsInt();
+	}
+
+	static long widen(long a1, int a2, int a3, int a4, int a5, int a6, int a7, int a8, int a9, int a10,
+			int a11, int a12, int a13, int a14, int a15, int a16, int a17) {
+		return a1 + a17;
+	}
+
+	@SuppressWarnings("unused")
+	private static void throwChecked() throws IOException {
+		throw new IOException("checked");
+	}
+
+	@Test
+	public void test_createSpreading_staticMethodWith12Parameters() throws Throwable {
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("sum", int.class, long.class, short.class, byte.class, double.class, float.class,
+				char.class, boolean.class, Integer.class, String.class, Object.class, long.class);
+
+		SpreadingLambda lambda = LambdaFactory.createSpreading(method);
+
+		Object result = lambda.invoke(1, 2L, (short) 3, (byte) 4, 5d, 6f, (char) 7, true, 9, "ten", new Object(), 12L);
+		assertEquals(1L+2+3+4+5+6+7+1+9+3+1+12, result);
+		assertSame(lambda, LambdaFactory.createSpreading(method));
+	}
+
+	@Test
+	public void test_createSpreading_moreParametersThanTheGeneratedInterfacesSupport() throws Throwable {
+		Class<?>[] parameterTypes = new Class<?>[18];
+		Arrays.fill(parameterTypes, int.class);
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("max", parameterTypes);
+
+		SpreadingLambda lambda = LambdaFactory.createSpreading(method);
+
+		assertEquals(42, lambda.invoke(1, 2, 3, 4, 5, 6, 7, 8, 9, 42, 11, 12, 13, 14, 15, 16, 17, 18));
+	}
+
+	@Test
+	public void test_createSpreading_17Parameters_castsStrictly() throws Throwable {
+		Class<?>[] parameterTypes = new Class<?>[17];
+		Arrays.fill(parameterTypes, int.class);
+		parameterTypes[0] = long.class;
+		SpreadingLambda lambda = LambdaFactory.createSpreading(SpreadingLambdaTest.class.getDeclaredMethod("widen", parameterTypes));
+
+		assertEquals(3L, lambda.invoke(1L, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2));
+		try {
+			lambda.invoke(1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2); //An Integer for the long, which a spun lambda rejects as well.
+			fail("Expected a ClassCastException");
+		} catch (ClassCastException e) {
+			//Expected.
+		}
+	}
+
+	@Test
+	public void test_createSpreading_instanceMethod() throws Throwable {
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("concat", String.class, String.class, String.class, String.class, String.class);
+
+		SpreadingLambda lambda = LambdaFactory.createSpreading(method);
+
+		assertEquals("instance12345", lambda.invoke(this, "1", "2", "3", "4", "5"));
+	}
+
+	@Test
+	public void test_createSpreadingSpecial_ignoresOverride() throws Throwable {
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("concat", String.class, String.class, String.class, String.class, String.class);
+		SpreadingLambdaTest subclassInstance = new SpreadingLambdaTest() {
+			@Override
+			public String concat(String a, String b, String c, String d, String e) {
+				return "overridden";
+			}
+		};
+
+		assertEquals("overridden", LambdaFactory.createSpreading(method).invoke(subclassInstance, "1", "2", "3", "4", "5"));
+		assertEquals("instance12345", LambdaFactory.createSpreadingSpecial(method).invoke(subclassInstance, "1", "2", "3", "4", "5"));
+	}
+
+	@Test
+	public void test_createSpreading_voidMethod_rethrowsCheckedException() throws Throwable {
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("throwChecked");
+		SpreadingLambda lambda = LambdaFactory.createSpreading(method);
+		try {
+			lambda.invoke();
+			fail("Expected an IOException");
+		} catch (Throwable e) {
+			assertTrue(e instanceof IOException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_createSpreading_wrongNumberOfArguments() throws Throwable {
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("concat", String.class, String.class, String.class, String.class, String.class);
+
+		LambdaFactory.createSpreading(method).invoke(this, "1");
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void test_createSpreading_wrongArgumentType() throws Throwable {
+		Method method = SpreadingLambdaTest.class.getDeclaredMethod("concat", String.class, String.class, String.class, String.class, String.class);
+
+		LambdaFactory.createSpreading(method).invoke(this, "1", "2", "3", "4", 5);
+	}
+
+}
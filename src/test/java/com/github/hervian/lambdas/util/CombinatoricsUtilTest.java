@@ -0,0 +1,72 @@
+package com.github.hervian.lambdas.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class CombinatoricsUtilTest {
+
+	@Test
+	public void test_permutationsWithRepetitions_order() {
+		List<List<String>> permutations = toList(CombinatoricsUtil.permutationsWithRepetitions(Arrays.asList("a", "b"), 2));
+		assertEquals(Arrays.asList(Arrays.asList("a", "a"), Arrays.asList("b", "a"), Arrays.asList("a", "b"), Arrays.asList("b", "b")), permutations);
+	}
+
+	@Test
+	public void test_permutationsWithRepetitions_count() {
+		List<MethodParameter> types = Arrays.asList(MethodParameter.values());
+		List<List<MethodParameter>> permutations = toList(CombinatoricsUtil.permutationsWithRepetitions(types, 3));
+		assertEquals(types.size() * types.size() * types.size(), permutations.size());
+		assertEquals(permutations.size(), permutations.stream().distinct().count());
+	}
+
+	@Test
+	public void test_permutationsWithRepetitions_chooseZero() {
+		assertEquals(Collections.singletonList(Collections.emptyList()), toList(CombinatoricsUtil.permutationsWithRepetitions(Arrays.asList("a", "b"), 0)));
+		assertEquals(Collections.singletonList(Collections.emptyList()), toList(CombinatoricsUtil.permutationsWithRepetitions(Collections.emptyList(), 0)));
+	}
+
+	@Test
+	public void test_permutationsWithRepetitions_emptyList() {
+		assertFalse(CombinatoricsUtil.permutationsWithRepetitions(Collections.emptyList(), 2).hasNext());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void test_permutationsWithRepetitions_exhausted() {
+		Iterator<List<String>> iterator = CombinatoricsUtil.permutationsWithRepetitions(Arrays.asList("a"), 1);
+		iterator.next();
+		iterator.next();
+	}
+
+	private static <T> List<List<T>> toList(Iterator<List<T>> iterator) {
+		List<List<T>> list = new ArrayList<>();
+		iterator.forEachRemaining(list::add);
+		return list;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.github.hervian.lambdas.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+
+import org.junit.Test;
+
+/**
+ * Copyright 2016 Anders Granau Høfft
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * END OF NOTICE
+ *
+ * @author Anders Granau Høfft
+ */
+public class GenerateLambdaProcessorTest {
+
+	private final List<String> warnings = new ArrayList<>();
+
+	private final Messager messager = new Messager() {
+		@Override
+		public void printMessage(Diagnostic.Kind kind, CharSequence msg) {
+			if (kind == Diagnostic.Kind.WARNING) {
+				warnings.add(msg.toString());
+			}
+		}
+		@Override
+		public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e) { printMessage(kind, msg); }
+		@Override
+		public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a) { printMessage(kind, msg); }
+		@Override
+		public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a, AnnotationValue v) { printMessage(kind, msg); }
+	};
+
+	@Test
+	public void test_getThreads() {
+		assertEquals(3, GenerateLambdaProcessor.getThreads("3", messager));
+		assertEquals(Runtime.getRuntime().availableProcessors(), GenerateLambdaProcessor.getThreads(null, messager));
+		assertTrue(warnings.isEmpty());
+	}
+
+	@Test
+	public void test_getThreads_invalidValue_warnsAndUsesTheDefault() {
+		assertEquals(Runtime.getRuntime().availableProcessors(), GenerateLambdaProcessor.getThreads("four", messager));
+		assertEquals(Runtime.getRuntime().availableProcessors(), GenerateLambdaProcessor.getThreads("0", messager));
+		assertEquals(2, warnings.size());
+		assertTrue(warnings.get(0), warnings.get(0).contains(GenerateLambdaProcessor.THREADS_OPTION + "=four"));
+	}
+
+}